@@ -120,6 +120,13 @@ public class AuditProperties implements Serializable {
     @NestedConfigurationProperty
     private AuditDynamoDbProperties dynamoDb = new AuditDynamoDbProperties();
 
+    /**
+     * Family of sub-properties pertaining to the queue of audit records
+     * used by audit destinations that record audit records asynchronously.
+     */
+    @NestedConfigurationProperty
+    private AuditQueueProperties queue = new AuditQueueProperties();
+
     /**
      * Indicates whether catastrophic audit failures should simply be logged
      * or whether errors should bubble up and thrown back.
@@ -0,0 +1,50 @@
+package org.apereo.cas.configuration.model.core.audit;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link AuditQueueProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiresModule(name = "cas-server-core-audit", automated = true)
+@Getter
+@Setter
+public class AuditQueueProperties implements Serializable {
+
+    private static final long serialVersionUID = -3394580946311813548L;
+
+    /**
+     * Maximum number of audit records that may be waiting to be saved
+     * by audit destinations that record audit records asynchronously.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Maximum number of audit records saved together in a single batch.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Maximum amount of time an audit record waits for its batch to fill up before it's saved.
+     */
+    private String flushInterval = "PT1S";
+
+    /**
+     * Determine what should happen to audit records once the queue is full.
+     * Accepted values are:
+     * <ul>
+     * <li>{@code BLOCK}: Block the caller until space becomes available in the queue.</li>
+     * <li>{@code CALLER_RUNS}: Save the audit record in the calling thread.</li>
+     * <li>{@code DISCARD}: Discard the audit record.</li>
+     * <li>{@code DISCARD_OLDEST}: Discard the oldest audit record in the queue.</li>
+     * </ul>
+     */
+    private String overflowPolicy = "BLOCK";
+}
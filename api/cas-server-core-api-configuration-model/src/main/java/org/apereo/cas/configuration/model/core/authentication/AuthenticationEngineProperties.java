@@ -30,6 +30,73 @@ public class AuthenticationEngineProperties implements Serializable {
      */
     private Groovy groovyPostProcessor = new Groovy();
 
+    /**
+     * Control the concurrent execution of authentication handlers.
+     */
+    private Concurrency concurrency = new Concurrency();
+
+    /**
+     * Control the caching of authentication handler results for verified credentials.
+     */
+    private ResultCache resultCache = new ResultCache();
+
+    @RequiresModule(name = "cas-server-core-authentication", automated = true)
+    @Getter
+    @Setter
+    public static class Concurrency implements Serializable {
+        private static final long serialVersionUID = 2316571832711427633L;
+
+        /**
+         * Whether authentication handlers that support a credential should be invoked concurrently.
+         * Results are still examined in the order of the handlers, and handlers that are still running
+         * are cancelled once the authentication policy is satisfied. Note that handlers that would
+         * not have been reached when invoked one after the other are nonetheless invoked.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of authentication handlers that may run concurrently.
+         * Handlers beyond this limit run on the thread that processes the authentication request.
+         */
+        private int poolSize = 16;
+
+        /**
+         * Maximum amount of time to wait for each authentication handler to produce a result,
+         * after which the handler is considered failed.
+         */
+        private String handlerTimeout = "PT10S";
+    }
+
+    @RequiresModule(name = "cas-server-core-authentication", automated = true)
+    @Getter
+    @Setter
+    public static class ResultCache implements Serializable {
+        private static final long serialVersionUID = -6021862722473625194L;
+
+        /**
+         * Whether results of authentication handlers for username/password credentials should be cached,
+         * so that repeated authentication attempts with the same credential do not reach the authentication backend.
+         * Note that a password changed outside of CAS continues to be accepted until cached results expire.
+         */
+        private boolean enabled;
+
+        /**
+         * Amount of time for which the result of an authentication handler is kept.
+         */
+        private String timeToLive = "PT30S";
+
+        /**
+         * Maximum number of results to keep.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Number of iterations used to hash the verified password with a random salt,
+         * which is compared to the password presented on subsequent attempts.
+         */
+        private int hashIterations = 10_000;
+    }
+
     @RequiresModule(name = "cas-server-core-authentication", automated = true)
     @Getter
     @Setter
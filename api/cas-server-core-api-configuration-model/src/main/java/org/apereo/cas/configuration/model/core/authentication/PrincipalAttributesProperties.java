@@ -58,6 +58,14 @@ public class PrincipalAttributesProperties implements Serializable {
      */
     private int maximumCacheSize = 10000;
 
+    /**
+     * Whether attributes cached for registered services should be shared
+     * with other CAS nodes, so that attribute repositories are not queried
+     * again by each node. This requires a distributed cache to be available,
+     * such as the one offered by the Hazelcast ticket registry.
+     */
+    private boolean distributedCacheEnabled;
+
     /**
      * Merging strategies can be used to resolve conflicts when the same attribute are found from multiple sources.
      * Accepted values are the following:
@@ -0,0 +1,37 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.model.support.quartz.ScheduledJobProperties;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * This is {@link TicketRegistryCleanerProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+public class TicketRegistryCleanerProperties extends ScheduledJobProperties {
+
+    private static final long serialVersionUID = 2875641032795214803L;
+
+    /**
+     * Number of threads used to log out and remove expired ticket-granting tickets concurrently.
+     * A value of {@code 1} processes expired tickets sequentially on the scheduler thread.
+     */
+    private int parallelism = 1;
+
+    /**
+     * Number of expired tickets, other than ticket-granting tickets,
+     * that are collected and removed from the ticket registry in a single batch.
+     */
+    private int batchSize = 100;
+
+    public TicketRegistryCleanerProperties() {
+        super("PT10S", "PT1M");
+    }
+}
@@ -0,0 +1,35 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link TicketRegistryCoreProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+public class TicketRegistryCoreProperties implements Serializable {
+
+    private static final long serialVersionUID = -3562843937421546421L;
+
+    /**
+     * Maximum number of decoded tickets kept in memory by each CAS node
+     * when ticket registry encryption is turned on, so that tickets
+     * whose encoded content is unchanged in the registry are not decrypted and deserialized again.
+     * A value of {@code 0} disables the cache.
+     */
+    private long decodedTicketCacheSize;
+
+    /**
+     * Amount of time a decoded ticket is kept in memory after it was last written or decoded.
+     */
+    private String decodedTicketCacheTimeToLive = "PT10S";
+}
@@ -13,7 +13,6 @@ import org.apereo.cas.configuration.model.support.jms.JmsTicketRegistryPropertie
 import org.apereo.cas.configuration.model.support.jpa.ticketregistry.JpaTicketRegistryProperties;
 import org.apereo.cas.configuration.model.support.memcached.MemcachedTicketRegistryProperties;
 import org.apereo.cas.configuration.model.support.mongo.ticketregistry.MongoTicketRegistryProperties;
-import org.apereo.cas.configuration.model.support.quartz.ScheduledJobProperties;
 import org.apereo.cas.configuration.model.support.redis.RedisTicketRegistryProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 
@@ -120,11 +119,17 @@ public class TicketRegistryProperties implements Serializable {
     @NestedConfigurationProperty
     private CouchDbTicketRegistryProperties couchDb = new CouchDbTicketRegistryProperties();
 
+    /**
+     * Settings that apply to all ticket registry implementations.
+     */
+    @NestedConfigurationProperty
+    private TicketRegistryCoreProperties core = new TicketRegistryCoreProperties();
+
     /**
      * Ticket registry cleaner settings.
      */
     @NestedConfigurationProperty
-    private ScheduledJobProperties cleaner = new ScheduledJobProperties("PT10S", "PT1M");
+    private TicketRegistryCleanerProperties cleaner = new TicketRegistryCleanerProperties();
 
     @RequiresModule(name = "cas-server-core-tickets", automated = true)
     @Getter
@@ -46,6 +46,14 @@ public class ViewProperties implements Serializable {
      */
     private List<String> templatePrefixes = new ArrayList<>();
 
+    /**
+     * Whether CAS2 and CAS3 service validation responses should be written
+     * directly to the response rather than rendered via the templates of the CAS2 and CAS3 views.
+     * Validation responses are then produced without a template engine and JSON responses
+     * are no longer pretty-printed. Customized validation templates are not used when this is enabled.
+     */
+    private boolean streamValidationResponses;
+
     /**
      * CAS1 views and locations.
      */
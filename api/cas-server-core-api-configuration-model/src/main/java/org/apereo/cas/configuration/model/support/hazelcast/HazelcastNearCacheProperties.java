@@ -0,0 +1,49 @@
+package org.apereo.cas.configuration.model.support.hazelcast;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This is {@link HazelcastNearCacheProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiresModule(name = "cas-server-support-hazelcast-ticket-registry")
+@Getter
+@Setter
+public class HazelcastNearCacheProperties implements Serializable {
+    private static final long serialVersionUID = 4472129306582307148L;
+
+    /**
+     * {@code true} if near caches are configured for ticket maps, {@code false} if disabled.
+     * Near caches keep tickets read from other members locally, and are invalidated
+     * as tickets change elsewhere in the cluster. Reads may briefly observe stale tickets
+     * until invalidations arrive.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of tickets kept in the near cache of each ticket map.
+     */
+    private int maxSize = 10_000;
+
+    /**
+     * Maximum number of seconds a ticket may remain in the near cache.
+     * If zero or negative, tickets remain until invalidated, evicted or idle
+     * for longer than the storage timeout of their ticket definition.
+     */
+    private int timeToLiveSeconds;
+
+    /**
+     * Prefixes of ticket types whose maps are near-cached.
+     * Ticket types that are consumed once, such as service tickets, are best left out.
+     */
+    private List<String> ticketPrefixes = new ArrayList<>(List.of("TGT"));
+}
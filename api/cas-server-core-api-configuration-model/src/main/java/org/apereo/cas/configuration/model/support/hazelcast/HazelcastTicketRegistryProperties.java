@@ -1,6 +1,7 @@
 package org.apereo.cas.configuration.model.support.hazelcast;
 
 import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.model.support.kryo.KryoSerializationProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import lombok.Getter;
@@ -22,9 +23,33 @@ public class HazelcastTicketRegistryProperties extends BaseHazelcastProperties {
 
     /**
      * Page size is used by a special Predicate which helps to get a page-by-page result of a query.
+     * This is also the number of tickets fetched per round trip when tickets are iterated.
      */
     private long pageSize = 500;
 
+    /**
+     * Serialization strategy used to store tickets.
+     * Accepted values are:
+     * <ul>
+     * <li>{@code JDK}: Java serialization.</li>
+     * <li>{@code KRYO}: Compact binary serialization via Kryo, using the same class registrations as the memcached ticket registry.
+     * All CAS nodes must be running the same CAS version.</li>
+     * </ul>
+     */
+    private String serializer = "JDK";
+
+    /**
+     * Kryo settings used when tickets are serialized via {@code KRYO}.
+     */
+    @NestedConfigurationProperty
+    private KryoSerializationProperties kryo = new KryoSerializationProperties();
+
+    /**
+     * Near cache settings for ticket maps.
+     */
+    @NestedConfigurationProperty
+    private HazelcastNearCacheProperties nearCache = new HazelcastNearCacheProperties();
+
     /**
      * Crypto settings for the registry.
      */
@@ -0,0 +1,47 @@
+package org.apereo.cas.configuration.model.support.kryo;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link KryoSerializationProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Getter
+@Setter
+@RequiresModule(name = "cas-server-support-kryo-core")
+public class KryoSerializationProperties implements Serializable {
+
+    private static final long serialVersionUID = 3190637314738215487L;
+
+    /**
+     * If true, a warning is logged when an unregistered class is encountered
+     * and its fully qualified class name is serialized along with the object.
+     */
+    private boolean warnUnregisteredClasses = true;
+
+    /**
+     * If true, an exception is thrown when an unregistered class is encountered.
+     * If false, unregistered classes are serialized by their fully qualified class name
+     * using the default serializer for the class.
+     */
+    private boolean registrationRequired;
+
+    /**
+     * If true, each appearance of an object in the graph after the first is stored as an integer ordinal.
+     * This enables references to the same object and cyclic graphs to be serialized, but
+     * typically adds overhead of one byte per object.
+     */
+    private boolean objectsByReference = true;
+
+    /**
+     * If true, {@code reset} is called automatically after an entire object graph has been read or written.
+     */
+    private boolean autoReset = true;
+}
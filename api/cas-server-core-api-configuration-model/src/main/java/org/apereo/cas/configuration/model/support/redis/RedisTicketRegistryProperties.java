@@ -1,6 +1,7 @@
 package org.apereo.cas.configuration.model.support.redis;
 
 import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.model.support.kryo.KryoSerializationProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import lombok.Getter;
@@ -26,6 +27,43 @@ public class RedisTicketRegistryProperties extends BaseRedisProperties {
     @NestedConfigurationProperty
     private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
 
+    /**
+     * Number of keys scanned, fetched or deleted per round trip
+     * when the registry operates on many tickets at once, such as when listing or deleting all tickets.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Serialization strategy used to store tickets.
+     * Accepted values are:
+     * <ul>
+     * <li>{@code JDK}: Java serialization.</li>
+     * <li>{@code KRYO}: Compact binary serialization via Kryo, using the same class registrations as the memcached ticket registry.
+     * All CAS nodes must be running the same CAS version.</li>
+     * </ul>
+     */
+    private String serializer = "JDK";
+
+    /**
+     * Kryo settings used when tickets are serialized via {@code KRYO}.
+     */
+    @NestedConfigurationProperty
+    private KryoSerializationProperties kryo = new KryoSerializationProperties();
+
+    /**
+     * Layout of tickets and their indexes in redis.
+     * Accepted values are:
+     * <ul>
+     * <li>{@code FLAT}: All tickets are stored under a single key prefix. Counting tickets
+     * or finding the sessions of a user requires scanning all keys.</li>
+     * <li>{@code INDEXED}: Tickets are stored under a separate key prefix for each ticket storage name,
+     * along with sorted-set indexes by expiration and by principal, maintained atomically with the tickets.
+     * All keys share one hash tag, so in a redis cluster tickets are kept in a single hash slot and are not sharded.</li>
+     * </ul>
+     * Tickets stored with one layout are not visible to the other.
+     */
+    private String layout = "FLAT";
+
     public RedisTicketRegistryProperties() {
         this.crypto.setEnabled(false);
     }
@@ -50,6 +50,24 @@ public class SamlIdPMetadataProperties implements Serializable {
      */
     private long cacheExpirationMinutes = TimeUnit.DAYS.toMinutes(1);
 
+    /**
+     * How long, in minutes, cached metadata may be used before it is refreshed.
+     * Metadata that is accessed after this period is reloaded in the background,
+     * while the cached copy continues to be used until the reload completes.
+     * This should be shorter than the cache expiration to be effective.
+     * A value of zero or less disables background refreshes.
+     */
+    private long cacheRefreshMinutes = TimeUnit.HOURS.toMinutes(20);
+
+    /**
+     * Metadata files and URLs that carry at least this many entities,
+     * such as federation aggregates, are indexed by entity id instead of being
+     * loaded as a whole. Entities are then only parsed when they are requested.
+     * Metadata whose signature or validity must be verified is always loaded as a whole.
+     * A value of zero or less disables indexing.
+     */
+    private int aggregateIndexThreshold = 1000;
+
     /**
      * Directory location of SAML metadata and signing/encryption keys.
      * This directory will be used to hold the configuration files.
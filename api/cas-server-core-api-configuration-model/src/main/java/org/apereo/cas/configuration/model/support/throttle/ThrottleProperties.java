@@ -38,6 +38,11 @@ public class ThrottleProperties implements Serializable {
      */
     private Failure failure = new Failure();
 
+    /**
+     * Track authentication throttling events in memory.
+     */
+    private InMemory inMemory = new InMemory();
+
     /**
      * Record authentication throttling events in a JDBC resource.
      */
@@ -106,6 +111,31 @@ public class ThrottleProperties implements Serializable {
         private int rangeSeconds = -1;
     }
 
+    /**
+     * In-memory throttling settings.
+     */
+    @RequiresModule(name = "cas-server-support-throttle", automated = true)
+    @Getter
+    @Setter
+    public static class InMemory implements Serializable {
+
+        private static final long serialVersionUID = 4120587324157362451L;
+
+        /**
+         * Count failures per key within a sliding window spanning the failure range,
+         * and throttle once the failure threshold is reached, rather than comparing the rate
+         * of the last two failures with the threshold rate. Failures are tracked by each CAS node separately.
+         */
+        private boolean slidingWindow;
+
+        /**
+         * Maximum number of keys tracked by the sliding window.
+         * Once reached, keys with no recent failures are removed; keys that still count failures are never evicted.
+         * If the store remains full, failures for new keys are tracked by client IP address instead.
+         */
+        private int maximumSize = 100_000;
+    }
+
     @RequiresModule(name = "cas-server-support-throttle-jdbc")
     @Getter
     @Setter
@@ -125,5 +155,19 @@ public class ThrottleProperties implements Serializable {
          * an application code along with the relevant audit action.
          */
         private String auditQuery = SQL_AUDIT_QUERY;
+
+        /**
+         * Maximum number of client address and username combinations whose recent failures
+         * are kept in a local cache, to avoid querying the audit records on every authentication attempt.
+         * Cached failures are reconciled against the audit records in the background.
+         * A value of zero or less disables the cache.
+         */
+        private long cacheSize;
+
+        /**
+         * Interval after which cached failures are refreshed from the audit records,
+         * picking up failures recorded by other CAS nodes.
+         */
+        private String cacheRefreshInterval = "PT5S";
     }
 }
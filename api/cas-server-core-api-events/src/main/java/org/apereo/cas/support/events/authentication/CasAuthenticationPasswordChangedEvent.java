@@ -0,0 +1,32 @@
+package org.apereo.cas.support.events.authentication;
+
+import org.apereo.cas.support.events.AbstractCasEvent;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * This is {@link CasAuthenticationPasswordChangedEvent}, signaled
+ * when the password of an account is changed or reset via CAS.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@ToString(callSuper = true)
+@Getter
+public class CasAuthenticationPasswordChangedEvent extends AbstractCasEvent {
+    private static final long serialVersionUID = -3409282717236540839L;
+
+    private final String username;
+
+    /**
+     * Instantiates a new password changed event.
+     *
+     * @param source   the source
+     * @param username the username whose password has changed
+     */
+    public CasAuthenticationPasswordChangedEvent(final Object source, final String username) {
+        super(source);
+        this.username = username;
+    }
+}
@@ -15,6 +15,11 @@ import java.util.stream.Stream;
  */
 public interface ServiceRegistry {
 
+    /**
+     * Revision value reported by registries that are unable to track changes.
+     */
+    long UNKNOWN_REVISION = -1;
+
     /**
      * Persist the service in the data store.
      *
@@ -111,6 +116,19 @@ public interface ServiceRegistry {
         return load().size();
     }
 
+    /**
+     * Returns the current revision of the registry contents. The revision must only ever
+     * increase and is expected to change whenever a service definition is saved or deleted,
+     * allowing callers to skip reloading the registry when nothing has changed since the last load.
+     * Registries that are unable to track changes report {@link #UNKNOWN_REVISION}, which forces a reload.
+     *
+     * @return the revision, or {@link #UNKNOWN_REVISION}
+     * @since 6.1.0
+     */
+    default long getRevision() {
+        return UNKNOWN_REVISION;
+    }
+
     /**
      * Returns the friendly name of this registry.
      *
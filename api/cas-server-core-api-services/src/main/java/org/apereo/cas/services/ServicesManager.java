@@ -3,6 +3,7 @@ package org.apereo.cas.services;
 import org.apereo.cas.authentication.principal.Service;
 
 import java.util.Collection;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -115,6 +116,45 @@ public interface ServicesManager {
      */
     Collection<RegisteredService> getAllServices();
 
+    /**
+     * Retrieve the collection of all registered services of the given type, in the same order
+     * as {@link #getAllServices()}. Implementations may keep the collection around until services change.
+     *
+     * @param <T>   the type parameter
+     * @param clazz the type of services
+     * @return the collection of services
+     */
+    default <T extends RegisteredService> Collection<T> getAllServicesOfType(final Class<T> clazz) {
+        return getAllServices()
+            .stream()
+            .filter(clazz::isInstance)
+            .map(clazz::cast)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Find a registered service of the given type that is identified by the given key, such as a client id.
+     * Implementations may index services of the type by key, under the given index name, until services change,
+     * so that services need not be examined one by one. The key function is expected to be the same
+     * for every lookup that uses the same index name. If more than one service produces the same key,
+     * the first one in the order of {@link #getAllServices()} is found.
+     *
+     * @param <T>         the type parameter
+     * @param key         the key
+     * @param clazz       the type of services
+     * @param indexName   the index name
+     * @param keyFunction the function that produces the key of a service
+     * @return the registered service, or null
+     */
+    default <T extends RegisteredService> T findServiceByKey(final String key, final Class<T> clazz,
+                                                             final String indexName, final Function<T, String> keyFunction) {
+        return getAllServicesOfType(clazz)
+            .stream()
+            .filter(service -> key.equals(keyFunction.apply(service)))
+            .findFirst()
+            .orElse(null);
+    }
+
     /**
      * Gets services stream.
      * <p>
@@ -136,6 +176,17 @@ public interface ServicesManager {
      */
     Collection<RegisteredService> load();
 
+    /**
+     * Reload the list of services only if the underlying service registry reports
+     * changes since the last load, applying only the changed definitions.
+     * By default, this simply delegates to {@link #load()}.
+     *
+     * @return the collection
+     */
+    default Collection<RegisteredService> loadIfModified() {
+        return load();
+    }
+
     /**
      * Return a count of loaded services by this manager.
      *
@@ -1,6 +1,10 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
+
+import lombok.val;
 
 import java.util.Collection;
 import java.util.function.Predicate;
@@ -71,6 +75,30 @@ public interface TicketRegistry {
      */
     int deleteTicket(Ticket ticketId);
 
+    /**
+     * Remove a collection of tickets from the registry.
+     * Related service tickets, etc of ticket-granting tickets are removed as well.
+     * Implementations are encouraged to remove tickets in bulk where the underlying store allows it.
+     *
+     * @param ticketIds the ids of the tickets to delete.
+     * @return the number of tickets deleted including children.
+     */
+    default int deleteTickets(final Collection<String> ticketIds) {
+        return ticketIds.stream().mapToInt(this::deleteTicket).sum();
+    }
+
+    /**
+     * Remove a collection of tickets, already retrieved by the caller, from the registry.
+     * Related service tickets, etc of ticket-granting tickets are removed as well.
+     * Unlike {@link #deleteTickets(Collection)}, tickets need not be fetched from the registry again.
+     *
+     * @param tickets the tickets to delete.
+     * @return the number of tickets deleted including children.
+     */
+    default int deleteTicketsInBatch(final Collection<? extends Ticket> tickets) {
+        return tickets.stream().mapToInt(this::deleteTicket).sum();
+    }
+
     /**
      * Delete all tickets from the registry.
      *
@@ -98,6 +126,20 @@ public interface TicketRegistry {
         return getTicketsStream().filter(predicate);
     }
 
+    /**
+     * Gets tickets that have expired and are eligible for removal, i.e. by a registry cleaner.
+     * Registries are encouraged to consult an index of projected expirations rather than
+     * scanning and checking every ticket.
+     * <p>
+     * The returning stream may be bound to an IO channel (such as database connection),
+     * so it should be properly closed after usage.
+     *
+     * @return the expired tickets
+     */
+    default Stream<? extends Ticket> getExpiredTickets() {
+        return getTickets(Ticket::isExpired);
+    }
+
     /**
      * Update the received ticket.
      *
@@ -106,6 +148,57 @@ public interface TicketRegistry {
      */
     Ticket updateTicket(Ticket ticket);
 
+    /**
+     * Update the received tickets and add new tickets to the registry as one unit of work,
+     * typically the ticket that grants a new ticket along with the ticket it grants.
+     * Registries are encouraged to store all tickets in a single transaction or round-trip
+     * where the underlying store allows it, rather than storing tickets one by one.
+     *
+     * @param ticketsToUpdate the tickets to update
+     * @param ticketsToAdd    the tickets to add
+     */
+    default void updateAndAddTickets(final Collection<? extends Ticket> ticketsToUpdate,
+                                     final Collection<? extends Ticket> ticketsToAdd) {
+        ticketsToUpdate.forEach(this::updateTicket);
+        ticketsToAdd.forEach(this::addTicket);
+    }
+
+    /**
+     * Consume the ticket, that is, record a use of the ticket and store its new state, such that
+     * concurrent attempts to consume the same ticket, on this or any other node, cannot use the ticket
+     * more often than its expiration policy allows. A ticket that has expired as a result of the use is
+     * removed from the registry, and only the attempt that removes the ticket succeeds.
+     * Registries are encouraged to implement this as an atomic operation of the underlying store.
+     * <p>
+     * The map-based, Hazelcast, JPA, MongoDb, Redis and JMS registries do so. Other registries
+     * use this default, which is conservative: the ticket is removed from the registry first,
+     * and only the caller that removes it may use it and store it again, so that concurrent
+     * attempts fail rather than use the ticket more often than allowed. Ticket-granting tickets
+     * are not removed, since that would remove their children as well, and are only updated.
+     *
+     * @param ticket the ticket, as retrieved from the registry
+     * @return true if the ticket is consumed by this call, or false if the ticket was used up,
+     * removed or otherwise could not be consumed.
+     */
+    default boolean consumeTicket(final Ticket ticket) {
+        if (!(ticket instanceof TicketState)) {
+            return false;
+        }
+        if (ticket instanceof TicketGrantingTicket) {
+            ((TicketState) ticket).update();
+            updateTicket(ticket);
+            return true;
+        }
+        if (deleteTicket(ticket) <= 0) {
+            return false;
+        }
+        ((TicketState) ticket).update();
+        if (!ticket.isExpired()) {
+            addTicket(ticket);
+        }
+        return true;
+    }
+
     /**
      * Computes the number of SSO sessions stored in the ticket registry.
      *
@@ -120,6 +213,36 @@ public interface TicketRegistry {
      */
     long serviceTicketCount();
 
+    /**
+     * Gets the non-expired ticket-granting tickets (sso sessions) that
+     * belong to the given principal id. Principal ids are compared ignoring case.
+     * Registries are encouraged to maintain a secondary index for this lookup
+     * rather than scanning every ticket.
+     * <p>
+     * The returning stream may be bound to an IO channel (such as database connection),
+     * so it should be properly closed after usage.
+     *
+     * @param principalId the principal id
+     * @return the ticket-granting tickets
+     */
+    default Stream<? extends TicketGrantingTicket> getSessionsFor(final String principalId) {
+        return getTickets(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired())
+            .map(TicketGrantingTicket.class::cast)
+            .filter(tgt -> tgt.getAuthentication().getPrincipal().getId().equalsIgnoreCase(principalId));
+    }
+
+    /**
+     * Computes the number of non-expired sso sessions that belong to the given principal id.
+     *
+     * @param principalId the principal id
+     * @return the number of sessions
+     */
+    default long countSessionsFor(final String principalId) {
+        try (val sessions = getSessionsFor(principalId)) {
+            return sessions.count();
+        }
+    }
+
     /**
      * Gets tickets stream.
      * <p>
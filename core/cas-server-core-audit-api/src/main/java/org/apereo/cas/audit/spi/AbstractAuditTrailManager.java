@@ -1,18 +1,26 @@
 package org.apereo.cas.audit.spi;
 
-import lombok.AllArgsConstructor;
+import org.apereo.cas.configuration.model.core.audit.AuditQueueProperties;
+import org.apereo.cas.configuration.support.Beans;
+
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 import org.apereo.inspektr.audit.AuditActionContext;
 import org.apereo.inspektr.audit.AuditTrailManager;
+import org.springframework.beans.factory.DisposableBean;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * This is {@link AbstractAuditTrailManager}.
+ * <p>
+ * When recording asynchronously, audit records are submitted to a bounded queue
+ * and are handed over to {@link #saveAuditRecords(List)} in batches.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -21,28 +29,86 @@ import java.util.concurrent.Executors;
 @Setter
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
-public abstract class AbstractAuditTrailManager implements AuditTrailManager {
+public abstract class AbstractAuditTrailManager implements AuditTrailManager, DisposableBean {
 
     /**
      * Save records asynchronously.
      */
     protected boolean asynchronous;
 
-    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    /**
+     * Settings for the queue of audit records when saving records asynchronously.
+     */
+    private AuditQueueProperties queueProperties = new AuditQueueProperties();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile BatchingAuditRecordQueue queue;
+
+    protected AbstractAuditTrailManager(final boolean asynchronous) {
+        this.asynchronous = asynchronous;
+    }
 
     @Override
     public void record(final AuditActionContext audit) {
         if (this.asynchronous) {
-            this.executorService.execute(() -> saveAuditRecord(audit));
+            getAuditRecordQueue().submit(audit);
         } else {
             saveAuditRecord(audit);
         }
     }
 
+    /**
+     * Gets the queue of audit records, which exposes the queue depth and flush latency.
+     * The queue is created when the first audit record is recorded asynchronously.
+     *
+     * @return the audit record queue
+     */
+    public BatchingAuditRecordQueue getAuditRecordQueue() {
+        var result = this.queue;
+        if (result == null) {
+            synchronized (this) {
+                result = this.queue;
+                if (result == null) {
+                    result = newAuditRecordQueue();
+                    this.queue = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        val current = this.queue;
+        if (current != null) {
+            LOGGER.debug("Flushing [{}] remaining audit record(s)", current.getQueueDepth());
+            current.close();
+        }
+    }
+
     /**
      * Actual audit record save method.
      * @param audit Audit record to be saved.
      */
     protected abstract void saveAuditRecord(AuditActionContext audit);
+
+    /**
+     * Save a batch of audit records. Implementations are encouraged to
+     * save records in bulk where the underlying store allows it.
+     *
+     * @param audits the audit records to be saved
+     */
+    protected void saveAuditRecords(final List<AuditActionContext> audits) {
+        audits.forEach(this::saveAuditRecord);
+    }
+
+    private BatchingAuditRecordQueue newAuditRecordQueue() {
+        val properties = this.queueProperties;
+        return new BatchingAuditRecordQueue("cas-audit-" + getClass().getSimpleName(),
+            properties.getCapacity(), properties.getBatchSize(),
+            Beans.newDuration(properties.getFlushInterval()),
+            BatchingAuditRecordQueue.OverflowPolicy.valueOf(properties.getOverflowPolicy().toUpperCase(Locale.ROOT)),
+            this::saveAuditRecords);
+    }
 }
@@ -0,0 +1,279 @@
+package org.apereo.cas.audit.spi;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apereo.inspektr.audit.AuditActionContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * This is {@link BatchingAuditRecordQueue}, a bounded queue of audit records
+ * drained by a single worker thread which hands records over to a consumer in batches.
+ * A batch is flushed as soon as it is full or once the flush interval has passed
+ * since the first record of the batch was received, whichever comes first.
+ * When the queue is full, records are handled according to the {@link OverflowPolicy};
+ * discarded records are counted and reported at most once per minute.
+ * Closing the queue interrupts the worker, waits for it to flush the batch it has collected and stop,
+ * and then flushes records that remain in the queue.
+ * Records submitted once the queue is closed are recorded in the calling thread.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class BatchingAuditRecordQueue implements AutoCloseable {
+    private static final long DISCARD_WARNING_INTERVAL_IN_MILLIS = 60_000;
+
+    private final BlockingQueue<AuditActionContext> queue;
+
+    @Getter
+    private final int batchSize;
+
+    @Getter
+    private final Duration flushInterval;
+
+    @Getter
+    private final OverflowPolicy overflowPolicy;
+
+    private final Consumer<List<AuditActionContext>> consumer;
+
+    private final LongAdder discardedRecordCount = new LongAdder();
+
+    private final LongAdder flushedRecordCount = new LongAdder();
+
+    private final AtomicLong lastFlushDurationInMillis = new AtomicLong();
+
+    private final AtomicLong maximumFlushDurationInMillis = new AtomicLong();
+
+    private final AtomicLong lastDiscardWarningTime = new AtomicLong();
+
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    public BatchingAuditRecordQueue(final String name, final int capacity, final int batchSize, final Duration flushInterval,
+                                    final OverflowPolicy overflowPolicy, final Consumer<List<AuditActionContext>> consumer) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+        this.batchSize = Math.max(batchSize, 1);
+        this.flushInterval = flushInterval;
+        this.overflowPolicy = overflowPolicy;
+        this.consumer = consumer;
+        this.worker = new Thread(this::drain, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Submit the audit record to the queue.
+     *
+     * @param record the record
+     * @return true if the record was queued or otherwise recorded, false if it was discarded.
+     */
+    public boolean submit(final AuditActionContext record) {
+        if (!this.running) {
+            LOGGER.trace("Audit queue is closed; recording audit record [{}] in the calling thread", record);
+            flush(List.of(record));
+            return true;
+        }
+        if (this.queue.offer(record)) {
+            return true;
+        }
+        switch (this.overflowPolicy) {
+            case BLOCK:
+                try {
+                    while (this.running) {
+                        if (this.queue.offer(record, this.flushInterval.toNanos(), TimeUnit.NANOSECONDS)) {
+                            return true;
+                        }
+                    }
+                    flush(List.of(record));
+                    return true;
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return discard(record);
+                }
+            case CALLER_RUNS:
+                flush(List.of(record));
+                return true;
+            case DISCARD_OLDEST:
+                val oldest = this.queue.poll();
+                if (oldest != null) {
+                    discard(oldest);
+                }
+                return this.queue.offer(record) || discard(record);
+            case DISCARD:
+            default:
+                return discard(record);
+        }
+    }
+
+    /**
+     * Gets the number of records waiting in the queue.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return this.queue.size();
+    }
+
+    /**
+     * Gets the number of records discarded because the queue was full.
+     *
+     * @return the discarded record count
+     */
+    public long getDiscardedRecordCount() {
+        return this.discardedRecordCount.sum();
+    }
+
+    /**
+     * Gets the number of records handed over to the consumer.
+     *
+     * @return the flushed record count
+     */
+    public long getFlushedRecordCount() {
+        return this.flushedRecordCount.sum();
+    }
+
+    /**
+     * Gets the time it took to flush the last batch.
+     *
+     * @return the last flush duration in millis
+     */
+    public long getLastFlushDurationInMillis() {
+        return this.lastFlushDurationInMillis.get();
+    }
+
+    /**
+     * Gets the longest time it took to flush a batch.
+     *
+     * @return the maximum flush duration in millis
+     */
+    public long getMaximumFlushDurationInMillis() {
+        return this.maximumFlushDurationInMillis.get();
+    }
+
+    /**
+     * Stop the worker and flush records that remain in the queue.
+     * The remaining records are only flushed once the worker has stopped, so they are never
+     * handed over to the consumer concurrently with a batch flushed by the worker.
+     */
+    @Override
+    public void close() {
+        this.running = false;
+        this.worker.interrupt();
+        var interrupted = false;
+        while (this.worker.isAlive()) {
+            try {
+                this.worker.join();
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        flushRemaining();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean discard(final AuditActionContext record) {
+        this.discardedRecordCount.increment();
+        LOGGER.debug("Audit queue is full with [{}] records; discarding audit record [{}]", this.queue.size(), record);
+        val now = System.currentTimeMillis();
+        val lastWarning = this.lastDiscardWarningTime.get();
+        if (now - lastWarning >= DISCARD_WARNING_INTERVAL_IN_MILLIS && this.lastDiscardWarningTime.compareAndSet(lastWarning, now)) {
+            LOGGER.warn("Audit queue is full with [{}] records; [{}] audit record(s) have been discarded so far",
+                this.queue.size(), getDiscardedRecordCount());
+        }
+        return false;
+    }
+
+    private void drain() {
+        val batch = new ArrayList<AuditActionContext>(this.batchSize);
+        while (this.running) {
+            try {
+                val first = this.queue.poll(this.flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                val deadline = System.nanoTime() + this.flushInterval.toNanos();
+                while (batch.size() < this.batchSize) {
+                    this.queue.drainTo(batch, this.batchSize - batch.size());
+                    val remaining = deadline - System.nanoTime();
+                    if (batch.size() >= this.batchSize || remaining <= 0) {
+                        break;
+                    }
+                    val next = this.queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            } catch (final InterruptedException e) {
+                LOGGER.trace("Audit queue worker is interrupted; flushing [{}] collected audit record(s)", batch.size());
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flushRemaining() {
+        val batch = new ArrayList<AuditActionContext>(this.batchSize);
+        while (this.queue.drainTo(batch, this.batchSize) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(final List<AuditActionContext> batch) {
+        val start = System.nanoTime();
+        try {
+            this.consumer.accept(batch);
+            this.flushedRecordCount.add(batch.size());
+        } catch (final Exception e) {
+            LOGGER.error("Unable to record [{}] audit record(s): [{}]", batch.size(), e.getMessage(), e);
+        } finally {
+            val duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            this.lastFlushDurationInMillis.set(duration);
+            this.maximumFlushDurationInMillis.accumulateAndGet(duration, Math::max);
+            LOGGER.debug("Flushed [{}] audit record(s) in [{}] ms with [{}] record(s) remaining in the queue",
+                batch.size(), duration, this.queue.size());
+        }
+    }
+
+    /**
+     * Policies that determine what happens to audit records submitted while the queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Block the caller until space becomes available in the queue.
+         */
+        BLOCK,
+        /**
+         * Record the audit record in the calling thread.
+         */
+        CALLER_RUNS,
+        /**
+         * Discard the submitted audit record.
+         */
+        DISCARD,
+        /**
+         * Discard the oldest audit record in the queue to make room for the submitted record.
+         */
+        DISCARD_OLDEST
+    }
+}
@@ -0,0 +1,137 @@
+package org.apereo.cas.audit.spi;
+
+import lombok.val;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link BatchingAuditRecordQueueTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class BatchingAuditRecordQueueTests {
+
+    private static AuditActionContext getAuditRecord(final String principal) {
+        return new AuditActionContext(principal, "TEST", "TEST",
+            "CAS", new Date(), "1.2.3.4", "1.2.3.4");
+    }
+
+    @Test
+    public void verifyRecordsAreFlushedInBatches() throws Exception {
+        val batches = Collections.synchronizedList(new ArrayList<List<AuditActionContext>>());
+        val latch = new CountDownLatch(2);
+        try (val queue = new BatchingAuditRecordQueue("test", 100, 5, Duration.ofMillis(200),
+            BatchingAuditRecordQueue.OverflowPolicy.BLOCK, batch -> {
+            batches.add(new ArrayList<>(batch));
+            latch.countDown();
+        })) {
+            for (var i = 0; i < 8; i++) {
+                assertTrue(queue.submit(getAuditRecord("casuser" + i)));
+            }
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(8, batches.stream().mapToInt(List::size).sum());
+            assertTrue(batches.stream().allMatch(batch -> batch.size() <= 5));
+            assertEquals(8, queue.getFlushedRecordCount());
+        }
+    }
+
+    @Test
+    public void verifyRecordsAreDiscardedWhenFull() throws Exception {
+        val release = new CountDownLatch(1);
+        val queue = new BatchingAuditRecordQueue("test", 1, 1, Duration.ofMillis(100),
+            BatchingAuditRecordQueue.OverflowPolicy.DISCARD, batch -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(queue.submit(getAuditRecord("first")));
+        Thread.sleep(200);
+        assertTrue(queue.submit(getAuditRecord("second")));
+        assertFalse(queue.submit(getAuditRecord("third")));
+        assertEquals(1, queue.getDiscardedRecordCount());
+        assertEquals(1, queue.getQueueDepth());
+        release.countDown();
+        queue.close();
+        assertEquals(0, queue.getQueueDepth());
+        assertEquals(2, queue.getFlushedRecordCount());
+    }
+
+    @Test
+    public void verifyRecordsAreSavedAfterClose() {
+        val records = Collections.synchronizedList(new ArrayList<AuditActionContext>());
+        val queue = new BatchingAuditRecordQueue("test", 1, 1, Duration.ofMillis(100),
+            BatchingAuditRecordQueue.OverflowPolicy.BLOCK, records::addAll);
+        queue.close();
+        assertTrue(queue.submit(getAuditRecord("first")));
+        assertTrue(queue.submit(getAuditRecord("second")));
+        assertEquals(2, records.size());
+        assertEquals(0, queue.getQueueDepth());
+        assertEquals(2, queue.getFlushedRecordCount());
+    }
+
+    @Test
+    public void verifyCloseFlushesCollectedBatchOnce() throws Exception {
+        val active = new AtomicInteger();
+        val concurrent = new AtomicBoolean();
+        val records = Collections.synchronizedList(new ArrayList<AuditActionContext>());
+        val queue = new BatchingAuditRecordQueue("test", 100, 10, Duration.ofSeconds(30),
+            BatchingAuditRecordQueue.OverflowPolicy.BLOCK, batch -> {
+            if (active.incrementAndGet() > 1) {
+                concurrent.set(true);
+            }
+            records.addAll(batch);
+            active.decrementAndGet();
+        });
+        for (var i = 0; i < 3; i++) {
+            assertTrue(queue.submit(getAuditRecord("casuser" + i)));
+        }
+        Thread.sleep(200);
+        val start = System.nanoTime();
+        queue.close();
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5);
+        assertFalse(concurrent.get());
+        assertEquals(3, records.size());
+        assertEquals(3, queue.getFlushedRecordCount());
+    }
+
+    @Test
+    public void verifyManagerFlushesOnDestroy() {
+        val mock = new MockAuditTrailManager();
+        val manager = new AbstractAuditTrailManager(true) {
+            @Override
+            protected void saveAuditRecord(final AuditActionContext audit) {
+                mock.record(audit);
+            }
+
+            @Override
+            public Set<? extends AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
+                return mock.getAuditRecordsSince(localDate);
+            }
+
+            @Override
+            public void removeAll() {
+                mock.removeAll();
+            }
+        };
+        manager.record(getAuditRecord("casuser"));
+        manager.destroy();
+        assertEquals(1, mock.getAuditRecords().size());
+    }
+}
@@ -21,6 +21,7 @@ import org.junit.runner.RunWith;
     TicketAsFirstParameterResourceResolverTests.class,
     ChainingAuditPrincipalIdProviderTests.class,
     FilterAndDelegateAuditTrailManagerTests.class,
+    BatchingAuditRecordQueueTests.class,
     MessageBundleAwareResourceResolverTests.class
 })
 @RunWith(JUnitPlatform.class)
@@ -0,0 +1,57 @@
+package org.apereo.cas.authentication;
+
+import java.util.Optional;
+
+/**
+ * This is {@link AuthenticationHandlerResultCache}, which remembers the results produced by
+ * authentication handlers for verified credentials, so that repeated authentication attempts
+ * with the same credential may skip the authentication handler entirely.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@FunctionalInterface
+public interface AuthenticationHandlerResultCache {
+
+    /**
+     * Gets the cached result of the handler for the credential, if the credential is verified.
+     *
+     * @param handler    the handler
+     * @param credential the credential
+     * @return the cached result
+     */
+    Optional<AuthenticationHandlerExecutionResult> get(AuthenticationHandler handler, Credential credential);
+
+    /**
+     * Remember the successful result of the handler for the credential.
+     *
+     * @param handler    the handler
+     * @param credential the credential
+     * @param result     the result
+     */
+    default void put(final AuthenticationHandler handler, final Credential credential, final AuthenticationHandlerExecutionResult result) {
+    }
+
+    /**
+     * Forget all cached results for the given username.
+     *
+     * @param username the username
+     */
+    default void invalidate(final String username) {
+    }
+
+    /**
+     * Forget all cached results.
+     */
+    default void invalidateAll() {
+    }
+
+    /**
+     * Cache that remembers nothing.
+     *
+     * @return the authentication handler result cache
+     */
+    static AuthenticationHandlerResultCache noOp() {
+        return (handler, credential) -> Optional.empty();
+    }
+}
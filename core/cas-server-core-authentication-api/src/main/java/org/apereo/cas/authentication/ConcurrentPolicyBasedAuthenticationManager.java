@@ -0,0 +1,126 @@
+package org.apereo.cas.authentication;
+
+import org.apereo.cas.support.events.authentication.CasAuthenticationTransactionStartedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link ConcurrentPolicyBasedAuthenticationManager}, which dispatches the authentication handlers
+ * that support a credential concurrently, rather than one after the other. Results are still examined
+ * in the order of the handlers, so that the outcome matches that of {@link PolicyBasedAuthenticationManager},
+ * and the remaining handlers are cancelled as soon as the authentication policies are satisfied.
+ * Handlers that do not produce a result within the configured timeout are treated as failed.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class ConcurrentPolicyBasedAuthenticationManager extends PolicyBasedAuthenticationManager implements DisposableBean {
+    private final ExecutorService executorService;
+
+    private final Duration handlerTimeout;
+
+    public ConcurrentPolicyBasedAuthenticationManager(final AuthenticationEventExecutionPlan authenticationEventExecutionPlan,
+                                                      final boolean principalResolutionFailureFatal,
+                                                      final ApplicationEventPublisher eventPublisher,
+                                                      final int poolSize,
+                                                      final Duration handlerTimeout) {
+        super(authenticationEventExecutionPlan, principalResolutionFailureFatal, eventPublisher);
+        val executor = new ThreadPoolExecutor(poolSize, poolSize, 1, TimeUnit.MINUTES,
+            new LinkedBlockingQueue<>(poolSize), new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        this.executorService = executor;
+        this.handlerTimeout = handlerTimeout;
+    }
+
+    @Override
+    public void destroy() {
+        this.executorService.shutdownNow();
+    }
+
+    @Override
+    protected void authenticateCredential(final AuthenticationBuilder builder, final Credential credential,
+                                          final Set<AuthenticationHandler> handlerSet, final AuthenticationTransaction transaction) {
+        val supportingHandlers = handlerSet
+            .stream()
+            .filter(handler -> handler.supports(credential))
+            .collect(Collectors.toList());
+        if (supportingHandlers.size() <= 1) {
+            super.authenticateCredential(builder, credential, handlerSet, transaction);
+            return;
+        }
+
+        val caller = Thread.currentThread();
+        val deadline = System.nanoTime() + this.handlerTimeout.toNanos();
+        val results = new LinkedHashMap<AuthenticationHandler, Future<AuthenticationHandlerExecutionResult>>();
+        supportingHandlers.forEach(handler -> {
+            LOGGER.debug("Dispatching authentication of [{}] using [{}]", credential.getId(), handler.getName());
+            publishEvent(new CasAuthenticationTransactionStartedEvent(this, credential));
+            results.put(handler, this.executorService.submit(() -> authenticate(handler, credential, transaction, caller)));
+        });
+
+        try {
+            for (val entry : results.entrySet()) {
+                val handler = entry.getKey();
+                try {
+                    val timeout = Math.max(0, deadline - System.nanoTime());
+                    val result = entry.getValue().get(timeout, TimeUnit.NANOSECONDS);
+                    val resolver = getPrincipalResolverLinkedToHandlerIfAny(handler, transaction);
+                    resolvePrincipalFromAuthenticationResult(builder, credential, resolver, handler, result);
+
+                    val authnResult = builder.build();
+                    AuthenticationCredentialsThreadLocalBinder.bindInProgress(authnResult);
+                    val failures = evaluateAuthenticationPolicies(authnResult, transaction, handlerSet);
+                    if (failures.getKey()) {
+                        LOGGER.debug("Authentication policies are satisfied after [{}]; remaining handlers are cancelled", handler.getName());
+                        return;
+                    }
+                } catch (final ExecutionException e) {
+                    handleAuthenticationHandlerFailure(e.getCause(), credential, handler, builder);
+                } catch (final TimeoutException e) {
+                    entry.getValue().cancel(true);
+                    val msg = String.format("Authentication handler %s did not complete within %s", handler.getName(), this.handlerTimeout);
+                    handleAuthenticationHandlerFailure(new PreventedException(msg, e), credential, handler, builder);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    handleAuthenticationHandlerFailure(new PreventedException(e), credential, handler, builder);
+                    return;
+                } catch (final Exception e) {
+                    handleAuthenticationHandlerFailure(e, credential, handler, builder);
+                }
+            }
+        } finally {
+            results.values().forEach(result -> result.cancel(true));
+        }
+    }
+
+    private AuthenticationHandlerExecutionResult authenticate(final AuthenticationHandler handler,
+                                                              final Credential credential,
+                                                              final AuthenticationTransaction transaction,
+                                                              final Thread caller) throws Exception {
+        if (Thread.currentThread() == caller) {
+            return authenticateWithHandler(handler, credential);
+        }
+        AuthenticationCredentialsThreadLocalBinder.bindCurrent(transaction.getCredentials());
+        try {
+            return authenticateWithHandler(handler, credential);
+        } finally {
+            AuthenticationCredentialsThreadLocalBinder.clear();
+        }
+    }
+}
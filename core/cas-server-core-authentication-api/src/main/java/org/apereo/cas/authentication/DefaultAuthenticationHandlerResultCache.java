@@ -0,0 +1,169 @@
+package org.apereo.cas.authentication;
+
+import org.apereo.cas.authentication.credential.UsernamePasswordCredential;
+import org.apereo.cas.support.events.authentication.CasAuthenticationPasswordChangedEvent;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.event.EventListener;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Optional;
+
+/**
+ * This is {@link DefaultAuthenticationHandlerResultCache}, which caches the results of authentication handlers
+ * for username/password credentials for a short period of time. Results are kept per handler and username,
+ * and are only handed out when the password presented matches a salted PBKDF2 hash of the password
+ * that was verified by the handler; the password itself is never kept. Results for a username
+ * are discarded once its password is changed via CAS. Results are copied as they are cached and handed out,
+ * so that warnings added or cleared by one authentication attempt are not seen by another.
+ * Accounts locked or disabled in the authentication source continue to be authenticated
+ * from cached results until those results expire.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class DefaultAuthenticationHandlerResultCache implements AuthenticationHandlerResultCache {
+    private static final String HASH_ALGORITHM = "PBKDF2WithHmacSHA256";
+
+    private static final int SALT_LENGTH = 16;
+
+    private static final int HASH_LENGTH = 256;
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final Cache<CachedResultKey, CachedResult> cache;
+
+    private final int hashIterations;
+
+    public DefaultAuthenticationHandlerResultCache(final Duration timeToLive, final long maximumSize, final int hashIterations) {
+        this.cache = Caffeine.newBuilder()
+            .expireAfterWrite(timeToLive)
+            .maximumSize(maximumSize)
+            .recordStats()
+            .build();
+        this.hashIterations = hashIterations;
+    }
+
+    private static AuthenticationHandlerExecutionResult copyResult(final AuthenticationHandlerExecutionResult result) {
+        return new DefaultAuthenticationHandlerExecutionResult(result.getHandlerName(), result.getCredentialMetaData(),
+            result.getPrincipal(), new ArrayList<>(result.getWarnings()));
+    }
+
+    private static CachedResultKey buildCacheKey(final AuthenticationHandler handler, final UsernamePasswordCredential credential) {
+        return new CachedResultKey(handler.getName(), credential.getUsername(), StringUtils.defaultString(credential.getSource()));
+    }
+
+    @Override
+    public Optional<AuthenticationHandlerExecutionResult> get(final AuthenticationHandler handler, final Credential credential) {
+        if (!isCacheable(credential)) {
+            return Optional.empty();
+        }
+        val upc = (UsernamePasswordCredential) credential;
+        val cached = this.cache.getIfPresent(buildCacheKey(handler, upc));
+        if (cached == null) {
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(cached.getHash(), hash(upc.getPassword(), cached.getSalt()))) {
+            LOGGER.debug("Cached result of [{}] for [{}] does not match the presented password", handler.getName(), upc.getUsername());
+            return Optional.empty();
+        }
+        LOGGER.debug("Using cached result of [{}] to authenticate [{}]", handler.getName(), upc.getUsername());
+        return Optional.of(copyResult(cached.getResult()));
+    }
+
+    @Override
+    public void put(final AuthenticationHandler handler, final Credential credential, final AuthenticationHandlerExecutionResult result) {
+        if (isCacheable(credential)) {
+            val upc = (UsernamePasswordCredential) credential;
+            val salt = new byte[SALT_LENGTH];
+            this.random.nextBytes(salt);
+            this.cache.put(buildCacheKey(handler, upc), new CachedResult(salt, hash(upc.getPassword(), salt), copyResult(result)));
+        }
+    }
+
+    @Override
+    public void invalidate(final String username) {
+        LOGGER.debug("Removing cached authentication results for [{}]", username);
+        this.cache.asMap().keySet().removeIf(key -> key.getUsername().equalsIgnoreCase(username));
+    }
+
+    @Override
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Remove cached results for the account once its password has changed.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handlePasswordChangedEvent(final CasAuthenticationPasswordChangedEvent event) {
+        if (StringUtils.isNotBlank(event.getUsername())) {
+            invalidate(event.getUsername());
+        }
+    }
+
+    /**
+     * Gets cache statistics.
+     *
+     * @return the cache statistics
+     */
+    public CacheStats getCacheStatistics() {
+        return this.cache.stats();
+    }
+
+    private static boolean isCacheable(final Credential credential) {
+        if (credential instanceof UsernamePasswordCredential) {
+            val upc = (UsernamePasswordCredential) credential;
+            return StringUtils.isNotBlank(upc.getUsername()) && StringUtils.isNotEmpty(upc.getPassword());
+        }
+        return false;
+    }
+
+    @SneakyThrows
+    private byte[] hash(final String password, final byte[] salt) {
+        val spec = new PBEKeySpec(password.toCharArray(), salt, this.hashIterations, HASH_LENGTH);
+        try {
+            return SecretKeyFactory.getInstance(HASH_ALGORITHM).generateSecret(spec).getEncoded();
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    @Getter
+    private static class CachedResultKey {
+        private final String handlerName;
+
+        private final String username;
+
+        private final String source;
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    private static class CachedResult {
+        private final byte[] salt;
+
+        private final byte[] hash;
+
+        private final AuthenticationHandlerExecutionResult result;
+    }
+}
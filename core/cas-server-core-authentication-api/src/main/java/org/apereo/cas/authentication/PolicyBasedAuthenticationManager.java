@@ -13,6 +13,7 @@ import org.apereo.cas.support.events.authentication.CasAuthenticationTransaction
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -47,6 +48,9 @@ public class PolicyBasedAuthenticationManager implements AuthenticationManager {
 
     private final ApplicationEventPublisher eventPublisher;
 
+    @Setter
+    private AuthenticationHandlerResultCache authenticationHandlerResultCache = AuthenticationHandlerResultCache.noOp();
+
     /**
      * Populate authentication metadata attributes.
      *
@@ -195,7 +199,45 @@ public class PolicyBasedAuthenticationManager implements AuthenticationManager {
 
         publishEvent(new CasAuthenticationTransactionStartedEvent(this, credential));
 
+        val result = authenticateWithHandler(handler, credential);
+        resolvePrincipalFromAuthenticationResult(builder, credential, resolver, handler, result);
+    }
+
+    /**
+     * Authenticate the credential with the handler, unless a result of the handler
+     * for the same verified credential is cached.
+     *
+     * @param handler    the handler
+     * @param credential the credential
+     * @return the result produced by the handler
+     * @throws GeneralSecurityException the general security exception
+     * @throws PreventedException       the prevented exception
+     */
+    protected AuthenticationHandlerExecutionResult authenticateWithHandler(final AuthenticationHandler handler,
+                                                                           final Credential credential) throws GeneralSecurityException, PreventedException {
+        val cachedResult = this.authenticationHandlerResultCache.get(handler, credential);
+        if (cachedResult.isPresent()) {
+            return cachedResult.get();
+        }
         val result = handler.authenticate(credential);
+        this.authenticationHandlerResultCache.put(handler, credential, result);
+        return result;
+    }
+
+    /**
+     * Record the successful result of an authentication handler and resolve the principal.
+     *
+     * @param builder    the builder
+     * @param credential the credential
+     * @param resolver   the resolver
+     * @param handler    the handler
+     * @param result     the result produced by the handler
+     */
+    protected void resolvePrincipalFromAuthenticationResult(final AuthenticationBuilder builder,
+                                                            final Credential credential,
+                                                            final PrincipalResolver resolver,
+                                                            final AuthenticationHandler handler,
+                                                            final AuthenticationHandlerExecutionResult result) {
         val authenticationHandlerName = handler.getName();
         builder.addSuccess(authenticationHandlerName, result);
         LOGGER.debug("Authentication handler [{}] successfully authenticated [{}]", authenticationHandlerName, credential);
@@ -296,34 +338,7 @@ public class PolicyBasedAuthenticationManager implements AuthenticationManager {
             while (it.hasNext()) {
                 val credential = it.next();
                 LOGGER.debug("Attempting to authenticate credential [{}]", credential);
-
-                val itHandlers = handlerSet.iterator();
-                var proceedWithNextHandler = true;
-                while (proceedWithNextHandler && itHandlers.hasNext()) {
-                    val handler = itHandlers.next();
-                    if (handler.supports(credential)) {
-                        try {
-                            val resolver = getPrincipalResolverLinkedToHandlerIfAny(handler, transaction);
-                            LOGGER.debug("Attempting authentication of [{}] using [{}]", credential.getId(), handler.getName());
-                            authenticateAndResolvePrincipal(builder, credential, resolver, handler);
-
-                            val authnResult = builder.build();
-                            AuthenticationCredentialsThreadLocalBinder.bindInProgress(authnResult);
-                            val failures = evaluateAuthenticationPolicies(authnResult, transaction, handlerSet);
-                            proceedWithNextHandler = !failures.getKey();
-                        } catch (final Exception e) {
-                            LOGGER.error("Authentication has failed. Credentials may be incorrect or CAS cannot "
-                                + "find authentication handler that supports [{}] of type [{}]. Examine the configuration to "
-                                + "ensure a method of authentication is defined and analyze CAS logs at DEBUG level to trace "
-                                + "the authentication event.", credential, credential.getClass().getSimpleName());
-
-                            handleAuthenticationException(e, handler.getName(), builder);
-                            proceedWithNextHandler = true;
-                        }
-                    } else {
-                        LOGGER.debug("Authentication handler [{}] does not support the credential type [{}]. Trying next...", handler.getName(), credential);
-                    }
-                }
+                authenticateCredential(builder, credential, handlerSet, transaction);
             }
             evaluateFinalAuthentication(builder, transaction, handlerSet);
             return builder;
@@ -332,6 +347,59 @@ public class PolicyBasedAuthenticationManager implements AuthenticationManager {
         }
     }
 
+    /**
+     * Authenticate the credential with the handlers that support it, in order,
+     * until the authentication policies are satisfied.
+     *
+     * @param builder     the builder
+     * @param credential  the credential
+     * @param handlerSet  the handler set
+     * @param transaction the transaction
+     */
+    protected void authenticateCredential(final AuthenticationBuilder builder, final Credential credential,
+                                          final Set<AuthenticationHandler> handlerSet, final AuthenticationTransaction transaction) {
+        val itHandlers = handlerSet.iterator();
+        var proceedWithNextHandler = true;
+        while (proceedWithNextHandler && itHandlers.hasNext()) {
+            val handler = itHandlers.next();
+            if (handler.supports(credential)) {
+                try {
+                    val resolver = getPrincipalResolverLinkedToHandlerIfAny(handler, transaction);
+                    LOGGER.debug("Attempting authentication of [{}] using [{}]", credential.getId(), handler.getName());
+                    authenticateAndResolvePrincipal(builder, credential, resolver, handler);
+
+                    val authnResult = builder.build();
+                    AuthenticationCredentialsThreadLocalBinder.bindInProgress(authnResult);
+                    val failures = evaluateAuthenticationPolicies(authnResult, transaction, handlerSet);
+                    proceedWithNextHandler = !failures.getKey();
+                } catch (final Exception e) {
+                    handleAuthenticationHandlerFailure(e, credential, handler, builder);
+                    proceedWithNextHandler = true;
+                }
+            } else {
+                LOGGER.debug("Authentication handler [{}] does not support the credential type [{}]. Trying next...", handler.getName(), credential);
+            }
+        }
+    }
+
+    /**
+     * Handle the failure of an authentication handler to authenticate the credential.
+     *
+     * @param e          the exception
+     * @param credential the credential
+     * @param handler    the handler
+     * @param builder    the builder
+     */
+    protected void handleAuthenticationHandlerFailure(final Throwable e, final Credential credential,
+                                                      final AuthenticationHandler handler, final AuthenticationBuilder builder) {
+        LOGGER.error("Authentication has failed. Credentials may be incorrect or CAS cannot "
+            + "find authentication handler that supports [{}] of type [{}]. Examine the configuration to "
+            + "ensure a method of authentication is defined and analyze CAS logs at DEBUG level to trace "
+            + "the authentication event.", credential, credential.getClass().getSimpleName());
+
+        handleAuthenticationException(e, handler.getName(), builder);
+    }
+
     /**
      * Evaluate produced authentication context.
      * We apply an implicit security policy of at least one successful authentication.
@@ -31,10 +31,12 @@ import java.util.Map;
 @Getter
 @Setter
 @NoArgsConstructor
-@EqualsAndHashCode(callSuper = true, of = {"timeUnit", "expiration"})
+@EqualsAndHashCode(callSuper = true, of = {"timeUnit", "expiration", "maximumCacheSize"})
 public class CachingPrincipalAttributesRepository extends AbstractPrincipalAttributesRepository {
     private static final long serialVersionUID = 6350244643948535906L;
 
+    private static final long DEFAULT_MAXIMUM_CACHE_SIZE = 1000;
+
     /**
      * The expiration time.
      */
@@ -45,6 +47,10 @@ public class CachingPrincipalAttributesRepository extends AbstractPrincipalAttri
      */
     protected String timeUnit;
 
+    /**
+     * Maximum number of principals whose attributes are cached for the service.
+     */
+    protected long maximumCacheSize = DEFAULT_MAXIMUM_CACHE_SIZE;
 
     @JsonCreator
     public CachingPrincipalAttributesRepository(@JsonProperty("timeUnit") final String timeUnit,
@@ -2,34 +2,95 @@ package org.apereo.cas.authentication.principal.cache;
 
 import org.apereo.cas.authentication.principal.Principal;
 import org.apereo.cas.services.RegisteredService;
-import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.util.cache.DistributedCacheManager;
+import org.apereo.cas.util.cache.DistributedCacheObject;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.event.EventListener;
 
 import java.io.Closeable;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
- * This is {@link PrincipalAttributesRepositoryCache}.
+ * This is {@link PrincipalAttributesRepositoryCache}. Attributes are cached for each registered service,
+ * using a cache whose size and expiration are controlled by the {@link CachingPrincipalAttributesRepository}
+ * of the service. When the cache settings of a service change, its cache is invalidated and replaced,
+ * and the cache is removed once the service is deleted. Attributes may also be shared with other nodes
+ * via an optional {@link DistributedCacheManager}, which is consulted when attributes are not found locally.
  *
  * @author Misagh Moayyed
  * @since 6.1.0
  */
 @Slf4j
 public class PrincipalAttributesRepositoryCache implements Closeable {
-    private static final int DEFAULT_MAXIMUM_CACHE_SIZE = 1000;
+    private static final long DEFAULT_MAXIMUM_CACHE_SIZE = 1000;
 
     private static final String DEFAULT_CACHE_EXPIRATION_UNIT = TimeUnit.HOURS.name();
 
-    private final Map<String, Cache<String, Map<String, List<Object>>>> registeredServicesCache = new HashMap<>();
+    private final Map<Long, RegisteredServiceCache> registeredServicesCache = new ConcurrentHashMap<>();
+
+    private final DistributedCacheManager<String, DistributedCacheObject<HashMap<String, List<Object>>>> distributedCacheManager;
+
+    public PrincipalAttributesRepositoryCache() {
+        this(() -> LOGGER.trace("No distributed cache is defined to close"));
+    }
+
+    public PrincipalAttributesRepositoryCache(
+        final DistributedCacheManager<String, DistributedCacheObject<HashMap<String, List<Object>>>> distributedCacheManager) {
+        this.distributedCacheManager = distributedCacheManager;
+    }
+
+    /**
+     * Build registered service cache key string.
+     * Cache settings are part of the key, so that changes to the repository
+     * of the service are not answered with attributes shared under previous settings.
+     *
+     * @param registeredService the registered service
+     * @param repository        the repository
+     * @return the string
+     */
+    private static String buildRegisteredServiceCacheKey(final RegisteredService registeredService,
+                                                         final CachingPrincipalAttributesRepository repository) {
+        return registeredService.getId() + "@" + registeredService.getName() + ';' + buildCacheSettings(repository);
+    }
+
+    private static String buildCacheSettings(final CachingPrincipalAttributesRepository repository) {
+        return repository.getExpiration() + ";" + repository.getTimeUnit() + ';' + repository.getMaximumCacheSize();
+    }
+
+    private static TimeUnit getExpirationTimeUnit(final CachingPrincipalAttributesRepository repository) {
+        return TimeUnit.valueOf(StringUtils.defaultString(repository.getTimeUnit(), DEFAULT_CACHE_EXPIRATION_UNIT));
+    }
+
+    /**
+     * Initialize cache cache.
+     *
+     * @param repository the repository
+     * @return the cache
+     */
+    private static Cache<String, Map<String, List<Object>>> initializeCache(final CachingPrincipalAttributesRepository repository) {
+        val unit = getExpirationTimeUnit(repository);
+        val maximumCacheSize = repository.getMaximumCacheSize() > 0 ? repository.getMaximumCacheSize() : DEFAULT_MAXIMUM_CACHE_SIZE;
+        return Caffeine.newBuilder()
+            .maximumSize(maximumCacheSize)
+            .expireAfterWrite(repository.getExpiration(), unit)
+            .recordStats()
+            .build();
+    }
 
     @Override
     public void close() {
@@ -40,7 +101,32 @@ public class PrincipalAttributesRepositoryCache implements Closeable {
      * Invalidate all.
      */
     public void invalidateAll() {
-        registeredServicesCache.values().forEach(Cache::invalidateAll);
+        registeredServicesCache.values().forEach(entry -> entry.getCache().invalidateAll());
+    }
+
+    /**
+     * Invalidate and remove the cache of the registered service.
+     *
+     * @param registeredService the registered service
+     */
+    public void invalidate(final RegisteredService registeredService) {
+        val entry = registeredServicesCache.remove(registeredService.getId());
+        if (entry != null) {
+            LOGGER.debug("Removing cached attributes for service [{}]", registeredService.getName());
+            entry.getCache().invalidateAll();
+        }
+    }
+
+    /**
+     * Remove the cache of the registered service once the service is deleted.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServiceDeletedEvent(final CasRegisteredServiceDeletedEvent event) {
+        if (event.getRegisteredService() != null) {
+            invalidate(event.getRegisteredService());
+        }
     }
 
     /**
@@ -54,11 +140,20 @@ public class PrincipalAttributesRepositoryCache implements Closeable {
     public Map<String, List<Object>> getCachedAttributesFor(final RegisteredService registeredService,
                                                             final CachingPrincipalAttributesRepository repository,
                                                             final Principal principal) {
+        val key = buildRegisteredServiceCacheKey(registeredService, repository);
         val cache = getRegisteredServiceCacheInstance(registeredService, repository);
-        return cache.get(principal.getId(), s -> {
-            LOGGER.debug("No cached attributes could be found for [{}]", principal.getId());
-            return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        });
+        val attributes = cache.getIfPresent(principal.getId());
+        if (attributes != null) {
+            return attributes;
+        }
+        val distributedAttributes = getDistributedCachedAttributesFor(key, repository, principal.getId());
+        if (distributedAttributes != null) {
+            LOGGER.debug("Found cached attributes for [{}] in distributed cache [{}]", principal.getId(), distributedCacheManager.getName());
+            cache.put(principal.getId(), distributedAttributes);
+            return distributedAttributes;
+        }
+        LOGGER.debug("No cached attributes could be found for [{}]", principal.getId());
+        return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
     }
 
     /**
@@ -72,23 +167,58 @@ public class PrincipalAttributesRepositoryCache implements Closeable {
     public void putCachedAttributesFor(final RegisteredService registeredService,
                                        final CachingPrincipalAttributesRepository repository,
                                        final String id, final Map<String, List<Object>> attributes) {
+        val key = buildRegisteredServiceCacheKey(registeredService, repository);
         val cache = getRegisteredServiceCacheInstance(registeredService, repository);
         cache.put(id, attributes);
+        try {
+            distributedCacheManager.set(buildDistributedCacheKey(key, id), new DistributedCacheObject<>(new HashMap<>(attributes)));
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to share cached attributes for [{}] via [{}]: [{}]", id, distributedCacheManager.getName(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
     }
 
     /**
-     * Build registered service cache key string.
+     * Gets cache statistics for each registered service cache.
      *
-     * @param registeredService the registered service
-     * @return the string
+     * @return the cache statistics
      */
-    private static String buildRegisteredServiceCacheKey(final RegisteredService registeredService) {
-        val key = registeredService.getId() + '@' + registeredService.getName();
-        return DigestUtils.sha512(key);
+    public Map<String, CacheStats> getCacheStatistics() {
+        val statistics = new LinkedHashMap<String, CacheStats>();
+        registeredServicesCache.forEach((id, entry) -> statistics.put(String.valueOf(id), entry.getCache().stats()));
+        return statistics;
+    }
+
+    private Map<String, List<Object>> getDistributedCachedAttributesFor(final String key,
+                                                                       final CachingPrincipalAttributesRepository repository,
+                                                                       final String id) {
+        try {
+            val item = distributedCacheManager.get(buildDistributedCacheKey(key, id));
+            if (item == null || item.getValue() == null) {
+                return null;
+            }
+            val expiresAt = item.getTimestamp() + getExpirationTimeUnit(repository).toMillis(repository.getExpiration());
+            if (expiresAt <= System.currentTimeMillis()) {
+                LOGGER.trace("Cached attributes for [{}] in distributed cache have expired", id);
+                return null;
+            }
+            val attributes = new TreeMap<String, List<Object>>(String.CASE_INSENSITIVE_ORDER);
+            attributes.putAll(item.getValue());
+            return attributes;
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to fetch cached attributes for [{}] from [{}]: [{}]", id, distributedCacheManager.getName(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    private static String buildDistributedCacheKey(final String registeredServiceCacheKey, final String id) {
+        return registeredServiceCacheKey + ';' + id;
     }
 
     /**
      * Gets registered service cache instance.
+     * The cache of the service is replaced and invalidated if its settings no longer match the repository.
      *
      * @param registeredService the registered service
      * @param repository        the repository
@@ -96,27 +226,29 @@ public class PrincipalAttributesRepositoryCache implements Closeable {
      */
     private Cache<String, Map<String, List<Object>>> getRegisteredServiceCacheInstance(final RegisteredService registeredService,
                                                                                        final CachingPrincipalAttributesRepository repository) {
-        val key = buildRegisteredServiceCacheKey(registeredService);
-        if (registeredServicesCache.containsKey(key)) {
-            return registeredServicesCache.get(key);
+        val settings = buildCacheSettings(repository);
+        val current = registeredServicesCache.get(registeredService.getId());
+        if (current != null && current.getSettings().equals(settings)) {
+            return current.getCache();
         }
-        val cache = initializeCache(repository);
-        registeredServicesCache.put(key, cache);
-        return cache;
+        return registeredServicesCache.compute(registeredService.getId(), (id, entry) -> {
+            if (entry != null && entry.getSettings().equals(settings)) {
+                return entry;
+            }
+            if (entry != null) {
+                LOGGER.debug("Cache settings for service [{}] have changed from [{}] to [{}]; replacing its cache",
+                    registeredService.getName(), entry.getSettings(), settings);
+                entry.getCache().invalidateAll();
+            }
+            return new RegisteredServiceCache(settings, initializeCache(repository));
+        }).getCache();
     }
 
-    /**
-     * Initialize cache cache.
-     *
-     * @param repository the repository
-     * @return the cache
-     */
-    private static Cache<String, Map<String, List<Object>>> initializeCache(final CachingPrincipalAttributesRepository repository) {
-        val unit = TimeUnit.valueOf(StringUtils.defaultString(repository.getTimeUnit(), DEFAULT_CACHE_EXPIRATION_UNIT));
-        return Caffeine.newBuilder()
-            .initialCapacity(DEFAULT_MAXIMUM_CACHE_SIZE)
-            .maximumSize(DEFAULT_MAXIMUM_CACHE_SIZE)
-            .expireAfterWrite(repository.getExpiration(), unit)
-            .build(s -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER));
+    @Getter
+    @RequiredArgsConstructor
+    private static class RegisteredServiceCache {
+        private final String settings;
+
+        private final Cache<String, Map<String, List<Object>>> cache;
     }
 }
@@ -2,13 +2,17 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.authentication.AuthenticationEventExecutionPlan;
 import org.apereo.cas.authentication.AuthenticationEventExecutionPlanConfigurer;
+import org.apereo.cas.authentication.AuthenticationHandlerResultCache;
 import org.apereo.cas.authentication.AuthenticationManager;
 import org.apereo.cas.authentication.AuthenticationTransactionManager;
+import org.apereo.cas.authentication.ConcurrentPolicyBasedAuthenticationManager;
 import org.apereo.cas.authentication.DefaultAuthenticationAttributeReleasePolicy;
 import org.apereo.cas.authentication.DefaultAuthenticationEventExecutionPlan;
+import org.apereo.cas.authentication.DefaultAuthenticationHandlerResultCache;
 import org.apereo.cas.authentication.DefaultAuthenticationTransactionManager;
 import org.apereo.cas.authentication.PolicyBasedAuthenticationManager;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.validation.AuthenticationAttributeReleasePolicy;
 
 import lombok.extern.slf4j.Slf4j;
@@ -53,11 +57,38 @@ public class CasCoreAuthenticationConfiguration {
     @Autowired
     @Bean
     public AuthenticationManager casAuthenticationManager(@Qualifier("authenticationEventExecutionPlan") final AuthenticationEventExecutionPlan authenticationEventExecutionPlan) {
-        return new PolicyBasedAuthenticationManager(
-            authenticationEventExecutionPlan,
-            casProperties.getPersonDirectory().isPrincipalResolutionFailureFatal(),
-            applicationEventPublisher
-        );
+        val concurrency = casProperties.getAuthn().getEngine().getConcurrency();
+        final PolicyBasedAuthenticationManager manager;
+        if (concurrency.isEnabled()) {
+            LOGGER.debug("Authentication handlers will be invoked concurrently with a pool size of [{}]", concurrency.getPoolSize());
+            manager = new ConcurrentPolicyBasedAuthenticationManager(
+                authenticationEventExecutionPlan,
+                casProperties.getPersonDirectory().isPrincipalResolutionFailureFatal(),
+                applicationEventPublisher,
+                concurrency.getPoolSize(),
+                Beans.newDuration(concurrency.getHandlerTimeout())
+            );
+        } else {
+            manager = new PolicyBasedAuthenticationManager(
+                authenticationEventExecutionPlan,
+                casProperties.getPersonDirectory().isPrincipalResolutionFailureFatal(),
+                applicationEventPublisher
+            );
+        }
+        manager.setAuthenticationHandlerResultCache(authenticationHandlerResultCache());
+        return manager;
+    }
+
+    @ConditionalOnMissingBean(name = "authenticationHandlerResultCache")
+    @Bean
+    public AuthenticationHandlerResultCache authenticationHandlerResultCache() {
+        val cache = casProperties.getAuthn().getEngine().getResultCache();
+        if (cache.isEnabled()) {
+            LOGGER.debug("Results of authentication handlers will be cached for [{}]", cache.getTimeToLive());
+            return new DefaultAuthenticationHandlerResultCache(Beans.newDuration(cache.getTimeToLive()),
+                cache.getMaximumSize(), cache.getHashIterations());
+        }
+        return AuthenticationHandlerResultCache.noOp();
     }
 
     @ConditionalOnMissingBean(name = "authenticationEventExecutionPlan")
@@ -13,6 +13,8 @@ import org.apereo.cas.authentication.handler.RegisteredServiceAuthenticationHand
 import org.apereo.cas.authentication.principal.cache.PrincipalAttributesRepositoryCache;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.util.cache.DistributedCacheManager;
+import org.apereo.cas.util.cache.DistributedCacheObject;
 
 import lombok.val;
 import org.springframework.beans.factory.ObjectProvider;
@@ -24,6 +26,9 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 
+import java.util.HashMap;
+import java.util.List;
+
 /**
  * This is {@link CasCoreAuthenticationSupportConfiguration}.
  *
@@ -49,6 +54,10 @@ public class CasCoreAuthenticationSupportConfiguration {
     @Qualifier("authenticationTransactionManager")
     private ObjectProvider<AuthenticationTransactionManager> authenticationTransactionManager;
 
+    @Autowired
+    @Qualifier("principalAttributesRepositoryDistributedCacheManager")
+    private ObjectProvider<DistributedCacheManager<String, DistributedCacheObject<HashMap<String, List<Object>>>>> principalAttributesRepositoryDistributedCacheManager;
+
     @Bean
     public AuthenticationSystemSupport defaultAuthenticationSystemSupport() {
         return new DefaultAuthenticationSystemSupport(authenticationTransactionManager.getIfAvailable(),
@@ -99,6 +108,10 @@ public class CasCoreAuthenticationSupportConfiguration {
     @ConditionalOnMissingBean(name = "principalAttributesRepositoryCache")
     @Bean
     public PrincipalAttributesRepositoryCache principalAttributesRepositoryCache() {
+        val distributedCacheManager = principalAttributesRepositoryDistributedCacheManager.getIfAvailable();
+        if (distributedCacheManager != null) {
+            return new PrincipalAttributesRepositoryCache(distributedCacheManager);
+        }
         return new PrincipalAttributesRepositoryCache();
     }
 }
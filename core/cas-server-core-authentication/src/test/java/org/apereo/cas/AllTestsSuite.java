@@ -4,7 +4,9 @@ package org.apereo.cas;
 import org.apereo.cas.authentication.AcceptUsersAuthenticationHandlerTests;
 import org.apereo.cas.authentication.BasicCredentialMetaDataTests;
 import org.apereo.cas.authentication.CacheCredentialsMetaDataPopulatorTests;
+import org.apereo.cas.authentication.ConcurrentPolicyBasedAuthenticationManagerTests;
 import org.apereo.cas.authentication.CoreAuthenticationUtilsTests;
+import org.apereo.cas.authentication.DefaultAuthenticationHandlerResultCacheTests;
 import org.apereo.cas.authentication.DefaultAuthenticationTests;
 import org.apereo.cas.authentication.DefaultPasswordEncoderTests;
 import org.apereo.cas.authentication.FileTrustStoreSslSocketFactoryTests;
@@ -24,6 +26,7 @@ import org.apereo.cas.authentication.principal.RememberMeAuthenticationMetaDataP
 import org.apereo.cas.authentication.principal.SimplePrincipalFactoryTests;
 import org.apereo.cas.authentication.principal.SimplePrincipalTests;
 import org.apereo.cas.authentication.principal.cache.CachingPrincipalAttributesRepositoryTests;
+import org.apereo.cas.authentication.principal.cache.PrincipalAttributesRepositoryCacheTests;
 import org.apereo.cas.util.TrustedProxyAuthenticationTrustStoreSslSocketFactoryTests;
 
 import org.junit.platform.runner.JUnitPlatform;
@@ -40,6 +43,7 @@ import org.junit.runner.RunWith;
     TrustedProxyAuthenticationTrustStoreSslSocketFactoryTests.class,
     SimplePrincipalTests.class,
     CachingPrincipalAttributesRepositoryTests.class,
+    PrincipalAttributesRepositoryCacheTests.class,
     ChainingPrincipalResolverTests.class,
     NullPrincipalTests.class,
     SimplePrincipalFactoryTests.class,
@@ -52,6 +56,8 @@ import org.junit.runner.RunWith;
     CoreAuthenticationUtilsTests.class,
     DefaultPasswordEncoderTests.class,
     DefaultAuthenticationTests.class,
+    ConcurrentPolicyBasedAuthenticationManagerTests.class,
+    DefaultAuthenticationHandlerResultCacheTests.class,
     BasicCredentialMetaDataTests.class,
     UsernamePasswordCredentialTests.class,
     RememberMePasswordCredentialTests.class,
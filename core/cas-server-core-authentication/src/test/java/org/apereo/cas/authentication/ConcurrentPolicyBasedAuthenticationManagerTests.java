@@ -0,0 +1,110 @@
+package org.apereo.cas.authentication;
+
+import org.apereo.cas.authentication.handler.DefaultAuthenticationHandlerResolver;
+import org.apereo.cas.authentication.policy.AtLeastOneCredentialValidatedAuthenticationPolicy;
+import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
+import org.apereo.cas.authentication.principal.PrincipalResolver;
+
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.security.auth.login.FailedLoginException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link ConcurrentPolicyBasedAuthenticationManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class ConcurrentPolicyBasedAuthenticationManagerTests {
+    private static final String HANDLER_A = "HandlerA";
+
+    private static final String HANDLER_B = "HandlerB";
+
+    private final AuthenticationTransaction transaction = DefaultAuthenticationTransaction.of(CoreAuthenticationTestUtils.getService(),
+        mock(Credential.class, withSettings().serializable()));
+
+    @SneakyThrows
+    private static AuthenticationHandler newMockHandler(final String name, final boolean success, final long delay) {
+        val mock = mock(AuthenticationHandler.class);
+        when(mock.getName()).thenReturn(name);
+        when(mock.supports(any(Credential.class))).thenReturn(true);
+        val result = new DefaultAuthenticationHandlerExecutionResult(mock, mock(CredentialMetaData.class),
+            new DefaultPrincipalFactory().createPrincipal("casuser"));
+        when(mock.authenticate(any(Credential.class))).thenAnswer(invocation -> {
+            Thread.sleep(delay);
+            if (success) {
+                return result;
+            }
+            throw new FailedLoginException();
+        });
+        return mock;
+    }
+
+    private static ConcurrentPolicyBasedAuthenticationManager getAuthenticationManager(final Map<AuthenticationHandler, PrincipalResolver> map,
+                                                                                      final Duration timeout) {
+        val plan = new DefaultAuthenticationEventExecutionPlan();
+        plan.registerAuthenticationHandlerWithPrincipalResolver(map);
+        plan.registerAuthenticationHandlerResolver(new DefaultAuthenticationHandlerResolver());
+        plan.registerAuthenticationPolicy(new AtLeastOneCredentialValidatedAuthenticationPolicy());
+        return new ConcurrentPolicyBasedAuthenticationManager(plan, false, mock(ApplicationEventPublisher.class), 4, timeout);
+    }
+
+    @Test
+    public void verifyLaterHandlerSucceeds() {
+        val map = new LinkedHashMap<AuthenticationHandler, PrincipalResolver>();
+        map.put(newMockHandler(HANDLER_A, false, 200), null);
+        map.put(newMockHandler(HANDLER_B, true, 200), null);
+        val manager = getAuthenticationManager(map, Duration.ofSeconds(5));
+        try {
+            val start = System.currentTimeMillis();
+            val auth = manager.authenticate(transaction);
+            assertTrue(System.currentTimeMillis() - start < 1000);
+            assertTrue(auth.getSuccesses().containsKey(HANDLER_B));
+            assertTrue(auth.getFailures().containsKey(HANDLER_A));
+        } finally {
+            manager.destroy();
+        }
+    }
+
+    @Test
+    public void verifyFirstHandlerTakesPrecedence() {
+        val map = new LinkedHashMap<AuthenticationHandler, PrincipalResolver>();
+        map.put(newMockHandler(HANDLER_A, true, 100), null);
+        map.put(newMockHandler(HANDLER_B, true, 3000), null);
+        val manager = getAuthenticationManager(map, Duration.ofSeconds(5));
+        try {
+            val start = System.currentTimeMillis();
+            val auth = manager.authenticate(transaction);
+            assertTrue(System.currentTimeMillis() - start < 2000);
+            assertEquals(1, auth.getSuccesses().size());
+            assertTrue(auth.getSuccesses().containsKey(HANDLER_A));
+        } finally {
+            manager.destroy();
+        }
+    }
+
+    @Test
+    public void verifySlowHandlerTimesOut() {
+        val map = new LinkedHashMap<AuthenticationHandler, PrincipalResolver>();
+        map.put(newMockHandler(HANDLER_A, true, 3000), null);
+        map.put(newMockHandler(HANDLER_B, true, 10), null);
+        val manager = getAuthenticationManager(map, Duration.ofMillis(200));
+        try {
+            val auth = manager.authenticate(transaction);
+            assertTrue(auth.getSuccesses().containsKey(HANDLER_B));
+            assertTrue(auth.getFailures().containsKey(HANDLER_A));
+            assertEquals(PreventedException.class, auth.getFailures().get(HANDLER_A).getClass());
+        } finally {
+            manager.destroy();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.apereo.cas.authentication;
+
+import org.apereo.cas.DefaultMessageDescriptor;
+import org.apereo.cas.authentication.credential.UsernamePasswordCredential;
+import org.apereo.cas.authentication.handler.DefaultAuthenticationHandlerResolver;
+import org.apereo.cas.authentication.metadata.BasicCredentialMetaData;
+import org.apereo.cas.authentication.policy.AtLeastOneCredentialValidatedAuthenticationPolicy;
+import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
+import org.apereo.cas.authentication.principal.PrincipalResolver;
+import org.apereo.cas.support.events.authentication.CasAuthenticationPasswordChangedEvent;
+
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link DefaultAuthenticationHandlerResultCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class DefaultAuthenticationHandlerResultCacheTests {
+    private static final String USERNAME = "casuser";
+
+    private static final String PASSWORD = "Mellon";
+
+    private AuthenticationHandler handler;
+
+    private DefaultAuthenticationHandlerResultCache cache;
+
+    private PolicyBasedAuthenticationManager manager;
+
+    private static AuthenticationTransaction getTransaction(final String password) {
+        return DefaultAuthenticationTransaction.of(CoreAuthenticationTestUtils.getService(),
+            new UsernamePasswordCredential(USERNAME, password));
+    }
+
+    @BeforeEach
+    @SneakyThrows
+    public void initialize() {
+        this.handler = mock(AuthenticationHandler.class);
+        when(handler.getName()).thenReturn("TestHandler");
+        when(handler.supports(any(Credential.class))).thenReturn(true);
+        when(handler.authenticate(any(Credential.class))).thenAnswer(invocation -> new DefaultAuthenticationHandlerExecutionResult(handler,
+            new BasicCredentialMetaData(invocation.<Credential>getArgument(0)), new DefaultPrincipalFactory().createPrincipal(USERNAME)));
+
+        val map = new LinkedHashMap<AuthenticationHandler, PrincipalResolver>();
+        map.put(handler, null);
+        val plan = new DefaultAuthenticationEventExecutionPlan();
+        plan.registerAuthenticationHandlerWithPrincipalResolver(map);
+        plan.registerAuthenticationHandlerResolver(new DefaultAuthenticationHandlerResolver());
+        plan.registerAuthenticationPolicy(new AtLeastOneCredentialValidatedAuthenticationPolicy());
+
+        this.cache = new DefaultAuthenticationHandlerResultCache(Duration.ofMinutes(1), 100, 1000);
+        this.manager = new PolicyBasedAuthenticationManager(plan, false, mock(ApplicationEventPublisher.class));
+        this.manager.setAuthenticationHandlerResultCache(cache);
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifyRepeatedAuthenticationIsCached() {
+        val first = manager.authenticate(getTransaction(PASSWORD));
+        val second = manager.authenticate(getTransaction(PASSWORD));
+        assertEquals(first.getPrincipal(), second.getPrincipal());
+        verify(handler, times(1)).authenticate(any(Credential.class));
+        assertEquals(1, cache.getCacheStatistics().hitCount());
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifyCachedResultIsCopied() {
+        val credential = new UsernamePasswordCredential(USERNAME, PASSWORD);
+        val result = handler.authenticate(credential);
+        cache.put(handler, credential, result);
+        result.addWarning(new DefaultMessageDescriptor("warning"));
+
+        val first = cache.get(handler, credential).orElseThrow();
+        assertTrue(first.getWarnings().isEmpty());
+        first.addWarning(new DefaultMessageDescriptor("warning"));
+        val second = cache.get(handler, credential).orElseThrow();
+        assertNotSame(first, second);
+        assertTrue(second.getWarnings().isEmpty());
+        assertEquals(result.getPrincipal(), second.getPrincipal());
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifyDifferentPasswordIsNotCached() {
+        manager.authenticate(getTransaction(PASSWORD));
+        manager.authenticate(getTransaction("Other"));
+        verify(handler, times(2)).authenticate(any(Credential.class));
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifyPasswordChangeInvalidatesCache() {
+        manager.authenticate(getTransaction(PASSWORD));
+        cache.handlePasswordChangedEvent(new CasAuthenticationPasswordChangedEvent(this, USERNAME.toUpperCase()));
+        manager.authenticate(getTransaction(PASSWORD));
+        verify(handler, times(2)).authenticate(any(Credential.class));
+    }
+}
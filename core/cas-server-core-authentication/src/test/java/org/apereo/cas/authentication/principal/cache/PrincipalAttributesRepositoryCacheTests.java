@@ -0,0 +1,114 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.cache.DistributedCacheManager;
+import org.apereo.cas.util.cache.DistributedCacheObject;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link PrincipalAttributesRepositoryCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class PrincipalAttributesRepositoryCacheTests {
+
+    private static DistributedCacheManager<String, DistributedCacheObject<HashMap<String, List<Object>>>> getDistributedCacheManager(
+        final Map<String, DistributedCacheObject<HashMap<String, List<Object>>>> entries) {
+        return new DistributedCacheManager<>() {
+            @Override
+            public DistributedCacheObject<HashMap<String, List<Object>>> get(final String key) {
+                return entries.get(key);
+            }
+
+            @Override
+            public void set(final String key, final DistributedCacheObject<HashMap<String, List<Object>>> item) {
+                entries.put(key, item);
+            }
+
+            @Override
+            public void close() {
+                entries.clear();
+            }
+        };
+    }
+
+    @Test
+    public void verifyAttributesCachedPerService() {
+        val cache = new PrincipalAttributesRepositoryCache();
+        val repository = new CachingPrincipalAttributesRepository(TimeUnit.MINUTES.name(), 5);
+        val service = CoreAuthenticationTestUtils.getRegisteredService();
+        val principal = CoreAuthenticationTestUtils.getPrincipal("casuser");
+
+        assertTrue(cache.getCachedAttributesFor(service, repository, principal).isEmpty());
+        cache.putCachedAttributesFor(service, repository, principal.getId(), CollectionUtils.wrap("mail", List.of("casuser@example.org")));
+        val attributes = cache.getCachedAttributesFor(service, repository, principal);
+        assertEquals(List.of("casuser@example.org"), attributes.get("mail"));
+
+        val statistics = cache.getCacheStatistics();
+        assertEquals(1, statistics.size());
+        val stats = statistics.values().iterator().next();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+    }
+
+    @Test
+    public void verifyCacheReplacedWhenSettingsChange() {
+        val cache = new PrincipalAttributesRepositoryCache();
+        val service = CoreAuthenticationTestUtils.getRegisteredService();
+        val principal = CoreAuthenticationTestUtils.getPrincipal("casuser");
+        val repository = new CachingPrincipalAttributesRepository(TimeUnit.MINUTES.name(), 5);
+        cache.putCachedAttributesFor(service, repository, principal.getId(), CollectionUtils.wrap("mail", List.of("casuser@example.org")));
+
+        val changed = new CachingPrincipalAttributesRepository(TimeUnit.MINUTES.name(), 10);
+        assertTrue(cache.getCachedAttributesFor(service, changed, principal).isEmpty());
+        assertEquals(1, cache.getCacheStatistics().size());
+        assertTrue(cache.getCachedAttributesFor(service, repository, principal).isEmpty());
+    }
+
+    @Test
+    public void verifyCacheRemovedWhenServiceDeleted() {
+        val cache = new PrincipalAttributesRepositoryCache();
+        val service = CoreAuthenticationTestUtils.getRegisteredService();
+        val principal = CoreAuthenticationTestUtils.getPrincipal("casuser");
+        val repository = new CachingPrincipalAttributesRepository(TimeUnit.MINUTES.name(), 5);
+        cache.putCachedAttributesFor(service, repository, principal.getId(), CollectionUtils.wrap("mail", List.of("casuser@example.org")));
+        assertEquals(1, cache.getCacheStatistics().size());
+
+        cache.handleRegisteredServiceDeletedEvent(new CasRegisteredServiceDeletedEvent(this, service));
+        assertTrue(cache.getCacheStatistics().isEmpty());
+        assertTrue(cache.getCachedAttributesFor(service, repository, principal).isEmpty());
+    }
+
+    @Test
+    public void verifyAttributesSharedViaDistributedCache() {
+        val entries = new ConcurrentHashMap<String, DistributedCacheObject<HashMap<String, List<Object>>>>();
+        val cache1 = new PrincipalAttributesRepositoryCache(getDistributedCacheManager(entries));
+        val cache2 = new PrincipalAttributesRepositoryCache(getDistributedCacheManager(entries));
+        val repository = new CachingPrincipalAttributesRepository(TimeUnit.MINUTES.name(), 5);
+        val service = CoreAuthenticationTestUtils.getRegisteredService();
+        val principal = CoreAuthenticationTestUtils.getPrincipal("casuser");
+
+        cache1.putCachedAttributesFor(service, repository, principal.getId(), CollectionUtils.wrap("mail", List.of("casuser@example.org")));
+        assertEquals(1, entries.size());
+        val attributes = cache2.getCachedAttributesFor(service, repository, principal);
+        assertEquals(List.of("casuser@example.org"), attributes.get("MAIL"));
+
+        val expired = new CachingPrincipalAttributesRepository(TimeUnit.MILLISECONDS.name(), 1);
+        cache1.putCachedAttributesFor(service, expired, principal.getId(), CollectionUtils.wrap("mail", List.of("casuser@example.org")));
+        entries.replaceAll((key, value) -> new DistributedCacheObject<>(0, value.getValue()));
+        assertTrue(cache2.getCachedAttributesFor(service, expired, principal).isEmpty());
+    }
+}
@@ -19,6 +19,8 @@ import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -44,6 +46,12 @@ public abstract class AbstractServicesManager implements ServicesManager {
 
     private Map<Long, RegisteredService> services = new ConcurrentHashMap<>();
 
+    private volatile Map<Class<?>, Collection<? extends RegisteredService>> servicesByType = new ConcurrentHashMap<>();
+
+    private volatile Map<String, Map<String, RegisteredService>> servicesByKey = new ConcurrentHashMap<>();
+
+    private volatile long loadedRevision = ServiceRegistry.UNKNOWN_REVISION;
+
     @Override
     public Collection<RegisteredService> getAllServices() {
         return this.services.values()
@@ -56,6 +64,52 @@ public abstract class AbstractServicesManager implements ServicesManager {
     }
 
 
+    /**
+     * Retrieve the collection of all registered services of the given type.
+     * The collection is kept until services are saved, deleted or loaded again.
+     *
+     * @param <T>   the type parameter
+     * @param clazz the type of services
+     * @return the collection of services
+     */
+    @Override
+    public <T extends RegisteredService> Collection<T> getAllServicesOfType(final Class<T> clazz) {
+        return (Collection<T>) this.servicesByType.computeIfAbsent(clazz,
+            k -> Collections.unmodifiableList(new ArrayList<>(ServicesManager.super.getAllServicesOfType(clazz))));
+    }
+
+    /**
+     * Find a registered service of the given type by key via an index of services by key,
+     * which is built when first needed and kept until services are saved, deleted or loaded again.
+     *
+     * @param <T>         the type parameter
+     * @param key         the key
+     * @param clazz       the type of services
+     * @param indexName   the index name
+     * @param keyFunction the function that produces the key of a service
+     * @return the registered service, or null
+     */
+    @Override
+    public <T extends RegisteredService> T findServiceByKey(final String key, final Class<T> clazz,
+                                                            final String indexName, final Function<T, String> keyFunction) {
+        if (StringUtils.isBlank(key)) {
+            return null;
+        }
+        val index = this.servicesByKey.computeIfAbsent(indexName, k -> {
+            val indexed = new HashMap<String, RegisteredService>();
+            getAllServicesOfType(clazz).forEach(service -> {
+                val serviceKey = keyFunction.apply(service);
+                if (StringUtils.isNotBlank(serviceKey)) {
+                    indexed.putIfAbsent(serviceKey, service);
+                }
+            });
+            LOGGER.trace("Indexed [{}] service(s) of type [{}] by [{}]", indexed.size(), clazz.getSimpleName(), indexName);
+            return indexed;
+        });
+        val service = index.get(key);
+        return clazz.isInstance(service) ? clazz.cast(service) : null;
+    }
+
     @Override
     public Collection<RegisteredService> findServiceBy(final Predicate<RegisteredService> predicate) {
         if (predicate == null) {
@@ -140,6 +194,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
             publishEvent(new CasRegisteredServicePreDeleteEvent(this, service));
             this.serviceRegistry.delete(service);
             this.services.remove(service.getId());
+            invalidateIndexes();
             deleteInternal(service);
             publishEvent(new CasRegisteredServiceDeletedEvent(this, service));
         }
@@ -162,6 +217,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
         publishEvent(new CasRegisteredServicePreSaveEvent(this, registeredService));
         val r = this.serviceRegistry.save(registeredService);
         this.services.put(r.getId(), r);
+        invalidateIndexes();
         saveInternal(registeredService);
 
         if (publishEvent) {
@@ -176,12 +232,15 @@ public abstract class AbstractServicesManager implements ServicesManager {
     @Override
     public Collection<RegisteredService> load() {
         LOGGER.trace("Loading services from [{}]", serviceRegistry.getName());
+        val revision = this.serviceRegistry.getRevision();
         this.services = this.serviceRegistry.load()
             .stream()
             .collect(Collectors.toConcurrentMap(r -> {
                 LOGGER.debug("Adding registered service [{}]", r.getServiceId());
                 return r.getId();
             }, Function.identity(), (r, s) -> s));
+        this.loadedRevision = revision;
+        invalidateIndexes();
         loadInternal();
         publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
         evaluateExpiredServiceDefinitions();
@@ -189,13 +248,71 @@ public abstract class AbstractServicesManager implements ServicesManager {
         return services.values();
     }
 
+    /**
+     * Load services that are provided by the DAO, only if the registry
+     * reports changes since the last load. Loaded definitions are compared
+     * against those already managed and only added, modified or removed
+     * definitions are applied.
+     */
+    @Override
+    public synchronized Collection<RegisteredService> loadIfModified() {
+        val revision = this.serviceRegistry.getRevision();
+        if (revision != ServiceRegistry.UNKNOWN_REVISION && revision == this.loadedRevision) {
+            LOGGER.trace("Services from [{}] are unchanged at revision [{}]", this.serviceRegistry.getName(), revision);
+            evaluateExpiredServiceDefinitions();
+            return services.values();
+        }
+
+        LOGGER.trace("Reloading services from [{}]", serviceRegistry.getName());
+        val loaded = this.serviceRegistry.load()
+            .stream()
+            .peek(RegisteredService::initialize)
+            .collect(Collectors.toMap(RegisteredService::getId, Function.identity(), (r, s) -> s));
+        val removed = this.services.keySet()
+            .stream()
+            .filter(id -> !loaded.containsKey(id))
+            .collect(Collectors.toList());
+        val modified = loaded.values()
+            .stream()
+            .filter(r -> !r.equals(this.services.get(r.getId())))
+            .collect(Collectors.toList());
+        this.loadedRevision = revision;
+
+        if (removed.isEmpty() && modified.isEmpty()) {
+            LOGGER.debug("No changes to service definitions were found in [{}]", this.serviceRegistry.getName());
+            evaluateExpiredServiceDefinitions();
+            return services.values();
+        }
+        removed.forEach(this.services::remove);
+        modified.forEach(r -> {
+            LOGGER.debug("Adding modified registered service [{}]", r.getServiceId());
+            this.services.put(r.getId(), r);
+        });
+        invalidateIndexes();
+        loadInternal();
+        publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
+        evaluateExpiredServiceDefinitions();
+        LOGGER.info("Applied [{}] modified and [{}] removed service(s) from [{}].", modified.size(), removed.size(), this.serviceRegistry.getName());
+        return services.values();
+    }
+
     @Override
     public synchronized void deleteAll() {
         this.services.forEach((k, v) -> delete(v));
         this.services.clear();
+        invalidateIndexes();
         publishEvent(new CasRegisteredServicesDeletedEvent(this));
     }
 
+    /**
+     * Discard the collections of services by type and the indexes of services by key,
+     * which are built again from the current services when next needed.
+     */
+    private void invalidateIndexes() {
+        this.servicesByType = new ConcurrentHashMap<>();
+        this.servicesByKey = new ConcurrentHashMap<>();
+    }
+
     private void evaluateExpiredServiceDefinitions() {
         this.services.values()
             .stream()
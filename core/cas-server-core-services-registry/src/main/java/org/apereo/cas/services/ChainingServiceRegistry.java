@@ -11,6 +11,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 /**
  * This is {@link ChainingServiceRegistry}.
@@ -111,6 +112,23 @@ public class ChainingServiceRegistry extends AbstractServiceRegistry {
             .sum();
     }
 
+    /**
+     * Sum the revisions of all registries in the chain. Since revisions only ever increase,
+     * the sum changes whenever any of the chained registries changes.
+     *
+     * @return the revision, or {@link #UNKNOWN_REVISION} if any registry in the chain is unable to track changes.
+     */
+    @Override
+    public long getRevision() {
+        val revisions = serviceRegistries.stream()
+            .mapToLong(ServiceRegistry::getRevision)
+            .toArray();
+        if (LongStream.of(revisions).anyMatch(revision -> revision == UNKNOWN_REVISION)) {
+            return UNKNOWN_REVISION;
+        }
+        return LongStream.of(revisions).sum();
+    }
+
     @Override
     public String getName() {
         val filter = Predicates.not(Predicates.instanceOf(ImmutableServiceRegistry.class));
@@ -8,6 +8,9 @@ import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
  * Default implementation of the {@link ServicesManager} interface.
+ * Services are kept in a {@link RegisteredServiceLiteralPrefixIndex} so that
+ * only services whose literal service id prefix is compatible
+ * with the requested service are evaluated for matches.
  *
  * @author Scott Battaglia
  * @since 3.1
@@ -16,27 +19,32 @@ public class DefaultServicesManager extends AbstractServicesManager {
 
     private Set<RegisteredService> orderedServices = new ConcurrentSkipListSet<>();
 
+    private volatile RegisteredServiceLiteralPrefixIndex serviceIndex = new RegisteredServiceLiteralPrefixIndex(orderedServices);
+
     public DefaultServicesManager(final ServiceRegistry serviceRegistry, final ApplicationEventPublisher eventPublisher, final Set<String> environments) {
         super(serviceRegistry, eventPublisher, environments);
     }
 
     @Override
     protected Collection<RegisteredService> getCandidateServicesToMatch(final String serviceId) {
-        return this.orderedServices;
+        return this.serviceIndex.getCandidates(serviceId);
     }
 
     @Override
     protected void deleteInternal(final RegisteredService service) {
         this.orderedServices.remove(service);
+        this.serviceIndex = new RegisteredServiceLiteralPrefixIndex(this.orderedServices);
     }
 
     @Override
     protected void saveInternal(final RegisteredService service) {
         this.orderedServices = new ConcurrentSkipListSet<>(getAllServices());
+        this.serviceIndex = new RegisteredServiceLiteralPrefixIndex(this.orderedServices);
     }
 
     @Override
     protected void loadInternal() {
         this.orderedServices = new ConcurrentSkipListSet<>(getAllServices());
+        this.serviceIndex = new RegisteredServiceLiteralPrefixIndex(this.orderedServices);
     }
 }
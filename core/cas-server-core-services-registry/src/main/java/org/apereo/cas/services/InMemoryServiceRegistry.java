@@ -11,6 +11,7 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 /**
@@ -24,6 +25,8 @@ public class InMemoryServiceRegistry extends AbstractServiceRegistry {
 
     private final List<RegisteredService> registeredServices;
 
+    private final AtomicLong revision = new AtomicLong();
+
     public InMemoryServiceRegistry(final ApplicationEventPublisher eventPublisher) {
         this(eventPublisher, new ArrayList<>(), new ArrayList<>());
     }
@@ -37,7 +40,11 @@ public class InMemoryServiceRegistry extends AbstractServiceRegistry {
 
     @Override
     public boolean delete(final RegisteredService registeredService) {
-        return this.registeredServices.remove(registeredService);
+        val result = this.registeredServices.remove(registeredService);
+        if (result) {
+            this.revision.incrementAndGet();
+        }
+        return result;
     }
 
     @Override
@@ -70,6 +77,7 @@ public class InMemoryServiceRegistry extends AbstractServiceRegistry {
             this.registeredServices.remove(svc);
         }
         this.registeredServices.add(registeredService);
+        this.revision.incrementAndGet();
         return registeredService;
     }
 
@@ -82,6 +90,11 @@ public class InMemoryServiceRegistry extends AbstractServiceRegistry {
         return this.registeredServices.stream().map(RegisteredService::getId).max(Comparator.naturalOrder()).orElse(0L);
     }
 
+    @Override
+    public long getRevision() {
+        return this.revision.get();
+    }
+
     @Override
     public long size() {
         return registeredServices.size();
@@ -0,0 +1,123 @@
+package org.apereo.cas.services;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is {@link RegisteredServiceLiteralPrefixIndex}. Organizes registered services
+ * into a character trie keyed by the literal prefix of their service id pattern,
+ * so that only services whose literal prefix is a prefix of the requested service id are
+ * considered as candidates for regex matching. Services whose pattern does not begin with a
+ * usable literal (i.e. alternations, character classes, non-regex service types, etc)
+ * are kept at the root of the trie and are always returned as candidates.
+ * <p>
+ * The index is immutable once built; callers are expected to rebuild and swap
+ * the index whenever the collection of registered services changes.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class RegisteredServiceLiteralPrefixIndex {
+    private static final String REGEX_METACHARACTERS = ".[]()*+?{}|^$\\";
+
+    private static final String REGEX_QUANTIFIERS = "?*+{";
+
+    private final Node root = new Node();
+
+    @Getter
+    private final int size;
+
+    public RegisteredServiceLiteralPrefixIndex(final Collection<RegisteredService> services) {
+        services.forEach(this::index);
+        this.size = services.size();
+    }
+
+    /**
+     * Extract the literal prefix of the regular expression that any
+     * matching service id must begin with. The prefix is lower-cased
+     * to account for case-insensitive pattern matching.
+     *
+     * @param pattern the pattern
+     * @return the literal prefix, or an empty string if none can be determined safely.
+     */
+    public static String getLiteralPrefix(final String pattern) {
+        if (StringUtils.isBlank(pattern) || pattern.indexOf('|') >= 0) {
+            return StringUtils.EMPTY;
+        }
+        val builder = new StringBuilder(pattern.length());
+        var i = pattern.startsWith("^") ? 1 : 0;
+        while (i < pattern.length()) {
+            val c = pattern.charAt(i);
+            val lengthBeforeLiteral = builder.length();
+            if (c == '\\') {
+                if (i + 1 >= pattern.length() || Character.isLetterOrDigit(pattern.charAt(i + 1))) {
+                    break;
+                }
+                builder.append(pattern.charAt(i + 1));
+                i += 2;
+            } else if (REGEX_METACHARACTERS.indexOf(c) >= 0) {
+                break;
+            } else {
+                builder.append(toLowerCase(c));
+                i++;
+            }
+            if (i < pattern.length() && REGEX_QUANTIFIERS.indexOf(pattern.charAt(i)) >= 0) {
+                builder.setLength(lengthBeforeLiteral);
+                break;
+            }
+        }
+        return builder.toString();
+    }
+
+    private static char toLowerCase(final char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    /**
+     * Find candidate services that may match the given service id,
+     * sorted by their natural order.
+     *
+     * @param serviceId the service id
+     * @return the candidate services
+     */
+    public List<RegisteredService> getCandidates(final String serviceId) {
+        val candidates = new ArrayList<RegisteredService>(root.services);
+        var node = root;
+        for (var i = 0; i < serviceId.length() && !node.children.isEmpty(); i++) {
+            node = node.children.get(toLowerCase(serviceId.charAt(i)));
+            if (node == null) {
+                break;
+            }
+            candidates.addAll(node.services);
+        }
+        candidates.sort(null);
+        LOGGER.trace("Located [{}] candidate service(s) out of [{}] for [{}]", candidates.size(), this.size, serviceId);
+        return candidates;
+    }
+
+    private void index(final RegisteredService service) {
+        val prefix = service instanceof RegexRegisteredService
+            ? getLiteralPrefix(service.getServiceId())
+            : StringUtils.EMPTY;
+        var node = root;
+        for (var i = 0; i < prefix.length(); i++) {
+            node = node.children.computeIfAbsent(prefix.charAt(i), k -> new Node());
+        }
+        node.services.add(service);
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+
+        private final List<RegisteredService> services = new ArrayList<>(1);
+    }
+}
@@ -16,6 +16,7 @@ import org.junit.runner.RunWith;
  */
 @SelectClasses({
     ServiceRegistryInitializerTests.class,
+    RegisteredServiceLiteralPrefixIndexTests.class,
     DeleteResourceBasedRegisteredServiceWatcherTests.class,
     CreateResourceBasedRegisteredServiceWatcherTests.class,
     ModifyResourceBasedRegisteredServiceWatcherTests.class
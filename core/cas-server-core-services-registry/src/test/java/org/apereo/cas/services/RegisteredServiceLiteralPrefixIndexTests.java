@@ -0,0 +1,52 @@
+package org.apereo.cas.services;
+
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link RegisteredServiceLiteralPrefixIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class RegisteredServiceLiteralPrefixIndexTests {
+
+    private static RegexRegisteredService newService(final long id, final String serviceId, final int order) {
+        val service = new RegexRegisteredService();
+        service.setId(id);
+        service.setName("service" + id);
+        service.setServiceId(serviceId);
+        service.setEvaluationOrder(order);
+        return service;
+    }
+
+    @Test
+    public void verifyLiteralPrefix() {
+        assertEquals("https://www.example.org/", RegisteredServiceLiteralPrefixIndex.getLiteralPrefix("^https://www\\.example\\.org/.*"));
+        assertEquals("http", RegisteredServiceLiteralPrefixIndex.getLiteralPrefix("^https?://.*"));
+        assertEquals("https://app", RegisteredServiceLiteralPrefixIndex.getLiteralPrefix("https://APP.example.org"));
+        assertEquals(StringUtils.EMPTY, RegisteredServiceLiteralPrefixIndex.getLiteralPrefix("^(https|imaps)://.*"));
+        assertEquals(StringUtils.EMPTY, RegisteredServiceLiteralPrefixIndex.getLiteralPrefix("https://a.org|https://b.org"));
+        assertEquals("https://", RegisteredServiceLiteralPrefixIndex.getLiteralPrefix("https://\\w+"));
+    }
+
+    @Test
+    public void verifyCandidates() {
+        val s1 = newService(1, "^https://app1\\.example\\.org/.*", 10);
+        val s2 = newService(2, "^https://app2\\.example\\.org/.*", 5);
+        val s3 = newService(3, "^(https|imaps)://.*", 100);
+        val s4 = newService(4, "^https?://.*", 1);
+        val index = new RegisteredServiceLiteralPrefixIndex(List.of(s1, s2, s3, s4));
+        assertEquals(4, index.getSize());
+
+        val candidates = index.getCandidates("HTTPS://app1.example.org/login");
+        assertEquals(List.of(s4, s1, s3), candidates);
+        assertEquals(List.of(s3), index.getCandidates("imaps://mail.example.org"));
+        assertEquals(List.of(s4, s3), index.getCandidates("http://app2.example.org"));
+    }
+}
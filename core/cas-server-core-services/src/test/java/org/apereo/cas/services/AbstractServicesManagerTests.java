@@ -70,4 +70,43 @@ public abstract class AbstractServicesManagerTests {
         this.servicesManager.delete(r);
         assertNull(this.servicesManager.findServiceBy(r.getId()));
     }
+
+    @Test
+    public void verifyLoadIfModified() {
+        val r = new RegexRegisteredService();
+        r.setId(3000);
+        r.setName(TEST);
+        r.setServiceId("https://app.example.org");
+        this.serviceRegistry.save(r);
+        assertNull(this.servicesManager.findServiceBy(r.getId()));
+
+        this.servicesManager.loadIfModified();
+        assertNotNull(this.servicesManager.findServiceBy(r.getId()));
+        assertNotNull(this.servicesManager.findServiceBy("https://app.example.org"));
+
+        this.serviceRegistry.delete(r);
+        this.servicesManager.loadIfModified();
+        assertNull(this.servicesManager.findServiceBy(r.getId()));
+        assertEquals(this.serviceRegistry.size(), this.servicesManager.loadIfModified().size());
+    }
+
+    @Test
+    public void verifyFindServiceByKey() {
+        val r = new RegexRegisteredService();
+        r.setId(4000);
+        r.setName(TEST);
+        r.setServiceId("https://keyed.example.org");
+        assertNull(this.servicesManager.findServiceByKey(r.getServiceId(), RegexRegisteredService.class,
+            TEST, RegexRegisteredService::getServiceId));
+
+        this.servicesManager.save(r);
+        assertEquals(r, this.servicesManager.findServiceByKey(r.getServiceId(), RegexRegisteredService.class,
+            TEST, RegexRegisteredService::getServiceId));
+        assertTrue(this.servicesManager.getAllServicesOfType(RegexRegisteredService.class).contains(r));
+
+        this.servicesManager.delete(r);
+        assertNull(this.servicesManager.findServiceByKey(r.getServiceId(), RegexRegisteredService.class,
+            TEST, RegexRegisteredService::getServiceId));
+        assertFalse(this.servicesManager.getAllServicesOfType(RegexRegisteredService.class).contains(r));
+    }
 }
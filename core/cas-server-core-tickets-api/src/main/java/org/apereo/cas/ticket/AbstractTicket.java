@@ -97,6 +97,14 @@ public abstract class AbstractTicket implements Ticket, TicketState {
     @Column(name = "EXPIRED", nullable = false)
     private Boolean expired = Boolean.FALSE;
 
+    /**
+     * The earliest instant, in epoch millis, at which the ticket could expire,
+     * as projected by the ticket registry when the ticket was last stored.
+     */
+    @Column(name = "EXPIRATION_TIME")
+    @JsonIgnore
+    @Getter
+    private Long expirationTime;
 
     public AbstractTicket(final String id, final ExpirationPolicy expirationPolicy) {
         this.id = id;
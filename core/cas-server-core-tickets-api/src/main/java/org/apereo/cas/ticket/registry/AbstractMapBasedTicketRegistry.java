@@ -1,6 +1,8 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.util.crypto.CipherExecutor;
 
 import lombok.NoArgsConstructor;
@@ -9,9 +11,19 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This is {@link AbstractMapBasedTicketRegistry}.
@@ -23,6 +35,31 @@ import java.util.function.Predicate;
 @NoArgsConstructor
 public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegistry {
 
+    /**
+     * Secondary index of ticket-granting ticket ids keyed by principal id.
+     */
+    private final Map<String, Set<String>> sessionsByPrincipal = new ConcurrentHashMap<>();
+
+    /**
+     * Reverse index of principal ids keyed by ticket-granting ticket id.
+     */
+    private final Map<String, String> principalsBySession = new ConcurrentHashMap<>();
+
+    /**
+     * Index of ticket ids keyed by their projected expiration.
+     */
+    private final TicketExpirationIndex expirationIndex = new TicketExpirationIndex();
+
+    /**
+     * Number of ticket-granting tickets held by the map.
+     */
+    private final LongAdder sessionCounter = new LongAdder();
+
+    /**
+     * Number of service tickets held by the map.
+     */
+    private final LongAdder serviceTicketCounter = new LongAdder();
+
     /**
      * Creates a new, empty registry with the cipher.
      *
@@ -36,7 +73,13 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
     public void addTicket(final @NonNull Ticket ticket) {
         val encTicket = encodeTicket(ticket);
         LOGGER.debug("Added ticket [{}] to registry.", ticket.getId());
-        getMapInstance().put(encTicket.getId(), encTicket);
+        if (getMapInstance().put(encTicket.getId(), encTicket) == null) {
+            updateTicketCount(ticket.getId(), 1);
+        }
+        this.expirationIndex.add(ticket);
+        if (ticket instanceof TicketGrantingTicket) {
+            addSessionToIndex((TicketGrantingTicket) ticket);
+        }
     }
 
     @Override
@@ -63,16 +106,185 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         val encTicketId = encodeTicketId(ticketId);
-        return !StringUtils.isBlank(encTicketId) && getMapInstance().remove(encTicketId) != null;
+        val removed = StringUtils.isBlank(encTicketId) ? null : getMapInstance().remove(encTicketId);
+        if (removed != null) {
+            updateTicketCount(ticketId, -1);
+        }
+        removeSessionFromIndex(ticketId);
+        this.expirationIndex.remove(ticketId);
+        return removed != null;
+    }
+
+    /**
+     * Consume the ticket while its entry in the map is held, so that concurrent
+     * consumers of the same ticket observe each other's use of the ticket.
+     * Maps whose {@link Map#computeIfPresent} is not atomic offer no such guarantee.
+     *
+     * @param ticket the ticket
+     * @return true/false
+     */
+    @Override
+    public boolean consumeTicket(final Ticket ticket) {
+        val encTicketId = encodeTicketId(ticket.getId());
+        if (StringUtils.isBlank(encTicketId)) {
+            return false;
+        }
+        val consumed = new AtomicReference<Ticket>();
+        val usedUp = new AtomicBoolean();
+        getMapInstance().computeIfPresent(encTicketId, (id, stored) -> {
+            val current = decodeTicket(stored);
+            if (!(current instanceof TicketState) || current.isExpired()) {
+                return stored;
+            }
+            ((TicketState) current).update();
+            consumed.set(current);
+            usedUp.set(current.isExpired());
+            return usedUp.get() ? null : encodeTicket(current);
+        });
+        val result = consumed.get();
+        if (result == null) {
+            LOGGER.debug("Ticket [{}] could not be consumed; it may have been used up or removed", ticket.getId());
+            return false;
+        }
+        if (usedUp.get()) {
+            LOGGER.debug("Ticket [{}] is used up and is removed from the registry", ticket.getId());
+            updateTicketCount(ticket.getId(), -1);
+            this.expirationIndex.remove(ticket.getId());
+        } else {
+            this.expirationIndex.add(result);
+        }
+        return true;
     }
 
     @Override
     public long deleteAll() {
         val size = getMapInstance().size();
         getMapInstance().clear();
+        this.sessionsByPrincipal.clear();
+        this.principalsBySession.clear();
+        this.expirationIndex.clear();
+        this.sessionCounter.reset();
+        this.serviceTicketCounter.reset();
         return size;
     }
 
+    @Override
+    public long sessionCount() {
+        return this.sessionCounter.sum();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return this.serviceTicketCounter.sum();
+    }
+
+    /**
+     * Gets expired tickets from the expiration index.
+     * Only tickets whose projected expiration has passed are examined;
+     * those found to be still valid are indexed again.
+     *
+     * @return the expired tickets
+     */
+    @Override
+    public Stream<? extends Ticket> getExpiredTickets() {
+        val dueTicketIds = this.expirationIndex.poll();
+        val expiredTickets = dueTicketIds
+            .stream()
+            .map(ticketId -> getMapInstance().get(encodeTicketId(ticketId)))
+            .filter(Objects::nonNull)
+            .map(this::decodeTicket)
+            .filter(Objects::nonNull)
+            .filter(ticket -> {
+                if (ticket.isExpired()) {
+                    return true;
+                }
+                this.expirationIndex.add(ticket);
+                return false;
+            })
+            .collect(Collectors.toList());
+        LOGGER.debug("Examined [{}] ticket(s) due for expiration and found [{}] expired ticket(s)", dueTicketIds.size(), expiredTickets.size());
+        return expiredTickets.stream();
+    }
+
+    /**
+     * Gets sessions for the principal from the secondary index.
+     * Indexed tickets that are no longer found in the map, i.e. because
+     * they have expired or have been evicted, are removed from the index.
+     *
+     * @param principalId the principal id
+     * @return the sessions
+     */
+    @Override
+    public Stream<? extends TicketGrantingTicket> getSessionsFor(final String principalId) {
+        if (StringUtils.isBlank(principalId)) {
+            return Stream.empty();
+        }
+        val ticketIds = this.sessionsByPrincipal.get(principalId.toLowerCase(Locale.ROOT));
+        if (ticketIds == null) {
+            return Stream.empty();
+        }
+        return new ArrayList<>(ticketIds)
+            .stream()
+            .map(ticketId -> {
+                val ticket = getTicket(ticketId);
+                if (ticket == null) {
+                    removeSessionFromIndex(ticketId);
+                }
+                return ticket;
+            })
+            .filter(Objects::nonNull)
+            .map(TicketGrantingTicket.class::cast);
+    }
+
+    /**
+     * Account for a ticket that was removed from the map by the underlying store itself,
+     * i.e. as a result of eviction, rather than by this registry.
+     * The ticket is dropped from the counters as well as from the principal and expiration indexes.
+     *
+     * @param ticket the ticket, as stored in the map
+     */
+    protected void onTicketEvicted(final Ticket ticket) {
+        val decoded = decodeTicket(ticket);
+        if (decoded == null) {
+            return;
+        }
+        updateTicketCount(decoded.getId(), -1);
+        removeSessionFromIndex(decoded.getId());
+        this.expirationIndex.remove(decoded.getId());
+    }
+
+    private void updateTicketCount(final String ticketId, final int delta) {
+        if (isTicketGrantingTicketId(ticketId)) {
+            this.sessionCounter.add(delta);
+        } else if (isServiceTicketId(ticketId)) {
+            this.serviceTicketCounter.add(delta);
+        }
+    }
+
+    private void addSessionToIndex(final TicketGrantingTicket ticket) {
+        val authentication = ticket.getAuthentication();
+        if (authentication == null || authentication.getPrincipal() == null) {
+            return;
+        }
+        val principalId = authentication.getPrincipal().getId().toLowerCase(Locale.ROOT);
+        this.principalsBySession.put(ticket.getId(), principalId);
+        this.sessionsByPrincipal.compute(principalId, (k, ids) -> {
+            val sessions = ids == null ? ConcurrentHashMap.<String>newKeySet() : ids;
+            sessions.add(ticket.getId());
+            return sessions;
+        });
+    }
+
+    private void removeSessionFromIndex(final String ticketId) {
+        val principalId = this.principalsBySession.remove(ticketId);
+        if (principalId != null) {
+            this.sessionsByPrincipal.computeIfPresent(principalId, (k, ids) -> {
+                ids.remove(ticketId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
     @Override
     public Collection<? extends Ticket> getTickets() {
         return decodeTickets(getMapInstance().values());
@@ -3,11 +3,15 @@ package org.apereo.cas.ticket.registry;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+import org.apereo.cas.ticket.proxy.ProxyTicket;
 import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.serialization.SerializationUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.io.ByteSource;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
@@ -15,11 +19,13 @@ import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -38,11 +44,49 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     private static final String MESSAGE = "Ticket encryption is not enabled. Falling back to default behavior";
 
+    private static final long TICKET_ID_DIGEST_CACHE_SIZE = 10_000;
+
     /**
      * The cipher executor for ticket objects.
      */
     protected CipherExecutor cipherExecutor;
 
+    /**
+     * Optional cache of decoded tickets, used when the cipher executor is enabled.
+     */
+    protected DecodedTicketCache decodedTicketCache;
+
+    /**
+     * Memoized digests of ticket ids, used when the cipher executor is enabled.
+     */
+    private final Cache<String, String> ticketIdDigests = Caffeine.newBuilder()
+        .maximumSize(TICKET_ID_DIGEST_CACHE_SIZE)
+        .build();
+
+    /**
+     * Whether the ticket id is that of a ticket-granting or proxy-granting ticket,
+     * as told by its prefix, without having to fetch or decode the ticket.
+     *
+     * @param ticketId the ticket id, as issued
+     * @return true/false
+     */
+    protected static boolean isTicketGrantingTicketId(final String ticketId) {
+        return StringUtils.startsWithAny(ticketId, TicketGrantingTicket.PREFIX + UniqueTicketIdGenerator.SEPARATOR,
+            ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX + UniqueTicketIdGenerator.SEPARATOR);
+    }
+
+    /**
+     * Whether the ticket id is that of a service or proxy ticket,
+     * as told by its prefix, without having to fetch or decode the ticket.
+     *
+     * @param ticketId the ticket id, as issued
+     * @return true/false
+     */
+    protected static boolean isServiceTicketId(final String ticketId) {
+        return StringUtils.startsWithAny(ticketId, ServiceTicket.PREFIX + UniqueTicketIdGenerator.SEPARATOR,
+            ProxyTicket.PROXY_TICKET_PREFIX + UniqueTicketIdGenerator.SEPARATOR);
+    }
+
     @Override
     public Ticket getTicket(final String ticketId) {
         return getTicket(ticketId, ticket -> {
@@ -120,27 +164,49 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         if (deleteSingleTicket(ticket.getId())) {
             count.incrementAndGet();
         }
+        if (this.decodedTicketCache != null) {
+            this.decodedTicketCache.invalidate(encodeTicketId(ticket.getId()));
+        }
         return count.intValue();
     }
 
-    /**
-     * Delete tickets.
-     *
-     * @param tickets the tickets
-     * @return the total number of deleted tickets
-     */
-    protected int deleteTickets(final Set<String> tickets) {
-        return deleteTickets(tickets.stream());
+    @Override
+    public int deleteTickets(final Collection<String> ticketIds) {
+        val tickets = new ArrayList<Ticket>(ticketIds.size());
+        ticketIds.stream()
+            .filter(StringUtils::isNotBlank)
+            .forEach(ticketId -> {
+                val ticket = getTicket(ticketId, Objects::nonNull);
+                if (ticket != null) {
+                    tickets.add(ticket);
+                } else {
+                    LOGGER.debug("Ticket [{}] could not be fetched from the registry; it may have been expired and deleted.", ticketId);
+                }
+            });
+        return deleteTicketsInBatch(tickets);
     }
 
-    /**
-     * Delete tickets.
-     *
-     * @param tickets the tickets
-     * @return the total number of deleted tickets
-     */
-    protected int deleteTickets(final Stream<String> tickets) {
-        return tickets.mapToInt(this::deleteTicket).sum();
+    @Override
+    public int deleteTicketsInBatch(final Collection<? extends Ticket> tickets) {
+        val count = new AtomicInteger(0);
+        val singleTicketIds = new ArrayList<String>(tickets.size());
+        tickets.stream()
+            .filter(Objects::nonNull)
+            .forEach(ticket -> {
+                if (ticket instanceof TicketGrantingTicket) {
+                    count.addAndGet(deleteTicket(ticket));
+                } else {
+                    singleTicketIds.add(ticket.getId());
+                }
+            });
+        if (!singleTicketIds.isEmpty()) {
+            LOGGER.debug("Removing [{}] ticket(s) from the registry in bulk", singleTicketIds.size());
+            count.addAndGet(deleteSingleTickets(singleTicketIds));
+            if (this.decodedTicketCache != null) {
+                singleTicketIds.forEach(ticketId -> this.decodedTicketCache.invalidate(encodeTicketId(ticketId)));
+            }
+        }
+        return count.intValue();
     }
 
     private void deleteLinkedProxyGrantingTickets(final AtomicInteger count, final TicketGrantingTicket tgt) {
@@ -166,19 +232,13 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      * @return the count of tickets that were removed including child tickets and zero if the ticket was not deleted
      */
     protected int deleteChildren(final TicketGrantingTicket ticket) {
-        val count = new AtomicInteger(0);
         val services = ticket.getServices();
-        if (services != null && !services.isEmpty()) {
-            services.keySet().forEach(ticketId -> {
-                if (deleteSingleTicket(ticketId)) {
-                    LOGGER.debug("Removed ticket [{}]", ticketId);
-                    count.incrementAndGet();
-                } else {
-                    LOGGER.debug("Unable to remove ticket [{}]", ticketId);
-                }
-            });
+        if (services == null || services.isEmpty()) {
+            return 0;
         }
-        return count.intValue();
+        val count = deleteSingleTickets(new ArrayList<>(services.keySet()));
+        LOGGER.debug("Removed [{}] of [{}] service ticket(s) linked to [{}]", count, services.size(), ticket.getId());
+        return count;
     }
 
     /**
@@ -189,6 +249,18 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      */
     public abstract boolean deleteSingleTicket(String ticketId);
 
+    /**
+     * Delete a collection of ticket instances from the store, without
+     * looking up or removing their children. Registries backed by remote
+     * stores should override this to remove tickets in as few round-trips as possible.
+     *
+     * @param ticketIds the ticket ids
+     * @return the number of tickets deleted
+     */
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        return (int) ticketIds.stream().filter(this::deleteSingleTicket).count();
+    }
+
     /**
      * Encode ticket id into a SHA-512.
      *
@@ -203,7 +275,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         if (StringUtils.isBlank(ticketId)) {
             return ticketId;
         }
-        val encodedId = DigestUtils.sha512(ticketId);
+        val encodedId = this.ticketIdDigests.get(ticketId, DigestUtils::sha512);
         LOGGER.debug("Encoded original ticket id [{}] to [{}]", ticketId, encodedId);
         return encodedId;
     }
@@ -225,10 +297,14 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
             return null;
         }
         LOGGER.debug("Encoding ticket [{}]", ticket);
-        val encodedTicketObject = SerializationUtils.serializeAndEncodeObject(this.cipherExecutor, ticket);
+        val serializedTicket = SerializationUtils.serialize(ticket);
+        val encodedTicketObject = (byte[]) this.cipherExecutor.encode(serializedTicket, ArrayUtils.EMPTY_OBJECT_ARRAY);
         val encodedTicketId = encodeTicketId(ticket.getId());
         val encodedTicket = new EncodedTicket(encodedTicketId, ByteSource.wrap(encodedTicketObject).read());
         LOGGER.debug("Created encoded ticket [{}]", encodedTicket);
+        if (this.decodedTicketCache != null) {
+            this.decodedTicketCache.put(encodedTicket, serializedTicket);
+        }
         return encodedTicket;
     }
 
@@ -254,8 +330,18 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         }
         LOGGER.debug("Attempting to decode [{}]", result);
         val encodedTicket = (EncodedTicket) result;
-        val ticket = SerializationUtils.decodeAndDeserializeObject(encodedTicket.getEncodedTicket(), this.cipherExecutor, Ticket.class);
+        if (this.decodedTicketCache != null) {
+            val cached = this.decodedTicketCache.get(encodedTicket);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        val serializedTicket = (byte[]) this.cipherExecutor.decode(encodedTicket.getEncodedTicket(), ArrayUtils.EMPTY_OBJECT_ARRAY);
+        val ticket = SerializationUtils.deserializeAndCheckObject(serializedTicket, Ticket.class);
         LOGGER.debug("Decoded ticket to [{}]", ticket);
+        if (this.decodedTicketCache != null) {
+            this.decodedTicketCache.put(encodedTicket, serializedTicket);
+        }
         return ticket;
     }
 
@@ -0,0 +1,86 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * This is {@link DecodedTicketCache}, a bounded per-node cache of decoded tickets
+ * keyed by their encoded ticket id. Each entry remembers the encoded content it corresponds to,
+ * and is only handed out when the encoded ticket fetched from the registry carries identical content;
+ * changes made to the ticket by other nodes are therefore never masked by the cache.
+ * Tickets are kept in their serialized, decrypted form and every lookup produces a new ticket instance,
+ * so that callers never share or modify the state of a cached ticket.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class DecodedTicketCache {
+    private final Cache<String, DecodedTicket> cache;
+
+    public DecodedTicketCache(final long maximumSize, final Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .build();
+    }
+
+    /**
+     * Get a new copy of the decoded ticket for the given encoded ticket, if one is cached for the same content.
+     *
+     * @param encodedTicket the encoded ticket
+     * @return the decoded ticket, or null
+     */
+    public Ticket get(final EncodedTicket encodedTicket) {
+        val decoded = this.cache.getIfPresent(encodedTicket.getId());
+        if (decoded != null && Arrays.equals(decoded.getEncodedContent(), encodedTicket.getEncodedTicket())) {
+            LOGGER.trace("Located decoded ticket for [{}] in the cache", encodedTicket.getId());
+            return SerializationUtils.deserializeAndCheckObject(decoded.getSerializedTicket(), Ticket.class);
+        }
+        return null;
+    }
+
+    /**
+     * Cache the serialized form of the decoded ticket for the given encoded ticket.
+     *
+     * @param encodedTicket    the encoded ticket
+     * @param serializedTicket the serialized decoded ticket
+     */
+    public void put(final EncodedTicket encodedTicket, final byte[] serializedTicket) {
+        this.cache.put(encodedTicket.getId(), new DecodedTicket(encodedTicket.getEncodedTicket(), serializedTicket));
+    }
+
+    /**
+     * Remove the decoded ticket from the cache.
+     *
+     * @param encodedTicketId the encoded ticket id
+     */
+    public void invalidate(final String encodedTicketId) {
+        this.cache.invalidate(encodedTicketId);
+    }
+
+    /**
+     * Remove all decoded tickets from the cache.
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    private static class DecodedTicket {
+        private final byte[] encodedContent;
+
+        private final byte[] serializedTicket;
+    }
+}
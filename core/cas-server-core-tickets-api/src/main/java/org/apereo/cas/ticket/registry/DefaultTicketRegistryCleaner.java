@@ -5,28 +5,69 @@ import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.registry.support.LockingStrategy;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * This is {@link DefaultTicketRegistryCleaner}.
+ * This is {@link DefaultTicketRegistryCleaner}. When cleanup runs in parallel, expired ticket-granting tickets
+ * are handed over in chunks of the batch size to a pool of worker threads that lives as long as the cleaner,
+ * and each chunk is completed before the next one is submitted.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
  */
 @Transactional(transactionManager = "ticketTransactionManager")
 @Slf4j
-@RequiredArgsConstructor
-public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Serializable {
+public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Serializable, DisposableBean {
     private static final long serialVersionUID = -8581398063126547772L;
 
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
     private final transient LockingStrategy lockingStrategy;
     private final transient LogoutManager logoutManager;
     private final transient TicketRegistry ticketRegistry;
+    private final int parallelism;
+    private final int batchSize;
+    private final transient ExecutorService executor;
+
+    public DefaultTicketRegistryCleaner(final LockingStrategy lockingStrategy, final LogoutManager logoutManager,
+                                        final TicketRegistry ticketRegistry) {
+        this(lockingStrategy, logoutManager, ticketRegistry, 1, DEFAULT_BATCH_SIZE);
+    }
+
+    public DefaultTicketRegistryCleaner(final LockingStrategy lockingStrategy, final LogoutManager logoutManager,
+                                        final TicketRegistry ticketRegistry, final int parallelism, final int batchSize) {
+        this.lockingStrategy = lockingStrategy;
+        this.logoutManager = logoutManager;
+        this.ticketRegistry = ticketRegistry;
+        this.parallelism = parallelism;
+        this.batchSize = Math.max(batchSize, 1);
+        this.executor = parallelism > 1 ? newExecutor(parallelism, this.batchSize) : null;
+    }
+
+    private static ExecutorService newExecutor(final int parallelism, final int batchSize) {
+        val threadFactory = new BasicThreadFactory.Builder()
+            .namingPattern("cas-ticket-registry-cleaner-%d")
+            .daemon(true)
+            .build();
+        return new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(batchSize), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
 
     @Override
     public int clean() {
@@ -54,17 +95,62 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Seri
     }
 
     /**
-     * Clean tickets.
+     * Clean tickets. Expired ticket-granting tickets are logged out and removed individually,
+     * concurrently if so configured, while all other expired tickets are removed in batches.
      *
      * @return the int
      */
     protected int cleanInternal() {
-        try (val expiredTickets = ticketRegistry.getTicketsStream().filter(Ticket::isExpired)) {
-            val ticketsDeleted = expiredTickets
-                .mapToInt(this::cleanTicket)
-                .sum();
-            LOGGER.info("[{}] expired tickets removed.", ticketsDeleted);
-            return ticketsDeleted;
+        try (val expiredTickets = ticketRegistry.getExpiredTickets()) {
+            val ticketsExpired = new AtomicInteger();
+            val ticketsDeleted = new AtomicInteger();
+            val sessions = new ArrayList<Future<Integer>>(this.batchSize);
+            val batch = new ArrayList<Ticket>(this.batchSize);
+            expiredTickets.forEach(ticket -> {
+                ticketsExpired.incrementAndGet();
+                if (ticket instanceof TicketGrantingTicket) {
+                    if (this.executor == null) {
+                        ticketsDeleted.addAndGet(cleanTicket(ticket));
+                    } else {
+                        sessions.add(this.executor.submit(() -> cleanTicket(ticket)));
+                        if (sessions.size() >= this.batchSize) {
+                            ticketsDeleted.addAndGet(drainCleanedTicketCount(sessions));
+                        }
+                    }
+                } else {
+                    batch.add(ticket);
+                    if (batch.size() >= this.batchSize) {
+                        ticketsDeleted.addAndGet(cleanTickets(batch));
+                        batch.clear();
+                    }
+                }
+            });
+            ticketsDeleted.addAndGet(cleanTickets(batch));
+            ticketsDeleted.addAndGet(drainCleanedTicketCount(sessions));
+            LOGGER.info("[{}] expired tickets found; [{}] tickets removed.", ticketsExpired.get(), ticketsDeleted.get());
+            return ticketsDeleted.get();
+        }
+    }
+
+    /**
+     * Remove a batch of expired tickets that do not require a logout.
+     *
+     * @param tickets the tickets
+     * @return the number of tickets removed
+     */
+    protected int cleanTickets(final Collection<? extends Ticket> tickets) {
+        if (tickets.isEmpty()) {
+            return 0;
+        }
+        LOGGER.debug("Cleaning up [{}] expired ticket(s)", tickets.size());
+        return ticketRegistry.deleteTicketsInBatch(tickets);
+    }
+
+    @Override
+    public void destroy() {
+        if (this.executor != null) {
+            LOGGER.debug("Shutting down ticket registry cleaner workers");
+            this.executor.shutdownNow();
         }
     }
 
@@ -88,4 +174,22 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Seri
     protected boolean isCleanerSupported() {
         return true;
     }
+
+    private static int drainCleanedTicketCount(final List<Future<Integer>> sessions) {
+        val count = sessions.stream().mapToInt(DefaultTicketRegistryCleaner::getCleanedTicketCount).sum();
+        sessions.clear();
+        return count;
+    }
+
+    private static int getCleanedTicketCount(final Future<Integer> session) {
+        try {
+            return session.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while cleaning up expired ticket-granting tickets");
+        } catch (final ExecutionException e) {
+            LOGGER.error(e.getCause().getMessage(), e.getCause());
+        }
+        return 0;
+    }
 }
@@ -8,10 +8,10 @@ import org.apereo.cas.util.EncodingUtils;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +20,7 @@ import org.apache.commons.lang3.StringUtils;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.persistence.Table;
 
@@ -37,9 +38,8 @@ import java.time.ZonedDateTime;
 @Getter
 @NoArgsConstructor
 @EqualsAndHashCode(of = "id")
-@AllArgsConstructor
 @Entity
-@Table(name = "ENCODEDTICKET")
+@Table(name = "ENCODEDTICKET", indexes = @Index(name = "IDX_ENCODEDTICKET_EXPIRATION", columnList = "EXPIRATION_TIME"))
 public class EncodedTicket implements Ticket {
 
     private static final long serialVersionUID = -7078771807487764116L;
@@ -52,6 +52,19 @@ public class EncodedTicket implements Ticket {
     @Column(name = "ENCODED_TICKET", length = Integer.MAX_VALUE, nullable = false)
     private byte[] encodedTicket;
 
+    /**
+     * The earliest instant, in epoch millis, at which the decoded ticket could expire.
+     */
+    @Column(name = "EXPIRATION_TIME")
+    @JsonIgnore
+    @Setter
+    private Long expirationTime;
+
+    public EncodedTicket(final String id, final byte[] encodedTicket) {
+        this.id = id;
+        this.encodedTicket = encodedTicket;
+    }
+
     /**
      * Instantiates a new Encoded ticket.
      *
@@ -0,0 +1,154 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketState;
+import org.apereo.cas.ticket.expiration.ThrottledUseAndTimeoutExpirationPolicy;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * This is {@link TicketExpirationIndex}, which organizes ticket ids into time buckets
+ * based on the earliest instant at which each ticket could possibly expire.
+ * The projection is calculated at the time the ticket is indexed, as the earlier of the creation time
+ * of the ticket plus the time-to-live, and the last time the ticket was used plus the time-to-idle,
+ * as reported by the ticket's expiration policy.
+ * The time-to-idle of {@link ThrottledUseAndTimeoutExpirationPolicy} is the interval enforced between uses
+ * rather than an idle timeout, and is therefore not considered.
+ * Tickets are expected to be indexed again whenever they are updated so that sliding
+ * expiration windows are reflected in the projection.
+ * <p>
+ * Callers are to poll tickets that are due and check their actual expiration status;
+ * tickets that turn out to be still valid should be indexed again.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class TicketExpirationIndex {
+    private static final long BUCKET_SIZE_IN_MILLIS = 10_000;
+
+    private final TreeMap<Long, Set<String>> buckets = new TreeMap<>();
+
+    private final Map<String, Long> bucketsByTicket = new HashMap<>();
+
+    /**
+     * Calculate the earliest instant, in epoch millis, at which the ticket could expire.
+     * Tickets that have already expired, or whose expiration policy reports no positive timeout, are due immediately.
+     *
+     * @param ticket the ticket
+     * @param now    the current time in epoch millis
+     * @return the projected expiration
+     */
+    public static long getProjectedExpiration(final Ticket ticket, final long now) {
+        val policy = ticket.getExpirationPolicy();
+        if (policy == null || ticket.isExpired()) {
+            return now;
+        }
+        val timeToLive = ticket instanceof TicketState
+            ? policy.getTimeToLive((TicketState) ticket)
+            : policy.getTimeToLive();
+        val timeToIdle = policy instanceof ThrottledUseAndTimeoutExpirationPolicy ? null : policy.getTimeToIdle();
+        val creationTime = getEpochMillis(ticket.getCreationTime(), now);
+        val lastTimeUsed = ticket instanceof TicketState
+            ? getEpochMillis(((TicketState) ticket).getLastTimeUsed(), creationTime)
+            : creationTime;
+        return LongStream.of(getExpiration(creationTime, timeToLive), getExpiration(lastTimeUsed, timeToIdle))
+            .filter(expiration -> expiration >= 0)
+            .min()
+            .orElse(now);
+    }
+
+    private static long getEpochMillis(final ZonedDateTime time, final long defaultValue) {
+        return time != null ? time.toInstant().toEpochMilli() : defaultValue;
+    }
+
+    private static long getExpiration(final long start, final Long timeout) {
+        if (timeout == null || timeout <= 0) {
+            return -1;
+        }
+        val timeoutInMillis = timeout > TimeUnit.MILLISECONDS.toSeconds(Long.MAX_VALUE) ? Long.MAX_VALUE : TimeUnit.SECONDS.toMillis(timeout);
+        return timeoutInMillis > Long.MAX_VALUE - start ? Long.MAX_VALUE : start + timeoutInMillis;
+    }
+
+    /**
+     * Index the ticket, replacing any previous projection.
+     *
+     * @param ticket the ticket
+     */
+    public void add(final Ticket ticket) {
+        val bucket = getProjectedExpiration(ticket, System.currentTimeMillis()) / BUCKET_SIZE_IN_MILLIS;
+        synchronized (this) {
+            removeFromBucket(ticket.getId());
+            this.buckets.computeIfAbsent(bucket, k -> new LinkedHashSet<>()).add(ticket.getId());
+            this.bucketsByTicket.put(ticket.getId(), bucket);
+        }
+    }
+
+    /**
+     * Remove the ticket from the index.
+     *
+     * @param ticketId the ticket id
+     */
+    public synchronized void remove(final String ticketId) {
+        removeFromBucket(ticketId);
+    }
+
+    /**
+     * Remove and return the ids of all tickets whose projected expiration has passed.
+     *
+     * @return the ticket ids
+     */
+    public synchronized List<String> poll() {
+        val currentBucket = System.currentTimeMillis() / BUCKET_SIZE_IN_MILLIS;
+        val due = this.buckets.headMap(currentBucket, true);
+        val ticketIds = new ArrayList<String>();
+        due.values().forEach(ticketIds::addAll);
+        due.clear();
+        ticketIds.forEach(this.bucketsByTicket::remove);
+        LOGGER.trace("Found [{}] ticket(s) due for expiration out of [{}] indexed tickets", ticketIds.size(),
+            ticketIds.size() + this.bucketsByTicket.size());
+        return ticketIds;
+    }
+
+    /**
+     * Remove all tickets from the index.
+     */
+    public synchronized void clear() {
+        this.buckets.clear();
+        this.bucketsByTicket.clear();
+    }
+
+    /**
+     * Count the number of indexed tickets.
+     *
+     * @return the count
+     */
+    public synchronized int size() {
+        return this.bucketsByTicket.size();
+    }
+
+    private void removeFromBucket(final String ticketId) {
+        val previous = this.bucketsByTicket.remove(ticketId);
+        if (previous != null) {
+            val ids = this.buckets.get(previous);
+            if (ids != null) {
+                ids.remove(ticketId);
+                if (ids.isEmpty()) {
+                    this.buckets.remove(previous);
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package org.apereo.cas.util;
 
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCoreProperties;
 import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.ticket.registry.DecodedTicketCache;
 import org.apereo.cas.util.cipher.DefaultTicketCipherExecutor;
 import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.function.FunctionUtils;
@@ -71,4 +74,18 @@ public class CoreTicketUtils {
         return CipherExecutor.noOp();
     }
 
+    /**
+     * New decoded ticket cache, or null if the cache is turned off.
+     *
+     * @param core the core ticket registry settings
+     * @return the decoded ticket cache
+     */
+    public static DecodedTicketCache newDecodedTicketCache(final TicketRegistryCoreProperties core) {
+        if (core.getDecodedTicketCacheSize() <= 0) {
+            LOGGER.trace("Decoded ticket cache is turned off");
+            return null;
+        }
+        LOGGER.debug("Decoded ticket cache is enabled with a maximum size of [{}]", core.getDecodedTicketCacheSize());
+        return new DecodedTicketCache(core.getDecodedTicketCacheSize(), Beans.newDuration(core.getDecodedTicketCacheTimeToLive()));
+    }
 }
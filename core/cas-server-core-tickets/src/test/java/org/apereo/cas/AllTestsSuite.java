@@ -19,9 +19,11 @@ import org.apereo.cas.ticket.factory.DefaultServiceTicketFactoryTests;
 import org.apereo.cas.ticket.proxy.support.Cas10ProxyHandlerTests;
 import org.apereo.cas.ticket.proxy.support.Cas20ProxyHandlerTests;
 import org.apereo.cas.ticket.registry.CachingTicketRegistryTests;
+import org.apereo.cas.ticket.registry.DecodedTicketCacheTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleanerTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryTests;
 import org.apereo.cas.ticket.registry.DistributedTicketRegistryTests;
+import org.apereo.cas.ticket.registry.TicketExpirationIndexTests;
 import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManagerTests;
 import org.apereo.cas.util.DefaultUniqueTicketIdGeneratorTests;
 import org.apereo.cas.util.TicketEncryptionDecryptionTests;
@@ -61,7 +63,9 @@ import org.junit.runner.RunWith;
     DefaultTicketRegistryCleanerTests.class,
     TicketSerializersTests.class,
     Cas20ProxyHandlerTests.class,
-    DefaultTicketCatalogTests.class
+    DefaultTicketCatalogTests.class,
+    DecodedTicketCacheTests.class,
+    TicketExpirationIndexTests.class
 })
 @RunWith(JUnitPlatform.class)
 public class AllTestsSuite {
@@ -15,7 +15,9 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.TransientSessionTicket;
 import org.apereo.cas.ticket.TransientSessionTicketImpl;
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
 import org.apereo.cas.ticket.expiration.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.expiration.MultiTimeUseOrTimeoutExpirationPolicy;
 import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.util.CollectionUtils;
@@ -38,6 +40,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -288,9 +291,9 @@ public abstract class BaseTicketRegistryTests {
         for (int i = 0; i < TICKETS_IN_REGISTRY; i++) {
             val a = CoreAuthenticationTestUtils.getAuthentication();
             val s = RegisteredServiceTestUtils.getService();
-            val ticketGrantingTicket = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + i,
+            val ticketGrantingTicket = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + UniqueTicketIdGenerator.SEPARATOR + i,
                 a, NeverExpiresExpirationPolicy.INSTANCE);
-            val st = ticketGrantingTicket.grantServiceTicket("ST" + i,
+            val st = ticketGrantingTicket.grantServiceTicket(ServiceTicket.PREFIX + UniqueTicketIdGenerator.SEPARATOR + i,
                 s,
                 NeverExpiresExpirationPolicy.INSTANCE, false, true);
             tgts.add(ticketGrantingTicket);
@@ -308,6 +311,81 @@ public abstract class BaseTicketRegistryTests {
             "The serviceTicketCount is not the same as the collection.");
     }
 
+    @RepeatedTest(2)
+    public void verifyConsumeTicket() {
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        ticketRegistry.addTicket(tgt);
+        val st = tgt.grantServiceTicket(serviceTicketId, RegisteredServiceTestUtils.getService(),
+            new MultiTimeUseOrTimeoutExpirationPolicy(2, 60), false, true);
+        ticketRegistry.addTicket(st);
+        ticketRegistry.updateTicket(tgt);
+
+        val first = ticketRegistry.getTicket(serviceTicketId, ServiceTicket.class);
+        assertTrue(ticketRegistry.consumeTicket(first), "Ticket should be consumed. useEncryption[" + useEncryption + ']');
+        val second = ticketRegistry.getTicket(serviceTicketId, ServiceTicket.class);
+        assertNotNull(second, "Ticket should not be used up. useEncryption[" + useEncryption + ']');
+        assertTrue(ticketRegistry.consumeTicket(second));
+        assertNull(ticketRegistry.getTicket(serviceTicketId, ServiceTicket.class), TICKET_SHOULD_BE_NULL_USE_ENCRYPTION + useEncryption + ']');
+        assertFalse(ticketRegistry.consumeTicket(second));
+    }
+
+    @RepeatedTest(2)
+    @Transactional
+    public void verifyUpdateAndAddTickets() {
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        ticketRegistry.addTicket(tgt);
+        val st = tgt.grantServiceTicket(serviceTicketId, RegisteredServiceTestUtils.getService(),
+            NeverExpiresExpirationPolicy.INSTANCE, false, true);
+        ticketRegistry.updateAndAddTickets(List.of(tgt), List.of(st));
+
+        val stored = ticketRegistry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
+        assertNotNull(stored, "Ticket-granting ticket is null. useEncryption[" + useEncryption + ']');
+        assertTrue(stored.getServices().containsKey(serviceTicketId));
+        assertNotNull(ticketRegistry.getTicket(serviceTicketId, ServiceTicket.class),
+            "Service ticket is null. useEncryption[" + useEncryption + ']');
+    }
+
+    @RepeatedTest(2)
+    @Transactional
+    public void verifyTicketCountsAfterUpdateAndDelete() {
+        assumeTrue(isIterableRegistry());
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        ticketRegistry.addTicket(tgt);
+        val st = tgt.grantServiceTicket(serviceTicketId, RegisteredServiceTestUtils.getService(),
+            NeverExpiresExpirationPolicy.INSTANCE, false, true);
+        ticketRegistry.addTicket(st);
+        ticketRegistry.updateTicket(tgt);
+        ticketRegistry.updateTicket(tgt);
+        assertEquals(1, ticketRegistry.sessionCount());
+        assertEquals(1, ticketRegistry.serviceTicketCount());
+
+        assertEquals(2, ticketRegistry.deleteTicket(tgt.getId()));
+        assertEquals(0, ticketRegistry.sessionCount());
+        assertEquals(0, ticketRegistry.serviceTicketCount());
+    }
+
+
+    @RepeatedTest(2)
+    @Transactional
+    public void verifySessionsForPrincipal() {
+        assumeTrue(isIterableRegistry());
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId + '1',
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), NeverExpiresExpirationPolicy.INSTANCE));
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId + '2',
+            CoreAuthenticationTestUtils.getAuthentication("CASUSER"), NeverExpiresExpirationPolicy.INSTANCE));
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId + '3',
+            CoreAuthenticationTestUtils.getAuthentication("other"), NeverExpiresExpirationPolicy.INSTANCE));
+
+        assertEquals(2, ticketRegistry.countSessionsFor("casuser"), "Wrong session count. useEncryption[" + useEncryption + ']');
+        assertEquals(1, ticketRegistry.countSessionsFor("other"));
+        assertEquals(0, ticketRegistry.countSessionsFor("unknown"));
+
+        ticketRegistry.deleteTicket(ticketGrantingTicketId + '1');
+        assertEquals(1, ticketRegistry.countSessionsFor("casuser"));
+    }
 
     @RepeatedTest(2)
     @Transactional
@@ -1,8 +1,13 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
 import org.apereo.cas.util.crypto.CipherExecutor;
 
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.val;
 import org.junit.jupiter.api.RepeatedTest;
 
 import java.util.concurrent.ConcurrentHashMap;
@@ -28,4 +33,19 @@ public class CachingTicketRegistryTests extends BaseTicketRegistryTests {
     public void verifyOtherConstructor() {
         assertNotNull(new DefaultTicketRegistry(new ConcurrentHashMap<>(10, 10, 5), CipherExecutor.noOp()));
     }
+
+    @RepeatedTest(1)
+    public void verifyEvictedTicketRemovedFromIndexes() {
+        val registry = new CachingTicketRegistry(mock(LogoutManager.class));
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), NeverExpiresExpirationPolicy.INSTANCE);
+        registry.addTicket(tgt);
+        assertEquals(1, registry.sessionCount());
+        assertEquals(1, registry.countSessionsFor("casuser"));
+
+        val evicted = registry.getMapInstance().remove(tgt.getId());
+        registry.new CachedTicketRemovalListener().onRemoval(tgt.getId(), evicted, RemovalCause.SIZE);
+        assertEquals(0, registry.sessionCount());
+        assertEquals(0, registry.countSessionsFor("casuser"));
+    }
 }
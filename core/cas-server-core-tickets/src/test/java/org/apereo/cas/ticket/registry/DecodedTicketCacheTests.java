@@ -0,0 +1,56 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.CoreTicketUtils;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link DecodedTicketCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class DecodedTicketCacheTests {
+
+    @Test
+    public void verifyTicketIsReturnedForSameContent() {
+        val cache = new DecodedTicketCache(10, Duration.ofMinutes(1));
+        val tgt = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            NeverExpiresExpirationPolicy.INSTANCE);
+        cache.put(new EncodedTicket("encoded-id", new byte[]{1, 2, 3}), SerializationUtils.serialize(tgt));
+        val cached = cache.get(new EncodedTicket("encoded-id", new byte[]{1, 2, 3}));
+        assertEquals(tgt, cached);
+        assertNotSame(tgt, cached);
+        assertNotSame(cached, cache.get(new EncodedTicket("encoded-id", new byte[]{1, 2, 3})));
+        assertNull(cache.get(new EncodedTicket("encoded-id", new byte[]{4, 5, 6})));
+        assertNull(cache.get(new EncodedTicket("other-id", new byte[]{1, 2, 3})));
+        cache.invalidate("encoded-id");
+        assertNull(cache.get(new EncodedTicket("encoded-id", new byte[]{1, 2, 3})));
+    }
+
+    @Test
+    public void verifyRegistryDecodesFromCache() {
+        val cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(new EncryptionRandomizedSigningJwtCryptographyProperties(), true, "[tests]");
+        val registry = new DefaultTicketRegistry(new ConcurrentHashMap<>(), cipher);
+        registry.setDecodedTicketCache(new DecodedTicketCache(10, Duration.ofMinutes(1)));
+        val tgt = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            NeverExpiresExpirationPolicy.INSTANCE);
+        registry.addTicket(tgt);
+        val cached = registry.getTicket(tgt.getId());
+        assertEquals(tgt, cached);
+        assertNotSame(tgt, cached);
+        assertEquals(1, registry.deleteTicket(tgt.getId()));
+        assertNull(registry.getTicket(tgt.getId()));
+    }
+}
@@ -1,11 +1,15 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.mock.MockServiceTicket;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
 
 import lombok.val;
 import org.junit.jupiter.api.Test;
 
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -29,4 +33,41 @@ public class DefaultTicketRegistryCleanerTests {
         c.clean();
         assertTrue(ticketRegistry.sessionCount() == 0);
     }
+
+    @Test
+    public void verifyValidTicketsAreKept() {
+        val logoutManager = mock(LogoutManager.class);
+        val ticketRegistry = new DefaultTicketRegistry();
+        val expired = new MockTicketGrantingTicket("casuser");
+        expired.markTicketExpired();
+        ticketRegistry.addTicket(expired);
+        ticketRegistry.addTicket(new MockTicketGrantingTicket("casuser"));
+        val c = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(), logoutManager, ticketRegistry);
+        assertEquals(1, c.clean());
+        assertEquals(1, ticketRegistry.sessionCount());
+        assertEquals(0, c.clean());
+        assertEquals(1, ticketRegistry.sessionCount());
+    }
+
+    @Test
+    public void verifyParallelCleanupWithBatches() {
+        val logoutManager = mock(LogoutManager.class);
+        val ticketRegistry = new DefaultTicketRegistry();
+        val active = new MockTicketGrantingTicket("casuser");
+        ticketRegistry.addTicket(active);
+        IntStream.range(0, 3).forEach(i -> {
+            val tgt = new MockTicketGrantingTicket("casuser");
+            tgt.markTicketExpired();
+            ticketRegistry.addTicket(tgt);
+            val st = new MockServiceTicket("ST-" + i, RegisteredServiceTestUtils.getService(), active);
+            st.markTicketExpired();
+            ticketRegistry.addTicket(st);
+        });
+        val c = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(), logoutManager, ticketRegistry, 2, 2);
+        assertEquals(6, c.clean());
+        assertEquals(1, ticketRegistry.sessionCount());
+        assertEquals(0, ticketRegistry.serviceTicketCount());
+        verify(logoutManager, times(3)).performLogout(any());
+        c.destroy();
+    }
 }
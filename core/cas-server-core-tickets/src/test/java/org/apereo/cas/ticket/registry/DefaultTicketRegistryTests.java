@@ -1,8 +1,23 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
 import org.apereo.cas.util.crypto.CipherExecutor;
 
+import lombok.val;
+import org.junit.jupiter.api.RepeatedTest;
+
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Test case to test the DefaultTicketRegistry based on test cases to test all
@@ -17,4 +32,35 @@ public class DefaultTicketRegistryTests extends BaseTicketRegistryTests {
     public TicketRegistry getNewTicketRegistry() {
         return new DefaultTicketRegistry(new ConcurrentHashMap<>(10, 10, 5), CipherExecutor.noOp());
     }
+
+    @RepeatedTest(2)
+    public void verifyConcurrentConsumptionOfSingleUseTicket() throws Exception {
+        val registry = getNewTicketRegistry();
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        registry.addTicket(tgt);
+        val st = tgt.grantServiceTicket(serviceTicketId, RegisteredServiceTestUtils.getService(),
+            new MultiTimeUseOrTimeoutExpirationPolicy(1, 60), false, true);
+        registry.addTicket(st);
+
+        val executor = Executors.newFixedThreadPool(8);
+        try {
+            val tasks = IntStream.range(0, 8)
+                .mapToObj(i -> (Callable<Boolean>) () -> {
+                    val ticket = registry.getTicket(serviceTicketId, ServiceTicket.class);
+                    return ticket != null && registry.consumeTicket(ticket);
+                })
+                .collect(Collectors.toList());
+            var consumed = 0;
+            for (val result : executor.invokeAll(tasks)) {
+                if (result.get()) {
+                    consumed++;
+                }
+            }
+            assertEquals(1, consumed);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertNull(registry.getTicket(serviceTicketId, ServiceTicket.class));
+    }
 }
@@ -0,0 +1,64 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.expiration.ThrottledUseAndTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.expiration.TicketGrantingTicketExpirationPolicy;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link TicketExpirationIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class TicketExpirationIndexTests {
+    private static final long TIME_TO_LIVE = 3600;
+
+    private static final long TIME_IN_BETWEEN_USES = 5;
+
+    private static final long TIME_TO_IDLE = 600;
+
+    @Test
+    public void verifyThrottledPolicyIsProjectedByTimeToLive() {
+        val tgt = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new ThrottledUseAndTimeoutExpirationPolicy(TIME_TO_LIVE, TIME_IN_BETWEEN_USES));
+        val now = System.currentTimeMillis();
+        assertEquals(tgt.getCreationTime().toInstant().toEpochMilli() + TimeUnit.SECONDS.toMillis(TIME_TO_LIVE),
+            TicketExpirationIndex.getProjectedExpiration(tgt, now));
+
+        val index = new TicketExpirationIndex();
+        index.add(tgt);
+        assertTrue(index.poll().isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void verifyProjectionIsRelativeToCreationAndLastUse() {
+        val tgt = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new TicketGrantingTicketExpirationPolicy(TIME_TO_LIVE, TIME_TO_IDLE));
+        val later = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIME_TO_IDLE);
+        val lastTimeUsed = tgt.getLastTimeUsed().toInstant().toEpochMilli();
+        assertEquals(lastTimeUsed + TimeUnit.SECONDS.toMillis(TIME_TO_IDLE), TicketExpirationIndex.getProjectedExpiration(tgt, later));
+    }
+
+    @Test
+    public void verifyExpiredTicketIsDue() {
+        val tgt = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new AlwaysExpiresExpirationPolicy());
+        val now = System.currentTimeMillis();
+        assertEquals(now, TicketExpirationIndex.getProjectedExpiration(tgt, now));
+
+        val index = new TicketExpirationIndex();
+        index.add(tgt);
+        assertEquals(1, index.poll().size());
+        assertEquals(0, index.size());
+    }
+}
@@ -35,7 +35,6 @@ import org.apereo.cas.ticket.ServiceTicketFactory;
 import org.apereo.cas.ticket.TicketFactory;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketFactory;
-import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.ticket.UnrecognizableServiceForServiceTicketValidationException;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicketFactory;
@@ -73,8 +72,6 @@ import java.util.List;
 public class DefaultCentralAuthenticationService extends AbstractCentralAuthenticationService {
     private static final long serialVersionUID = -8943828074939533986L;
 
-    private final transient Object serviceTicketValidationLock = new Object();
-
     public DefaultCentralAuthenticationService(final ApplicationEventPublisher applicationEventPublisher,
                                                final TicketRegistry ticketRegistry,
                                                final ServicesManager servicesManager,
@@ -143,8 +140,7 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
         val principal = latestAuthentication.getPrincipal();
         val factory = (ServiceTicketFactory) this.ticketFactory.get(ServiceTicket.class);
         val serviceTicket = factory.create(ticketGrantingTicket, service, credentialProvided, ServiceTicket.class);
-        this.ticketRegistry.updateTicket(ticketGrantingTicket);
-        this.ticketRegistry.addTicket(serviceTicket);
+        this.ticketRegistry.updateAndAddTickets(List.of(ticketGrantingTicket), List.of(serviceTicket));
 
         LOGGER.info("Granted service ticket [{}] for service [{}] and principal [{}]",
             serviceTicket.getId(), DigestUtils.abbreviate(service.getId()), principal.getId());
@@ -181,8 +177,7 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
         val factory = (ProxyTicketFactory) this.ticketFactory.get(ProxyTicket.class);
         val proxyTicket = factory.create(proxyGrantingTicketObject, service, ProxyTicket.class);
 
-        this.ticketRegistry.updateTicket(proxyGrantingTicketObject);
-        this.ticketRegistry.addTicket(proxyTicket);
+        this.ticketRegistry.updateAndAddTickets(List.of(proxyGrantingTicketObject), List.of(proxyTicket));
 
         LOGGER.info("Granted proxy ticket [{}] for service [{}] for user [{}]",
             proxyTicket.getId(), service.getId(), principal.getId());
@@ -255,82 +250,84 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
             throw new InvalidTicketException(serviceTicketId);
         }
 
-        try {
-            /*
-             * Synchronization on ticket object in case of cache based registry doesn't serialize
-             * access to critical section. The reason is that cache pulls serialized data and
-             * builds new object, most likely for each pull. Is this synchronization needed here?
-             */
-            synchronized (this.serviceTicketValidationLock) {
-                if (serviceTicket.isExpired()) {
-                    LOGGER.info("ServiceTicket [{}] has expired.", serviceTicketId);
-                    throw new InvalidTicketException(serviceTicketId);
-                }
-
-                if (!this.serviceMatchingStrategy.matches(serviceTicket.getService(), service)) {
-                    LOGGER.error("Service ticket [{}] with service [{}] does not match supplied service [{}]",
-                        serviceTicketId, serviceTicket.getService().getId(), service.getId());
-                    throw new UnrecognizableServiceForServiceTicketValidationException(serviceTicket.getService());
-                }
-                val ticketState = TicketState.class.cast(serviceTicket);
-                ticketState.update();
-            }
+        if (serviceTicket.isExpired()) {
+            LOGGER.info("ServiceTicket [{}] has expired.", serviceTicketId);
+            deleteExpiredServiceTicket(serviceTicketId);
+            throw new InvalidTicketException(serviceTicketId);
+        }
 
-            val selectedService = resolveServiceFromAuthenticationRequest(serviceTicket.getService());
-            LOGGER.debug("Resolved service [{}] from the authentication request", selectedService);
+        if (!this.serviceMatchingStrategy.matches(serviceTicket.getService(), service)) {
+            LOGGER.error("Service ticket [{}] with service [{}] does not match supplied service [{}]",
+                serviceTicketId, serviceTicket.getService().getId(), service.getId());
+            throw new UnrecognizableServiceForServiceTicketValidationException(serviceTicket.getService());
+        }
 
-            val registeredService = this.servicesManager.findServiceBy(selectedService);
-            LOGGER.trace("Located registered service definition [{}] from [{}] to handle validation request", registeredService, selectedService);
-            RegisteredServiceAccessStrategyUtils.ensureServiceAccessIsAllowed(selectedService, registeredService);
-
-            val root = serviceTicket.getTicketGrantingTicket().getRoot();
-            val authentication = getAuthenticationSatisfiedByPolicy(root.getAuthentication(),
-                new ServiceContext(selectedService, registeredService));
-            val principal = authentication.getPrincipal();
-
-            val attributePolicy = registeredService.getAttributeReleasePolicy();
-            LOGGER.debug("Attribute policy [{}] is associated with service [{}]", attributePolicy, registeredService);
-
-            val attributesToRelease = attributePolicy != null
-                ? attributePolicy.getAttributes(principal, selectedService, registeredService)
-                : new HashMap<String, List<Object>>();
-
-            LOGGER.debug("Calculated attributes for release per the release policy are [{}]",
-                attributesToRelease.keySet());
-
-            val principalId = registeredService.getUsernameAttributeProvider()
-                .resolveUsername(principal, selectedService, registeredService);
-            val builder = DefaultAuthenticationBuilder.of(
-                    principal,
-                    this.principalFactory,
-                    attributesToRelease,
-                    selectedService,
-                    registeredService,
-                    authentication);
-            LOGGER.debug("Principal determined for release to [{}] is [{}]",
-                registeredService.getServiceId(), principalId);
-
-            val finalAuthentication = builder.build();
-
-            enforceRegisteredServiceAccess(finalAuthentication, selectedService, registeredService);
-
-            AuthenticationCredentialsThreadLocalBinder.bindCurrent(finalAuthentication);
-
-            val assertion = new DefaultAssertionBuilder(finalAuthentication)
-                .with(selectedService)
-                .with(serviceTicket.getTicketGrantingTicket().getChainedAuthentications())
-                .with(serviceTicket.isFromNewLogin())
-                .build();
-
-            doPublishEvent(new CasServiceTicketValidatedEvent(this, serviceTicket, assertion));
-            return assertion;
-        } finally {
+        /*
+         * The use of the ticket is recorded by the ticket registry atomically for the ticket,
+         * so that a ticket cannot be validated more often than allowed, even by concurrent requests
+         * that are handled by different nodes.
+         */
+        if (!this.ticketRegistry.consumeTicket(serviceTicket)) {
+            LOGGER.warn("Service ticket [{}] has already been used or has expired.", serviceTicketId);
             if (serviceTicket.isExpired()) {
-                deleteTicket(serviceTicketId);
-            } else {
-                this.ticketRegistry.updateTicket(serviceTicket);
+                deleteExpiredServiceTicket(serviceTicketId);
             }
+            throw new InvalidTicketException(serviceTicketId);
         }
+
+        val selectedService = resolveServiceFromAuthenticationRequest(serviceTicket.getService());
+        LOGGER.debug("Resolved service [{}] from the authentication request", selectedService);
+
+        val registeredService = this.servicesManager.findServiceBy(selectedService);
+        LOGGER.trace("Located registered service definition [{}] from [{}] to handle validation request", registeredService, selectedService);
+        RegisteredServiceAccessStrategyUtils.ensureServiceAccessIsAllowed(selectedService, registeredService);
+
+        val root = serviceTicket.getTicketGrantingTicket().getRoot();
+        val authentication = getAuthenticationSatisfiedByPolicy(root.getAuthentication(),
+            new ServiceContext(selectedService, registeredService));
+        val principal = authentication.getPrincipal();
+
+        val attributePolicy = registeredService.getAttributeReleasePolicy();
+        LOGGER.debug("Attribute policy [{}] is associated with service [{}]", attributePolicy, registeredService);
+
+        val attributesToRelease = attributePolicy != null
+            ? attributePolicy.getAttributes(principal, selectedService, registeredService)
+            : new HashMap<String, List<Object>>();
+
+        LOGGER.debug("Calculated attributes for release per the release policy are [{}]",
+            attributesToRelease.keySet());
+
+        val principalId = registeredService.getUsernameAttributeProvider()
+            .resolveUsername(principal, selectedService, registeredService);
+        val builder = DefaultAuthenticationBuilder.of(
+                principal,
+                this.principalFactory,
+                attributesToRelease,
+                selectedService,
+                registeredService,
+                authentication);
+        LOGGER.debug("Principal determined for release to [{}] is [{}]",
+            registeredService.getServiceId(), principalId);
+
+        val finalAuthentication = builder.build();
+
+        enforceRegisteredServiceAccess(finalAuthentication, selectedService, registeredService);
+
+        AuthenticationCredentialsThreadLocalBinder.bindCurrent(finalAuthentication);
+
+        val assertion = new DefaultAssertionBuilder(finalAuthentication)
+            .with(selectedService)
+            .with(serviceTicket.getTicketGrantingTicket().getChainedAuthentications())
+            .with(serviceTicket.isFromNewLogin())
+            .build();
+
+        doPublishEvent(new CasServiceTicketValidatedEvent(this, serviceTicket, assertion));
+        return assertion;
+    }
+
+    private void deleteExpiredServiceTicket(final String serviceTicketId) {
+        LOGGER.debug("Removing expired service ticket [{}] from the registry", serviceTicketId);
+        this.ticketRegistry.deleteTicket(serviceTicketId);
     }
 
     @Audit(
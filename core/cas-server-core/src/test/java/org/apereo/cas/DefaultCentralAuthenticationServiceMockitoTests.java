@@ -223,6 +223,7 @@ public class DefaultCentralAuthenticationServiceMockitoTests extends BaseCasCore
         when(ticketRegMock.getTicket(eq(stMock2.getId()), eq(ServiceTicket.class))).thenReturn(stMock2);
         when(ticketRegMock.getTickets()).thenReturn((Collection) Arrays.asList(tgtMock, tgtMock2, stMock, stMock2));
         when(ticketRegMock.getTicketsStream()).thenCallRealMethod();
+        when(ticketRegMock.consumeTicket(any(ServiceTicket.class))).thenReturn(Boolean.TRUE);
     }
 
     @Test
@@ -273,6 +274,17 @@ public class DefaultCentralAuthenticationServiceMockitoTests extends BaseCasCore
             .forEach(i -> assertEquals(assertion.getChainedAuthentications().get(i), authentication));
     }
 
+    @Test
+    public void verifyExpiredServiceTicketDeletedOnValidation() {
+        val expired = mock(ServiceTicket.class);
+        when(expired.getId()).thenReturn("ST-expired");
+        when(expired.isExpired()).thenReturn(true);
+        when(ticketRegMock.getTicket(eq(expired.getId()), eq(ServiceTicket.class))).thenReturn(expired);
+
+        assertThrows(InvalidTicketException.class, () -> this.cas.validateServiceTicket(expired.getId(), getService(SVC1_ID)));
+        verify(ticketRegMock).deleteTicket(expired.getId());
+    }
+
     private TicketGrantingTicket createRootTicketGrantingTicket() {
         val tgtRootMock = mock(TicketGrantingTicket.class);
         when(tgtRootMock.isExpired()).thenReturn(false);
@@ -6,6 +6,7 @@ import org.apereo.cas.util.DateTimeUtils;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.AttributeDefinition;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
 import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
 import com.amazonaws.services.dynamodbv2.model.Condition;
 import com.amazonaws.services.dynamodbv2.model.CreateTableRequest;
@@ -14,9 +15,11 @@ import com.amazonaws.services.dynamodbv2.model.DescribeTableRequest;
 import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
 import com.amazonaws.services.dynamodbv2.model.KeyType;
 import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughput;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
 import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
 import com.amazonaws.services.dynamodbv2.model.ScalarAttributeType;
 import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
 import com.amazonaws.services.dynamodbv2.util.TableUtils;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -26,9 +29,11 @@ import lombok.val;
 import org.apereo.inspektr.audit.AuditActionContext;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -43,6 +48,8 @@ import java.util.Set;
 @Getter
 @RequiredArgsConstructor
 public class DynamoDbAuditTrailManagerFacilitator {
+    private static final int MAX_BATCH_WRITE_ITEMS = 25;
+
     private final AuditDynamoDbProperties dynamoDbProperties;
     private final AmazonDynamoDB amazonDynamoDBClient;
 
@@ -86,6 +93,29 @@ public class DynamoDbAuditTrailManagerFacilitator {
         LOGGER.debug("Record added with result [{}]", putItemResult);
     }
 
+    /**
+     * Save records in batches.
+     * Records that share the same principal overwrite one another,
+     * and only the last of such records is kept in a batch.
+     *
+     * @param records the records
+     */
+    public void saveAll(final List<AuditActionContext> records) {
+        val items = new LinkedHashMap<String, WriteRequest>();
+        records.forEach(record -> items.put(record.getPrincipal(),
+            new WriteRequest(new PutRequest(buildTableAttributeValuesMap(record)))));
+        val requests = new ArrayList<WriteRequest>(items.values());
+        for (var i = 0; i < requests.size(); i += MAX_BATCH_WRITE_ITEMS) {
+            var batch = Map.<String, List<WriteRequest>>of(dynamoDbProperties.getTableName(),
+                requests.subList(i, Math.min(i + MAX_BATCH_WRITE_ITEMS, requests.size())));
+            while (!batch.isEmpty()) {
+                LOGGER.debug("Submitting batch write request for [{}] record(s)", batch.get(dynamoDbProperties.getTableName()).size());
+                val result = amazonDynamoDBClient.batchWriteItem(new BatchWriteItemRequest(batch));
+                batch = result.getUnprocessedItems();
+            }
+        }
+    }
+
     /**
      * Remove all.
      */
@@ -0,0 +1,95 @@
+package org.apereo.cas.audit;
+
+import org.apereo.cas.audit.spi.AbstractAuditTrailManager;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.support.JdbcAuditTrailManager;
+import org.apereo.inspektr.common.Cleanable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This is {@link JdbcBatchingAuditTrailManager}, which saves batches of audit records
+ * queued asynchronously using JDBC batch inserts. Individual records, queries and clean-up
+ * operations are delegated to the Inspektr {@link JdbcAuditTrailManager}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class JdbcBatchingAuditTrailManager extends AbstractAuditTrailManager implements Cleanable {
+    private static final String INSERT_SQL_TEMPLATE = "INSERT INTO %s "
+        + "(AUD_USER, AUD_CLIENT_IP, AUD_SERVER_IP, AUD_RESOURCE, AUD_ACTION, APPLIC_CD, AUD_DATE) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcAuditTrailManager delegate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String insertSql;
+
+    private final int columnLength;
+
+    public JdbcBatchingAuditTrailManager(final JdbcAuditTrailManager delegate,
+                                         final TransactionTemplate transactionTemplate,
+                                         final DataSource dataSource,
+                                         final String tableName,
+                                         final int columnLength,
+                                         final boolean asynchronous) {
+        super(asynchronous);
+        this.delegate = delegate;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.insertSql = String.format(INSERT_SQL_TEMPLATE, tableName);
+        this.columnLength = columnLength;
+    }
+
+    @Override
+    protected void saveAuditRecord(final AuditActionContext audit) {
+        this.delegate.record(audit);
+    }
+
+    @Override
+    protected void saveAuditRecords(final List<AuditActionContext> audits) {
+        this.transactionTemplate.execute(status -> this.jdbcTemplate.batchUpdate(this.insertSql, audits, audits.size(),
+            (ps, audit) -> {
+                ps.setString(1, trim(audit.getPrincipal()));
+                ps.setString(2, audit.getClientIpAddress());
+                ps.setString(3, audit.getServerIpAddress());
+                ps.setString(4, trim(audit.getResourceOperatedUpon()));
+                ps.setString(5, trim(audit.getActionPerformed()));
+                ps.setString(6, audit.getApplicationCode());
+                ps.setTimestamp(7, new Timestamp(audit.getWhenActionWasPerformed().getTime()));
+            }));
+        LOGGER.trace("Inserted [{}] audit record(s) in batch", audits.size());
+    }
+
+    @Override
+    public Set<? extends AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
+        return this.delegate.getAuditRecordsSince(localDate);
+    }
+
+    @Override
+    public void removeAll() {
+        this.delegate.removeAll();
+    }
+
+    @Override
+    public void clean() {
+        this.delegate.clean();
+    }
+
+    private String trim(final String value) {
+        return this.columnLength > 0 ? StringUtils.abbreviate(value, this.columnLength) : value;
+    }
+}
@@ -1,6 +1,7 @@
 package org.apereo.cas.audit.config;
 
 import org.apereo.cas.audit.AuditTrailExecutionPlanConfigurer;
+import org.apereo.cas.audit.JdbcBatchingAuditTrailManager;
 import org.apereo.cas.audit.spi.entity.AuditTrailEntity;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.core.audit.AuditJdbcProperties;
@@ -59,17 +60,27 @@ public class CasSupportJdbcAuditConfiguration {
     }
 
     @Bean
-    public AuditTrailManager jdbcAuditTrailManager() {
+    public JdbcAuditTrailManager inspektrJdbcAuditTrailManager() {
         val jdbc = casProperties.getAudit().getJdbc();
         val t = new JdbcAuditTrailManager(inspektrAuditTransactionTemplate());
         t.setCleanupCriteria(auditCleanupCriteria());
         t.setDataSource(inspektrAuditTrailDataSource());
-        t.setAsynchronous(jdbc.isAsynchronous());
+        t.setAsynchronous(false);
         t.setColumnLength(jdbc.getColumnLength());
         t.setTableName(getAuditTableNameFrom(jdbc));
         return t;
     }
 
+    @Bean
+    public AuditTrailManager jdbcAuditTrailManager() {
+        val jdbc = casProperties.getAudit().getJdbc();
+        val manager = new JdbcBatchingAuditTrailManager(inspektrJdbcAuditTrailManager(),
+            inspektrAuditTransactionTemplate(), inspektrAuditTrailDataSource(),
+            getAuditTableNameFrom(jdbc), jdbc.getColumnLength(), jdbc.isAsynchronous());
+        manager.setQueueProperties(casProperties.getAudit().getQueue());
+        return manager;
+    }
+
     @ConditionalOnMissingBean(name = "jdbcAuditTrailExecutionPlanConfigurer")
     @Bean
     public AuditTrailExecutionPlanConfigurer jdbcAuditTrailExecutionPlanConfigurer() {
@@ -0,0 +1,76 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import org.apereo.cas.util.cache.DistributedCacheManager;
+import org.apereo.cas.util.cache.DistributedCacheObject;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link PrincipalAttributesHazelcastDistributedCacheManager}, which shares principal attributes
+ * cached for registered services with other nodes via a Hazelcast map. Entries are removed by Hazelcast
+ * once their time-to-live passes, so attributes fetched by one node are reused by others and attribute
+ * repositories are not queried again by each node.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class PrincipalAttributesHazelcastDistributedCacheManager
+    implements DistributedCacheManager<String, DistributedCacheObject<HashMap<String, List<Object>>>> {
+    /**
+     * Name of the Hazelcast map that holds the attributes.
+     */
+    public static final String MAP_NAME = "principalAttributesCache";
+
+    private final IMap<String, DistributedCacheObject<HashMap<String, List<Object>>>> mapInstance;
+
+    private final long timeToLiveSeconds;
+
+    public PrincipalAttributesHazelcastDistributedCacheManager(final HazelcastInstance instance, final long timeToLiveSeconds) {
+        this.mapInstance = instance.getMap(MAP_NAME);
+        this.timeToLiveSeconds = timeToLiveSeconds;
+    }
+
+    @Override
+    public DistributedCacheObject<HashMap<String, List<Object>>> get(final String key) {
+        return this.mapInstance.get(key);
+    }
+
+    @Override
+    public Collection<DistributedCacheObject<HashMap<String, List<Object>>>> getAll() {
+        return this.mapInstance.values();
+    }
+
+    @Override
+    public void set(final String key, final DistributedCacheObject<HashMap<String, List<Object>>> item) {
+        LOGGER.trace("Sharing cached attributes under [{}] for [{}] second(s)", key, this.timeToLiveSeconds);
+        this.mapInstance.set(key, item, this.timeToLiveSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public boolean contains(final String key) {
+        return this.mapInstance.containsKey(key);
+    }
+
+    @Override
+    public void update(final String key, final DistributedCacheObject<HashMap<String, List<Object>>> item) {
+        set(key, item);
+    }
+
+    @Override
+    public void remove(final String key, final DistributedCacheObject<HashMap<String, List<Object>>> item) {
+        this.mapInstance.delete(key);
+    }
+
+    @Override
+    public void close() {
+        LOGGER.trace("Hazelcast map [{}] is owned by the ticket registry instance and will not be destroyed", MAP_NAME);
+    }
+}
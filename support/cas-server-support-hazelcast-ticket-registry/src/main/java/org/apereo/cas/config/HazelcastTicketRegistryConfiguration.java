@@ -1,15 +1,27 @@
 package org.apereo.cas.config;
 
+import org.apereo.cas.authentication.principal.cache.PrincipalAttributesHazelcastDistributedCacheManager;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.hz.HazelcastConfigurationFactory;
+import org.apereo.cas.kryo.KryoUtils;
+import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.registry.HazelcastKryoTicketSerializer;
 import org.apereo.cas.ticket.registry.HazelcastTicketRegistry;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.util.CoreTicketUtils;
+import org.apereo.cas.util.cache.DistributedCacheManager;
+import org.apereo.cas.util.cache.DistributedCacheObject;
 
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.SerializerConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import lombok.extern.slf4j.Slf4j;
@@ -18,10 +30,15 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Spring's Java configuration component for {@code HazelcastInstance} that is consumed and used by
  * {@link HazelcastTicketRegistry}.
@@ -54,15 +71,18 @@ public class HazelcastTicketRegistryConfiguration {
         val hazelcastInstance = casTicketRegistryHazelcastInstance();
         var catalog = ticketCatalog.getObject();
         catalog.findAll()
-            .stream()
-            .map(TicketDefinition::getProperties)
-            .peek(p -> LOGGER.debug("Created Hazelcast map configuration for [{}]", p))
-            .map(p -> factory.buildMapConfig(hz, p.getStorageName(), p.getStorageTimeout()))
-            .forEach(m -> hazelcastInstance.getConfig().addMapConfig(m));
+            .forEach(definition -> {
+                val p = definition.getProperties();
+                LOGGER.debug("Created Hazelcast map configuration for [{}]", p);
+                val mapConfig = factory.buildMapConfig(hz, p.getStorageName(), p.getStorageTimeout());
+                configureNearCache(mapConfig, definition);
+                hazelcastInstance.getConfig().addMapConfig(mapConfig);
+            });
         val r = new HazelcastTicketRegistry(hazelcastInstance,
             catalog,
             hz.getPageSize());
         r.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(hz.getCrypto(), "hazelcast"));
+        r.setDecodedTicketCache(CoreTicketUtils.newDecodedTicketCache(casProperties.getTicket().getRegistry().getCore()));
         return r;
     }
 
@@ -71,12 +91,48 @@ public class HazelcastTicketRegistryConfiguration {
     public HazelcastInstance casTicketRegistryHazelcastInstance() {
         val hz = casProperties.getTicket().getRegistry().getHazelcast();
         LOGGER.debug("Creating Hazelcast instance for members [{}]", hz.getCluster().getMembers());
-        return Hazelcast.newHazelcastInstance(HazelcastConfigurationFactory.build(hz));
+        val config = HazelcastConfigurationFactory.build(hz);
+        if ("KRYO".equalsIgnoreCase(hz.getSerializer())) {
+            val serializer = new HazelcastKryoTicketSerializer(KryoUtils.newKryoPool(hz.getKryo()));
+            config.getSerializationConfig().addSerializerConfig(new SerializerConfig()
+                .setTypeClass(Ticket.class)
+                .setImplementation(serializer));
+        }
+        return Hazelcast.newHazelcastInstance(config);
     }
 
+    @ConditionalOnProperty(prefix = "cas.authn.attributeRepository", name = "distributedCacheEnabled", havingValue = "true")
+    @ConditionalOnMissingBean(name = "principalAttributesRepositoryDistributedCacheManager")
+    @Bean
+    public DistributedCacheManager<String, DistributedCacheObject<HashMap<String, List<Object>>>> principalAttributesRepositoryDistributedCacheManager() {
+        val attributes = casProperties.getAuthn().getAttributeRepository();
+        val timeToLive = TimeUnit.valueOf(attributes.getExpirationTimeUnit().toUpperCase()).toSeconds(attributes.getExpirationTime());
+        return new PrincipalAttributesHazelcastDistributedCacheManager(casTicketRegistryHazelcastInstance(), timeToLive);
+    }
 
     @Bean
     public TicketRegistryCleaner ticketRegistryCleaner() {
         return NoOpTicketRegistryCleaner.getInstance();
     }
+
+    private void configureNearCache(final MapConfig mapConfig, final TicketDefinition definition) {
+        val nearCache = casProperties.getTicket().getRegistry().getHazelcast().getNearCache();
+        if (!nearCache.isEnabled() || nearCache.getTicketPrefixes().stream().noneMatch(prefix -> prefix.equalsIgnoreCase(definition.getPrefix()))) {
+            return;
+        }
+        LOGGER.debug("Configuring near cache for Hazelcast map [{}]", mapConfig.getName());
+        val evictionConfig = new EvictionConfig()
+            .setEvictionPolicy(EvictionPolicy.LRU)
+            .setMaximumSizePolicy(EvictionConfig.MaxSizePolicy.ENTRY_COUNT)
+            .setSize(nearCache.getMaxSize());
+        val nearCacheConfig = new NearCacheConfig(mapConfig.getName())
+            .setInMemoryFormat(InMemoryFormat.BINARY)
+            .setInvalidateOnChange(true)
+            .setMaxIdleSeconds((int) definition.getProperties().getStorageTimeout())
+            .setEvictionConfig(evictionConfig);
+        if (nearCache.getTimeToLiveSeconds() > 0) {
+            nearCacheConfig.setTimeToLiveSeconds(nearCache.getTimeToLiveSeconds());
+        }
+        mapConfig.setNearCacheConfig(nearCacheConfig);
+    }
 }
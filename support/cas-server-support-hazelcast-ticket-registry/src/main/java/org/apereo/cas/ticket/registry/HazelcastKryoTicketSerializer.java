@@ -0,0 +1,61 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.kryo.CasKryoPool;
+import org.apereo.cas.ticket.Ticket;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.IOException;
+
+/**
+ * This is {@link HazelcastKryoTicketSerializer}, which serializes tickets stored in Hazelcast maps using Kryo
+ * rather than Java serialization. Classes are registered with Kryo in the same deterministic order used by the
+ * memcached transcoder, which allows for a compact binary form that embeds class ids rather than class names.
+ * All members of the cluster must be running the same CAS version.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiredArgsConstructor
+public class HazelcastKryoTicketSerializer implements StreamSerializer<Ticket> {
+    /**
+     * Type id of this serializer, unique among custom serializers registered with Hazelcast.
+     */
+    public static final int TYPE_ID = 1001;
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private final CasKryoPool kryoPool;
+
+    @Override
+    public void write(final ObjectDataOutput out, final Ticket ticket) throws IOException {
+        try (val kryo = this.kryoPool.borrow();
+             val output = new Output(BUFFER_SIZE, -1)) {
+            kryo.writeClassAndObject(output, ticket);
+            out.writeByteArray(output.toBytes());
+        }
+    }
+
+    @Override
+    public Ticket read(final ObjectDataInput in) throws IOException {
+        try (val kryo = this.kryoPool.borrow();
+             val input = new Input(in.readByteArray())) {
+            return (Ticket) kryo.readClassAndObject(input);
+        }
+    }
+
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
@@ -1,23 +1,37 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.query.PagingPredicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.factory.DisposableBean;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Hazelcast-based implementation of a {@link TicketRegistry}.
@@ -25,6 +39,9 @@ import java.util.stream.Collectors;
  * which is an extension of the standard Java's {@code ConcurrentMap}.</p>
  * <p>The heavy lifting of distributed data partitioning, network cluster discovery and
  * join, data replication, etc. is done by Hazelcast's Map implementation.</p>
+ * <p>Updates to ticket-granting tickets are applied in place on the member that owns the ticket
+ * via {@link TicketGrantingTicketUpdateEntryProcessor}, and tickets are iterated page by page
+ * rather than by materializing the contents of each map.</p>
  *
  * @author Dmitriy Kopylenko
  * @author Jonathan Johnson
@@ -33,23 +50,56 @@ import java.util.stream.Collectors;
 @Slf4j
 @RequiredArgsConstructor
 public class HazelcastTicketRegistry extends AbstractTicketRegistry implements AutoCloseable, DisposableBean {
+    private static final int DEFAULT_FETCH_SIZE = 100;
+
     private final HazelcastInstance hazelcastInstance;
     private final TicketCatalog ticketCatalog;
     private final long pageSize;
 
+    private static long getTimeToLive(final Ticket ticket) {
+        val ttl = ticket.getExpirationPolicy().getTimeToLive();
+        if (ttl < 0) {
+            throw new IllegalArgumentException("The expiration policy of ticket " + ticket.getId() + "is set to use a negative ttl");
+        }
+        return ttl;
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) {
+        if (isUpdatedInPlace(ticket)) {
+            val ticketMap = getTicketMapInstanceByMetadata(this.ticketCatalog.find(ticket));
+            val updated = ticketMap.executeOnKey(ticket.getId(), new TicketGrantingTicketUpdateEntryProcessor((TicketGrantingTicketImpl) ticket));
+            if (Boolean.TRUE.equals(updated)) {
+                LOGGER.debug("Updated ticket [{}] in place", ticket.getId());
+                return ticket;
+            }
+            LOGGER.debug("Ticket [{}] could not be updated in place and will be stored again", ticket.getId());
+        }
         addTicket(ticket);
         return ticket;
     }
 
+    /**
+     * Consume the ticket on the member that owns it via {@link TicketConsumptionEntryProcessor},
+     * unless tickets are encoded and cannot be examined by the member.
+     *
+     * @param ticket the ticket
+     * @return true/false
+     */
     @Override
-    public void addTicket(final Ticket ticket) {
-        val ttl = ticket.getExpirationPolicy().getTimeToLive();
-        if (ttl < 0) {
-            throw new IllegalArgumentException("The expiration policy of ticket " + ticket.getId() + "is set to use a negative ttl");
+    public boolean consumeTicket(final Ticket ticket) {
+        if (isCipherExecutorEnabled()) {
+            return super.consumeTicket(ticket);
         }
+        val ticketMap = getTicketMapInstanceByMetadata(this.ticketCatalog.find(ticket));
+        val consumed = ticketMap.executeOnKey(ticket.getId(), new TicketConsumptionEntryProcessor());
+        LOGGER.debug("Consumed ticket [{}]: [{}]", ticket.getId(), consumed);
+        return Boolean.TRUE.equals(consumed);
+    }
 
+    @Override
+    public void addTicket(final Ticket ticket) {
+        val ttl = getTimeToLive(ticket);
         LOGGER.debug("Adding ticket [{}] with ttl [{}s]", ticket.getId(), ttl);
         val encTicket = encodeTicket(ticket);
 
@@ -60,6 +110,57 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         LOGGER.debug("Added ticket [{}] with ttl [{}s]", encTicket.getId(), ttl);
     }
 
+    /**
+     * Update and add the tickets by dispatching all operations to the members that own the tickets at once,
+     * and then waiting for them to complete, so that storing the tickets costs a single round-trip
+     * rather than one for each ticket. Ticket-granting tickets are updated in place, as with {@link #updateTicket(Ticket)}.
+     *
+     * @param ticketsToUpdate the tickets to update
+     * @param ticketsToAdd    the tickets to add
+     */
+    @Override
+    public void updateAndAddTickets(final Collection<? extends Ticket> ticketsToUpdate,
+                                    final Collection<? extends Ticket> ticketsToAdd) {
+        val operations = new ArrayList<Pair<Ticket, Future<?>>>(ticketsToUpdate.size() + ticketsToAdd.size());
+        ticketsToUpdate.forEach(ticket -> {
+            if (isUpdatedInPlace(ticket)) {
+                val ticketMap = getTicketMapInstanceByMetadata(this.ticketCatalog.find(ticket));
+                operations.add(Pair.of(ticket,
+                    ticketMap.submitToKey(ticket.getId(), new TicketGrantingTicketUpdateEntryProcessor((TicketGrantingTicketImpl) ticket))));
+            } else {
+                operations.add(Pair.of(ticket, addTicketAsync(ticket)));
+            }
+        });
+        ticketsToAdd.forEach(ticket -> operations.add(Pair.of(ticket, addTicketAsync(ticket))));
+
+        operations.forEach(operation -> {
+            val ticket = operation.getKey();
+            try {
+                if (Boolean.FALSE.equals(operation.getValue().get())) {
+                    LOGGER.debug("Ticket [{}] could not be updated in place and will be stored again", ticket.getId());
+                    addTicket(ticket);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.error("Interrupted while storing ticket [{}]", ticket.getId(), e);
+            } catch (final ExecutionException e) {
+                LOGGER.error("Failed to store ticket [{}]", ticket.getId(), e.getCause());
+            }
+        });
+    }
+
+    private boolean isUpdatedInPlace(final Ticket ticket) {
+        return ticket instanceof TicketGrantingTicketImpl && !isCipherExecutorEnabled() && !ticket.isExpired();
+    }
+
+    private Future<?> addTicketAsync(final Ticket ticket) {
+        val ttl = getTimeToLive(ticket);
+        LOGGER.debug("Adding ticket [{}] with ttl [{}s]", ticket.getId(), ttl);
+        val encTicket = encodeTicket(ticket);
+        val ticketMap = getTicketMapInstanceByMetadata(this.ticketCatalog.find(ticket));
+        return ticketMap.setAsync(encTicket.getId(), encTicket, ttl, TimeUnit.SECONDS);
+    }
+
     private IMap<String, Ticket> getTicketMapInstanceByMetadata(final TicketDefinition metadata) {
         val mapName = metadata.getProperties().getStorageName();
         LOGGER.debug("Locating map name [{}] for ticket definition [{}]", mapName, metadata);
@@ -94,6 +195,33 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         return map.remove(encTicketId) != null;
     }
 
+    @Override
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        val removals = ticketIds.stream()
+            .map(ticketId -> {
+                val metadata = this.ticketCatalog.find(ticketId);
+                if (metadata == null) {
+                    LOGGER.warn("No ticket definition could be found in the catalog to match [{}]; the ticket is not deleted", ticketId);
+                    return null;
+                }
+                val map = getTicketMapInstanceByMetadata(metadata);
+                return map != null ? map.removeAsync(encodeTicketId(ticketId)) : null;
+            })
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        return (int) removals.stream()
+            .map(removal -> {
+                try {
+                    return removal.get();
+                } catch (final Exception e) {
+                    LOGGER.error(e.getMessage(), e);
+                }
+                return null;
+            })
+            .filter(Objects::nonNull)
+            .count();
+    }
+
     @Override
     public long deleteAll() {
         return this.ticketCatalog.findAll()
@@ -113,17 +241,42 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
     public Collection<? extends Ticket> getTickets() {
         return this.ticketCatalog.findAll()
             .stream()
-            .map(metadata -> getTicketMapInstanceByMetadata(metadata).values())
-            .flatMap(tickets -> {
-                if (pageSize > 0) {
-                    return tickets.stream().limit(pageSize).collect(Collectors.toList()).stream();
-                }
-                return new ArrayList<>(tickets).stream();
-            })
+            .map(this::getTicketMapInstanceByMetadata)
+            .filter(Objects::nonNull)
+            .flatMap(map -> pageSize > 0 ? getTicketsStream(map).limit(pageSize) : getTicketsStream(map))
             .map(this::decodeTicket)
             .collect(Collectors.toSet());
     }
 
+    @Override
+    public Stream<? extends Ticket> getTicketsStream() {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .map(this::getTicketMapInstanceByMetadata)
+            .filter(Objects::nonNull)
+            .flatMap(this::getTicketsStream)
+            .map(this::decodeTicket);
+    }
+
+    @Override
+    public long sessionCount() {
+        return countTicketsByTicketType(TicketGrantingTicket.class);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTicketsByTicketType(ServiceTicket.class);
+    }
+
+    private long countTicketsByTicketType(final Class<? extends Ticket> ticketType) {
+        return this.ticketCatalog.find(ticketType)
+            .stream()
+            .map(this::getTicketMapInstanceByMetadata)
+            .filter(Objects::nonNull)
+            .mapToLong(IMap::size)
+            .sum();
+    }
+
     /**
      * Make sure we shutdown HazelCast when the context is destroyed.
      */
@@ -146,6 +299,31 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         shutdown();
     }
 
+    /**
+     * Stream the tickets of the map lazily, one page at a time. Tickets of maps owned by this member
+     * are iterated partition by partition; otherwise, tickets are fetched using a paging predicate.
+     *
+     * @param map the map
+     * @return the tickets
+     */
+    private Stream<Ticket> getTicketsStream(final IMap<String, Ticket> map) {
+        val fetchSize = pageSize > 0 ? (int) Math.min(pageSize, Integer.MAX_VALUE) : DEFAULT_FETCH_SIZE;
+        if (map instanceof MapProxyImpl) {
+            val proxy = (MapProxyImpl<String, Ticket>) map;
+            val partitionCount = this.hazelcastInstance.getPartitionService().getPartitions().size();
+            return IntStream.range(0, partitionCount)
+                .boxed()
+                .flatMap(partitionId -> StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(proxy.iterator(fetchSize, partitionId, true), Spliterator.ORDERED), false))
+                .map(Map.Entry::getValue);
+        }
+        val predicate = new PagingPredicate<String, Ticket>(fetchSize);
+        return Stream.iterate(map.values(predicate), page -> !page.isEmpty(), page -> {
+            predicate.nextPage();
+            return map.values(predicate);
+        }).flatMap(Collection::stream);
+    }
+
     private IMap<String, Ticket> getTicketMapInstance(final String mapName) {
         try {
             val inst = hazelcastInstance.<String, Ticket>getMap(mapName);
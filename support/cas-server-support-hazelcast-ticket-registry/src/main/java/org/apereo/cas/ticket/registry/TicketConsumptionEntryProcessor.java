@@ -0,0 +1,40 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketState;
+
+import com.hazelcast.map.AbstractEntryProcessor;
+import lombok.val;
+
+import java.util.Map;
+
+/**
+ * This is {@link TicketConsumptionEntryProcessor}, which records a use of the ticket stored in a Hazelcast map
+ * on the member that owns the entry. Entry processors of the same key run one after the other, so concurrent
+ * consumers of a ticket, on any member of the cluster, observe each other's use of the ticket.
+ * Tickets that are used up as a result are removed from the map.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class TicketConsumptionEntryProcessor extends AbstractEntryProcessor<String, Ticket> {
+    private static final long serialVersionUID = 5378281720531286514L;
+
+    /**
+     * Record a use of the stored ticket.
+     *
+     * @param entry the entry
+     * @return {@link Boolean#TRUE} if the stored ticket was consumed, or {@link Boolean#FALSE}
+     * if no ticket is stored under the key or the stored ticket has expired.
+     */
+    @Override
+    public Object process(final Map.Entry<String, Ticket> entry) {
+        val ticket = entry.getValue();
+        if (!(ticket instanceof TicketState) || ticket.isExpired()) {
+            return Boolean.FALSE;
+        }
+        ((TicketState) ticket).update();
+        entry.setValue(ticket.isExpired() ? null : ticket);
+        return Boolean.TRUE;
+    }
+}
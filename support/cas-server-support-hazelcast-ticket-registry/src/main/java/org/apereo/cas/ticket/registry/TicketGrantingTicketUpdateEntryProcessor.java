@@ -0,0 +1,76 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+
+import com.hazelcast.map.AbstractEntryProcessor;
+import lombok.val;
+
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * This is {@link TicketGrantingTicketUpdateEntryProcessor}, which applies the state of a ticket-granting ticket
+ * that changes as the ticket is used to the ticket stored in a Hazelcast map. This includes the services
+ * and proxy-granting tickets issued by the ticket, its descendant tickets and its usage statistics.
+ * The processor runs on the member that owns the entry and on its backups, so the authentication,
+ * expiration policy and parent tickets are not shipped across the cluster each time the ticket is updated.
+ * The stored state is replaced rather than merged, which keeps the processor idempotent.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class TicketGrantingTicketUpdateEntryProcessor extends AbstractEntryProcessor<String, Ticket> {
+    private static final long serialVersionUID = -2915726301184632417L;
+
+    private final HashMap<String, Service> services;
+
+    private final HashMap<String, Service> proxyGrantingTickets;
+
+    private final HashSet<String> descendantTickets;
+
+    private final ZonedDateTime lastTimeUsed;
+
+    private final ZonedDateTime previousTimeUsed;
+
+    private final int countOfUses;
+
+    public TicketGrantingTicketUpdateEntryProcessor(final TicketGrantingTicketImpl ticket) {
+        this.services = new HashMap<>(ticket.getServices());
+        this.proxyGrantingTickets = new HashMap<>(ticket.getProxyGrantingTickets());
+        this.descendantTickets = new HashSet<>(ticket.getDescendantTickets());
+        this.lastTimeUsed = ticket.getLastTimeUsed();
+        this.previousTimeUsed = ticket.getPreviousTimeUsed();
+        this.countOfUses = ticket.getCountOfUses();
+    }
+
+    /**
+     * Apply the state to the stored ticket.
+     *
+     * @param entry the entry
+     * @return {@link Boolean#TRUE} if the stored ticket was updated, or {@link Boolean#FALSE}
+     * if no ticket-granting ticket is stored under the key and the ticket needs to be stored as a whole.
+     */
+    @Override
+    public Object process(final Map.Entry<String, Ticket> entry) {
+        val value = entry.getValue();
+        if (!(value instanceof TicketGrantingTicketImpl)) {
+            return Boolean.FALSE;
+        }
+        val ticket = (TicketGrantingTicketImpl) value;
+        ticket.getServices().clear();
+        ticket.getServices().putAll(this.services);
+        ticket.getProxyGrantingTickets().clear();
+        ticket.getProxyGrantingTickets().putAll(this.proxyGrantingTickets);
+        ticket.getDescendantTickets().clear();
+        ticket.getDescendantTickets().addAll(this.descendantTickets);
+        ticket.setLastTimeUsed(this.lastTimeUsed);
+        ticket.setPreviousTimeUsed(this.previousTimeUsed);
+        ticket.setCountOfUses(this.countOfUses);
+        entry.setValue(ticket);
+        return Boolean.TRUE;
+    }
+}
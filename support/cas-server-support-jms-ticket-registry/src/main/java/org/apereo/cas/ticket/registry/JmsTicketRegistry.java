@@ -13,6 +13,8 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.jms.core.JmsTemplate;
 
+import java.util.Objects;
+
 /**
  * This is {@link JmsTicketRegistry}.
  *
@@ -66,6 +68,27 @@ public class JmsTicketRegistry extends DefaultTicketRegistry {
         return result;
     }
 
+    /**
+     * Consume the ticket and share its new state with other nodes. Note that since other nodes
+     * learn of the use of the ticket asynchronously, the ticket is only consumed atomically on this node.
+     *
+     * @param ticket the ticket
+     * @return true/false
+     */
+    @Override
+    public boolean consumeTicket(final Ticket ticket) {
+        val result = super.consumeTicket(ticket);
+        if (result) {
+            val current = getTicket(ticket.getId(), Objects::nonNull);
+            if (current == null) {
+                publishMessageToQueue(new DeleteTicketMessageQueueCommand(id, ticket.getId()));
+            } else {
+                publishMessageToQueue(new UpdateTicketMessageQueueCommand(id, current));
+            }
+        }
+        return result;
+    }
+
     private void publishMessageToQueue(final BaseMessageQueueCommand cmd) {
         jmsTemplate.convertAndSend(QUEUE_DESTINATION, cmd,
             message -> {
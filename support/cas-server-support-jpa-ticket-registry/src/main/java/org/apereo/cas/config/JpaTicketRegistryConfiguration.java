@@ -5,18 +5,24 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.jpa.JpaConfigDataHolder;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.JpaBeans;
+import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.ticket.AbstractTicket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.registry.JpaTicketRegistry;
+import org.apereo.cas.ticket.registry.JpaTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.support.JpaLockingStrategy;
 import org.apereo.cas.ticket.registry.support.LockingStrategy;
 import org.apereo.cas.util.CoreTicketUtils;
 import org.apereo.cas.util.InetAddressUtils;
 import org.apereo.cas.util.spring.ApplicationContextProvider;
 
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.cfg.Environment;
 import org.reflections.Reflections;
 import org.reflections.scanners.SubTypesScanner;
 import org.reflections.util.ClasspathHelper;
@@ -51,6 +57,7 @@ import java.util.stream.Collectors;
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 @EnableTransactionManagement(proxyTargetClass = true)
 @AutoConfigureBefore(CasCoreTicketsConfiguration.class)
+@Slf4j
 public class JpaTicketRegistryConfiguration {
 
     @Autowired
@@ -76,13 +83,18 @@ public class JpaTicketRegistryConfiguration {
     @Bean
     public LocalContainerEntityManagerFactoryBean ticketEntityManagerFactory() {
         ApplicationContextProvider.holdApplicationContext(applicationContext);
-        return JpaBeans.newHibernateEntityManagerFactoryBean(
+        val bean = JpaBeans.newHibernateEntityManagerFactoryBean(
             new JpaConfigDataHolder(
                 JpaBeans.newHibernateJpaVendorAdapter(casProperties.getJdbc()),
                 "jpaTicketRegistryContext",
                 ticketPackagesToScan(),
                 dataSourceTicket()),
             casProperties.getTicket().getRegistry().getJpa());
+        val properties = bean.getJpaPropertyMap();
+        properties.putIfAbsent(Environment.ORDER_INSERTS, Boolean.TRUE);
+        properties.putIfAbsent(Environment.ORDER_UPDATES, Boolean.TRUE);
+        properties.putIfAbsent(Environment.BATCH_VERSIONED_DATA, Boolean.TRUE);
+        return bean;
     }
 
     @Bean
@@ -108,6 +120,27 @@ public class JpaTicketRegistryConfiguration {
         return bean;
     }
 
+    @Autowired
+    @Bean
+    public TicketRegistryCleaner ticketRegistryCleaner(@Qualifier("lockingStrategy") final LockingStrategy lockingStrategy,
+                                                       @Qualifier("logoutManager") final LogoutManager logoutManager,
+                                                       @Qualifier("ticketRegistry") final TicketRegistry ticketRegistry,
+                                                       @Qualifier("ticketCatalog") final TicketCatalog ticketCatalog,
+                                                       @Qualifier("ticketTransactionManager") final PlatformTransactionManager ticketTransactionManager) {
+        val cleaner = casProperties.getTicket().getRegistry().getCleaner();
+        if (cleaner.getSchedule().isEnabled()) {
+            LOGGER.debug("Ticket registry cleaner for JPA is enabled.");
+            val jpa = casProperties.getTicket().getRegistry().getJpa();
+            val cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(jpa.getCrypto(), "jpa");
+            return new JpaTicketRegistryCleaner(lockingStrategy, logoutManager, ticketRegistry,
+                cleaner.getParallelism(), cleaner.getBatchSize(), ticketCatalog, cipher.isEnabled(), ticketTransactionManager);
+        }
+        LOGGER.debug("Ticket registry cleaner for JPA is not enabled. "
+            + "Expired tickets are not forcefully collected and cleaned by CAS. It is up to the ticket registry itself to "
+            + "clean up tickets based on expiration and eviction policies.");
+        return NoOpTicketRegistryCleaner.getInstance();
+    }
+
     @Bean
     public LockingStrategy lockingStrategy() {
         val registry = casProperties.getTicket().getRegistry();
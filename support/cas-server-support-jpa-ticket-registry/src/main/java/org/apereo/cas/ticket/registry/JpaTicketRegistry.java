@@ -1,16 +1,17 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.AbstractTicket;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
-import org.hibernate.LockOptions;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,9 +21,10 @@ import javax.persistence.LockModeType;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
-import javax.persistence.TypedQuery;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -31,6 +33,10 @@ import java.util.stream.Stream;
 /**
  * JPA implementation of a CAS {@link TicketRegistry}. This implementation of
  * ticket registry is suitable for HA environments.
+ * <p>
+ * Tickets are stored along with the earliest instant at which they could expire,
+ * which is kept in an indexed column so that expired tickets can be located, and removed
+ * by {@link JpaTicketRegistryCleaner}, without loading and decoding every row. Full scans are paged by ticket id.
  *
  * @author Scott Battaglia
  * @author Marvin S. Addison
@@ -43,6 +49,20 @@ import java.util.stream.Stream;
 public class JpaTicketRegistry extends AbstractTicketRegistry {
     private static final int STREAM_BATCH_SIZE = 100;
 
+    private static final int DELETE_BATCH_SIZE = 500;
+
+    /**
+     * Expiration time of tickets whose expiration policy reports no positive timeout,
+     * which are therefore never due for removal by their expiration time.
+     */
+    private static final long NO_EXPIRATION_TIME = Long.MAX_VALUE;
+
+    /**
+     * Granularity to which projected expiration times are rounded down when tickets found to be
+     * still valid are given a new expiration time, so that those may be updated together.
+     */
+    private static final long EXPIRATION_TIME_GRANULARITY_IN_MILLIS = 60_000;
+
     private final LockModeType lockType;
     private final TicketCatalog ticketCatalog;
 
@@ -53,22 +73,106 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return ((Number) result).longValue();
     }
 
+    /**
+     * Gets the instant, in epoch millis, past which the ticket is considered for removal.
+     * Tickets whose expiration policy reports no positive timeout are given an expiration time
+     * that never passes, and are only removed once they are found to be expired otherwise.
+     *
+     * @param ticket the ticket
+     * @param now    the current time in epoch millis
+     * @return the expiration time
+     */
+    private static long getExpirationTime(final Ticket ticket, final long now) {
+        if (ticket.getExpirationPolicy() == null) {
+            return NO_EXPIRATION_TIME;
+        }
+        if (ticket.isExpired()) {
+            return now;
+        }
+        val expirationTime = TicketExpirationIndex.getProjectedExpiration(ticket, now);
+        return expirationTime > now ? expirationTime : NO_EXPIRATION_TIME;
+    }
+
+    private static void setExpirationTime(final Ticket ticket, final Long expirationTime) {
+        if (ticket instanceof AbstractTicket) {
+            ((AbstractTicket) ticket).setExpirationTime(expirationTime);
+        } else if (ticket instanceof EncodedTicket) {
+            ((EncodedTicket) ticket).setExpirationTime(expirationTime);
+        }
+    }
+
+    private static <T> Stream<List<T>> partition(final List<T> values, final int size) {
+        return Stream.iterate(0, index -> index < values.size(), index -> index + size)
+            .map(index -> values.subList(index, Math.min(index + size, values.size())));
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         LOGGER.trace("Updating ticket [{}]", ticket);
-        val encodeTicket = this.encodeTicket(ticket);
+        val encodeTicket = encodeTicketWithExpirationTime(ticket);
         this.entityManager.merge(encodeTicket);
         LOGGER.debug("Updated ticket [{}].", encodeTicket);
         return encodeTicket;
     }
 
+    /**
+     * Consume the ticket once its row is locked for writing and its state is reloaded, which holds off
+     * concurrent consumers of the same ticket on all nodes until the transaction completes.
+     *
+     * @param ticket the ticket
+     * @return true/false
+     */
+    @Override
+    public boolean consumeTicket(final Ticket ticket) {
+        val encTicketId = encodeTicketId(ticket.getId());
+        val entityClass = getTicketImplementationClass(this.ticketCatalog.find(ticket));
+        val entity = this.entityManager.find(entityClass, encTicketId);
+        if (entity == null) {
+            LOGGER.debug("Ticket [{}] could not be consumed; it may have been used up or removed", ticket.getId());
+            return false;
+        }
+        try {
+            this.entityManager.refresh(entity, LockModeType.PESSIMISTIC_WRITE);
+        } catch (final EntityNotFoundException e) {
+            LOGGER.debug("Ticket [{}] could not be consumed; it has been removed", ticket.getId());
+            LOGGER.trace(e.getMessage(), e);
+            return false;
+        }
+        val current = decodeTicket(entity);
+        if (!(current instanceof TicketState) || current.isExpired()) {
+            return false;
+        }
+        ((TicketState) current).update();
+        if (current.isExpired()) {
+            LOGGER.debug("Ticket [{}] is used up and is removed from the registry", ticket.getId());
+            this.entityManager.remove(entity);
+            return true;
+        }
+        updateTicket(current);
+        return true;
+    }
+
     @Override
     public void addTicket(final Ticket ticket) {
-        val encodeTicket = encodeTicket(ticket);
+        val encodeTicket = encodeTicketWithExpirationTime(ticket);
         this.entityManager.persist(encodeTicket);
         LOGGER.debug("Added ticket [{}] to registry.", encodeTicket);
     }
 
+    /**
+     * Update and add the tickets in the same transaction, so that changes
+     * are flushed to the database together when the transaction commits.
+     *
+     * @param ticketsToUpdate the tickets to update
+     * @param ticketsToAdd    the tickets to add
+     */
+    @Override
+    public void updateAndAddTickets(final Collection<? extends Ticket> ticketsToUpdate,
+                                    final Collection<? extends Ticket> ticketsToAdd) {
+        ticketsToUpdate.forEach(this::updateTicket);
+        ticketsToAdd.forEach(this::addTicket);
+    }
+
     @Override
     public long deleteAll() {
         return this.ticketCatalog.findAll()
@@ -108,32 +212,15 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Collection<? extends Ticket> getTickets() {
-        if (isCipherExecutorEnabled()) {
-            val sql = String.format("SELECT t FROM %s t", EncodedTicket.class.getSimpleName());
-            val query = (org.hibernate.query.Query<Ticket>) entityManager.createQuery(sql, Ticket.class);
-            query.setLockMode(this.lockType);
-            return query
-                .getResultStream()
-                .map(this::decodeTicket)
-                .collect(Collectors.toList());
-        }
-
-        return this.ticketCatalog.findAll()
-            .stream()
-            .map(t -> {
-                val sql = String.format("SELECT t FROM %s t", getTicketEntityName(t));
-                val query = entityManager.createQuery(sql, getTicketImplementationClass(t));
-                query.setLockMode(this.lockType);
-                return query;
-            })
-            .map(TypedQuery::getResultList)
-            .flatMap(List::stream)
+        return getTicketEntities(this.lockType)
             .map(this::decodeTicket)
             .collect(Collectors.toList());
     }
 
     /**
      * Gets a stream which loads tickets from the database in batches instead of all at once to prevent OOM situations.
+     * Batches are paged by ticket id, so each batch is fetched with a separate query that seeks past the
+     * last ticket id of the previous batch rather than skipping over rows.
      * <p>
      * This method purposefully doesn't lock any rows, because the stream traversing can take an indeterminate
      * amount of time, and logging in to an application with an existing TGT will update the TGT row in the database.
@@ -142,27 +229,28 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
      */
     @Override
     public Stream<? extends Ticket> getTicketsStream() {
-        if (isCipherExecutorEnabled()) {
-            val sql = String.format("SELECT t FROM %s t", EncodedTicket.class.getSimpleName());
-            val query = (org.hibernate.query.Query<Ticket>) entityManager.createQuery(sql, Ticket.class);
-            query.setFetchSize(STREAM_BATCH_SIZE);
-            query.setLockOptions(LockOptions.NONE);
-            return query
-                .stream()
-                .map(this::decodeTicket);
-        }
+        return getTicketEntities(LockModeType.NONE).map(this::decodeTicket);
+    }
 
-        return this.ticketCatalog.findAll()
+    /**
+     * Gets expired tickets. Only rows whose expiration time has passed are loaded and decoded, one page at a time
+     * as the stream is consumed. Rows stored before the expiration time was recorded carry none, and are examined
+     * once as well. Tickets among those that turn out to be still valid are given a new expiration time, rounded down
+     * so that the tickets of a page are updated with one statement per distinct expiration time.
+     *
+     * @return the expired tickets
+     */
+    @Override
+    public Stream<? extends Ticket> getExpiredTickets() {
+        val now = System.currentTimeMillis();
+        val criteria = "(t.expirationTime IS NULL OR t.expirationTime <= :now)";
+        return getTicketEntityClasses()
             .stream()
-            .map(t -> {
-                val sql = String.format("SELECT t FROM %s t", getTicketEntityName(t));
-                val query = (org.hibernate.query.Query<Ticket>) entityManager.createQuery(sql, getTicketImplementationClass(t));
-                query.setFetchSize(STREAM_BATCH_SIZE);
-                query.setLockOptions(LockOptions.NONE);
-                return query;
-            })
-            .flatMap(org.hibernate.query.Query::stream)
-            .map(this::decodeTicket);
+            .flatMap(entityClass -> {
+                val entityName = entityClass.getSimpleName();
+                return getTicketEntityPages(entityName, entityClass, criteria, now, LockModeType.NONE)
+                    .flatMap(page -> getExpiredTickets(entityName, page, now).stream());
+            });
     }
 
     @Override
@@ -199,7 +287,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         val md = this.ticketCatalog.find(ticketIdToDelete);
 
         if (md.getProperties().isCascade() && !isCipherExecutorEnabled()) {
-            totalCount = deleteTicketGrantingTickets(encTicketId);
+            totalCount = deleteTicketGrantingTickets(List.of(encTicketId));
         } else {
             val ticketEntityName = getTicketEntityName(md);
             try {
@@ -215,36 +303,176 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return totalCount != 0;
     }
 
+    @Override
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        val ticketIdsByDefinition = ticketIds.stream()
+            .filter(this::isTicketDefined)
+            .collect(Collectors.groupingBy(this.ticketCatalog::find));
+        return ticketIdsByDefinition.entrySet()
+            .stream()
+            .mapToInt(entry -> {
+                val md = entry.getKey();
+                val encTicketIds = entry.getValue().stream().map(this::encodeTicketId).collect(Collectors.toList());
+                if (md.getProperties().isCascade() && !isCipherExecutorEnabled()) {
+                    return partition(encTicketIds, DELETE_BATCH_SIZE).mapToInt(this::deleteTicketGrantingTickets).sum();
+                }
+                val sql = String.format("DELETE FROM %s o WHERE o.id IN :ids", getTicketEntityName(md));
+                return partition(encTicketIds, DELETE_BATCH_SIZE)
+                    .mapToInt(ids -> {
+                        val query = entityManager.createQuery(sql);
+                        query.setParameter("ids", ids);
+                        return query.executeUpdate();
+                    })
+                    .sum();
+            })
+            .sum();
+    }
+
+    private boolean isTicketDefined(final String ticketId) {
+        if (this.ticketCatalog.find(ticketId) == null) {
+            LOGGER.warn("No ticket definition could be found in the catalog to match [{}]; the ticket is not deleted", ticketId);
+            return false;
+        }
+        return true;
+    }
+
     /**
-     * Delete ticket granting tickets.
+     * Delete ticket granting tickets along with the service tickets and proxy-granting tickets
+     * they have issued, using one statement per table for the whole collection.
      *
-     * @param ticketId the ticket id
+     * @param ticketIds the ticket ids
      * @return the total count
      */
-    private int deleteTicketGrantingTickets(final String ticketId) {
+    private int deleteTicketGrantingTickets(final Collection<String> ticketIds) {
         var totalCount = 0;
 
         val st = this.ticketCatalog.find(ServiceTicket.PREFIX);
 
-        val sql1 = String.format("DELETE FROM %s s WHERE s.ticketGrantingTicket.id = :id", getTicketEntityName(st));
+        val sql1 = String.format("DELETE FROM %s s WHERE s.ticketGrantingTicket.id IN :ids", getTicketEntityName(st));
         var query = entityManager.createQuery(sql1);
-        query.setParameter("id", ticketId);
+        query.setParameter("ids", ticketIds);
         totalCount += query.executeUpdate();
 
         val tgt = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
-        val sql2 = String.format("DELETE FROM %s s WHERE s.ticketGrantingTicket.id = :id", getTicketEntityName(tgt));
+        val sql2 = String.format("DELETE FROM %s s WHERE s.ticketGrantingTicket.id IN :ids", getTicketEntityName(tgt));
         query = entityManager.createQuery(sql2);
-        query.setParameter("id", ticketId);
+        query.setParameter("ids", ticketIds);
         totalCount += query.executeUpdate();
 
-        val sql3 = String.format("DELETE FROM %s t WHERE t.id = :id", getTicketEntityName(tgt));
+        val sql3 = String.format("DELETE FROM %s t WHERE t.id IN :ids", getTicketEntityName(tgt));
         query = entityManager.createQuery(sql3);
-        query.setParameter("id", ticketId);
+        query.setParameter("ids", ticketIds);
         totalCount += query.executeUpdate();
 
         return totalCount;
     }
 
+    private Ticket encodeTicketWithExpirationTime(final Ticket ticket) {
+        val expirationTime = getExpirationTime(ticket, System.currentTimeMillis());
+        setExpirationTime(ticket, expirationTime);
+        val encodedTicket = encodeTicket(ticket);
+        setExpirationTime(encodedTicket, expirationTime);
+        return encodedTicket;
+    }
+
+    private List<Ticket> getExpiredTickets(final String entityName, final List<Ticket> entities, final long now) {
+        val expiredTickets = new ArrayList<Ticket>(entities.size());
+        val ticketIdsByExpirationTime = new HashMap<Long, List<String>>();
+        entities.forEach(entity -> {
+            val ticket = decodeTicket(entity);
+            if (ticket == null) {
+                return;
+            }
+            if (ticket.isExpired()) {
+                expiredTickets.add(ticket);
+            } else {
+                val expirationTime = getExpirationTime(ticket, now);
+                val roundedExpirationTime = expirationTime == NO_EXPIRATION_TIME
+                    ? expirationTime
+                    : Math.max(now, expirationTime - expirationTime % EXPIRATION_TIME_GRANULARITY_IN_MILLIS);
+                ticketIdsByExpirationTime.computeIfAbsent(roundedExpirationTime, k -> new ArrayList<>()).add(entity.getId());
+            }
+        });
+        ticketIdsByExpirationTime.forEach((expirationTime, ticketIds) -> updateExpirationTime(entityName, ticketIds, expirationTime));
+        LOGGER.debug("Examined [{}] ticket(s) of type [{}] due for expiration and found [{}] expired ticket(s)",
+            entities.size(), entityName, expiredTickets.size());
+        return expiredTickets;
+    }
+
+    private void updateExpirationTime(final String entityName, final List<String> ticketIds, final long expirationTime) {
+        val sql = String.format("UPDATE %s t SET t.expirationTime = :expirationTime WHERE t.id IN :ids", entityName);
+        val query = entityManager.createQuery(sql);
+        query.setParameter("expirationTime", expirationTime);
+        query.setParameter("ids", ticketIds);
+        query.executeUpdate();
+    }
+
+    private Collection<Class<? extends Ticket>> getTicketEntityClasses() {
+        if (isCipherExecutorEnabled()) {
+            return List.of(EncodedTicket.class);
+        }
+        return this.ticketCatalog.findAll()
+            .stream()
+            .map(this::getTicketImplementationClass)
+            .distinct()
+            .collect(Collectors.toList());
+    }
+
+    private Stream<Ticket> getTicketEntities(final LockModeType lockModeType) {
+        return getTicketEntityClasses()
+            .stream()
+            .flatMap(entityClass -> getTicketEntities(entityClass.getSimpleName(), entityClass, null, null, lockModeType));
+    }
+
+    /**
+     * Gets ticket entities of the given type, loaded in batches ordered by ticket id.
+     * Each batch is fetched lazily once the previous batch is consumed.
+     *
+     * @param entityName   the entity name
+     * @param entityClass  the entity class
+     * @param criteria     additional query criteria, which may refer to the {@code now} parameter
+     * @param now          the current time in epoch millis, if referenced by the criteria
+     * @param lockModeType the lock mode type
+     * @return the ticket entities
+     */
+    private Stream<Ticket> getTicketEntities(final String entityName, final Class<? extends Ticket> entityClass,
+                                             final String criteria, final Long now, final LockModeType lockModeType) {
+        return getTicketEntityPages(entityName, entityClass, criteria, now, lockModeType).flatMap(List::stream);
+    }
+
+    private Stream<List<Ticket>> getTicketEntityPages(final String entityName, final Class<? extends Ticket> entityClass,
+                                                      final String criteria, final Long now, final LockModeType lockModeType) {
+        val firstPage = getTicketEntities(entityName, entityClass, criteria, now, lockModeType, null);
+        return Stream.iterate(firstPage, page -> !page.isEmpty(),
+            page -> page.size() < STREAM_BATCH_SIZE
+                ? List.of()
+                : getTicketEntities(entityName, entityClass, criteria, now, lockModeType, page.get(page.size() - 1).getId()));
+    }
+
+    private List<Ticket> getTicketEntities(final String entityName, final Class<? extends Ticket> entityClass,
+                                           final String criteria, final Long now, final LockModeType lockModeType,
+                                           final String lastTicketId) {
+        val conditions = new ArrayList<String>(2);
+        if (lastTicketId != null) {
+            conditions.add("t.id > :lastTicketId");
+        }
+        if (criteria != null) {
+            conditions.add(criteria);
+        }
+        val where = conditions.isEmpty() ? StringUtils.EMPTY : " WHERE " + String.join(" AND ", conditions);
+        val sql = String.format("SELECT t FROM %s t%s ORDER BY t.id", entityName, where);
+        val query = entityManager.createQuery(sql, entityClass);
+        if (lastTicketId != null) {
+            query.setParameter("lastTicketId", lastTicketId);
+        }
+        if (now != null) {
+            query.setParameter("now", now);
+        }
+        query.setLockMode(lockModeType);
+        query.setMaxResults(STREAM_BATCH_SIZE);
+        return new ArrayList<>(query.getResultList());
+    }
+
     private Class<? extends Ticket> getTicketImplementationClass(final TicketDefinition tk) {
         if (isCipherExecutorEnabled()) {
             return EncodedTicket.class;
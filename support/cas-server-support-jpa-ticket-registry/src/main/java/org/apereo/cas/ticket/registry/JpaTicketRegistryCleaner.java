@@ -0,0 +1,87 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.support.LockingStrategy;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+/**
+ * This is {@link JpaTicketRegistryCleaner}. Before expired tickets are examined and removed
+ * individually, tickets whose stored expiration time has passed are removed from each ticket table
+ * using a single range operation over the indexed expiration column. Ticket-granting tickets and tickets
+ * that cascade to others are left for the regular cleanup, as they need to be logged out and have their
+ * children removed. Range deletions are skipped altogether when tickets are encrypted, since the type of
+ * an encrypted ticket is not known until it is decoded. Range deletions run and are committed in their own
+ * transaction before the regular cleanup starts, so that concurrent cleanup workers never wait on rows
+ * locked by an uncommitted range deletion.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class JpaTicketRegistryCleaner extends DefaultTicketRegistryCleaner {
+    private static final long serialVersionUID = 4473520154617813204L;
+
+    private final transient TicketCatalog ticketCatalog;
+
+    private final boolean cipherExecutorEnabled;
+
+    private final transient TransactionTemplate transactionTemplate;
+
+    @PersistenceContext(unitName = "ticketEntityManagerFactory")
+    private transient EntityManager entityManager;
+
+    public JpaTicketRegistryCleaner(final LockingStrategy lockingStrategy, final LogoutManager logoutManager,
+                                    final TicketRegistry ticketRegistry, final int parallelism, final int batchSize,
+                                    final TicketCatalog ticketCatalog, final boolean cipherExecutorEnabled,
+                                    final PlatformTransactionManager transactionManager) {
+        super(lockingStrategy, logoutManager, ticketRegistry, parallelism, batchSize);
+        this.ticketCatalog = ticketCatalog;
+        this.cipherExecutorEnabled = cipherExecutorEnabled;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    protected int cleanInternal() {
+        val count = this.transactionTemplate.execute(status -> deleteExpiredTickets());
+        return (count == null ? 0 : count) + super.cleanInternal();
+    }
+
+    /**
+     * Delete tickets whose expiration time has passed, using a single statement per ticket table.
+     *
+     * @return the number of tickets deleted
+     */
+    protected int deleteExpiredTickets() {
+        if (this.cipherExecutorEnabled) {
+            LOGGER.trace("Tickets are encrypted; expired tickets cannot be removed by their expiration time");
+            return 0;
+        }
+        val now = System.currentTimeMillis();
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(definition -> !definition.getProperties().isCascade())
+            .filter(definition -> !TicketGrantingTicket.class.isAssignableFrom(definition.getImplementationClass()))
+            .map(definition -> definition.getImplementationClass().getSimpleName())
+            .distinct()
+            .mapToInt(entityName -> {
+                val sql = String.format("DELETE FROM %s t WHERE t.expirationTime <= :now", entityName);
+                val query = this.entityManager.createQuery(sql);
+                query.setParameter("now", now);
+                val count = query.executeUpdate();
+                LOGGER.debug("Removed [{}] expired ticket(s) of type [{}] by expiration time", count, entityName);
+                return count;
+            })
+            .sum();
+    }
+}
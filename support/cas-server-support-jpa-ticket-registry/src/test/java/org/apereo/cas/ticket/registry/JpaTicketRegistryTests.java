@@ -23,6 +23,7 @@ import org.apereo.cas.config.JpaTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
 import org.apereo.cas.ticket.DefaultSecurityTokenTicketFactory;
+import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
 import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
@@ -41,6 +42,7 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -111,4 +113,15 @@ public class JpaTicketRegistryTests extends BaseTicketRegistryTests {
         this.ticketRegistry.deleteTicket(token);
         assertNull(this.ticketRegistry.getTicket(token.getId()));
     }
+
+    @RepeatedTest(2)
+    public void verifyTicketsStreamedInBatches() {
+        val originalAuthn = CoreAuthenticationTestUtils.getAuthentication();
+        val count = 250;
+        IntStream.range(0, count).forEach(i -> this.ticketRegistry.addTicket(
+            new TicketGrantingTicketImpl(ticketGrantingTicketId + '-' + i, originalAuthn, NeverExpiresExpirationPolicy.INSTANCE)));
+        assertEquals(count, this.ticketRegistry.getTicketsStream().count());
+        assertEquals(count, this.ticketRegistry.getTickets().size());
+        assertEquals(count, this.ticketRegistry.getTicketsStream().map(Ticket::getId).distinct().count());
+    }
 }
@@ -1,4 +1,4 @@
-package org.apereo.cas.memcached.kryo;
+package org.apereo.cas.kryo;
 
 import org.apereo.cas.DefaultMessageDescriptor;
 import org.apereo.cas.authentication.AttributeMergingStrategy;
@@ -22,13 +22,13 @@ import org.apereo.cas.authentication.principal.SimplePrincipal;
 import org.apereo.cas.authentication.principal.SimpleWebApplicationServiceImpl;
 import org.apereo.cas.authentication.principal.cache.CachingPrincipalAttributesRepository;
 import org.apereo.cas.authentication.support.password.PasswordExpiringWarningMessageDescriptor;
-import org.apereo.cas.memcached.kryo.serial.ImmutableNativeJavaListSerializer;
-import org.apereo.cas.memcached.kryo.serial.ImmutableNativeJavaSetSerializer;
-import org.apereo.cas.memcached.kryo.serial.RegisteredServiceSerializer;
-import org.apereo.cas.memcached.kryo.serial.SimpleWebApplicationServiceSerializer;
-import org.apereo.cas.memcached.kryo.serial.ThrowableSerializer;
-import org.apereo.cas.memcached.kryo.serial.URLSerializer;
-import org.apereo.cas.memcached.kryo.serial.ZonedDateTimeSerializer;
+import org.apereo.cas.kryo.serial.ImmutableNativeJavaListSerializer;
+import org.apereo.cas.kryo.serial.ImmutableNativeJavaSetSerializer;
+import org.apereo.cas.kryo.serial.RegisteredServiceSerializer;
+import org.apereo.cas.kryo.serial.SimpleWebApplicationServiceSerializer;
+import org.apereo.cas.kryo.serial.ThrowableSerializer;
+import org.apereo.cas.kryo.serial.URLSerializer;
+import org.apereo.cas.kryo.serial.ZonedDateTimeSerializer;
 import org.apereo.cas.services.AnonymousRegisteredServiceUsernameAttributeProvider;
 import org.apereo.cas.services.ChainingAttributeReleasePolicy;
 import org.apereo.cas.services.DefaultRegisteredServiceAccessStrategy;
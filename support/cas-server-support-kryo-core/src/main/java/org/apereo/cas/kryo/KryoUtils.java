@@ -0,0 +1,48 @@
+package org.apereo.cas.kryo;
+
+import org.apereo.cas.configuration.model.support.kryo.KryoSerializationProperties;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * This is {@link KryoUtils}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@UtilityClass
+public class KryoUtils {
+
+    /**
+     * New kryo pool.
+     *
+     * @param kryoProperties the kryo properties
+     * @return the kryo pool
+     */
+    public static CasKryoPool newKryoPool(final KryoSerializationProperties kryoProperties) {
+        return newKryoPool(kryoProperties, new ArrayList<>());
+    }
+
+    /**
+     * New kryo pool.
+     *
+     * @param kryoProperties          the kryo properties
+     * @param kryoSerializableClasses the kryo serializable classes
+     * @return the kryo pool
+     */
+    public static CasKryoPool newKryoPool(final KryoSerializationProperties kryoProperties,
+                                          final Collection<Class> kryoSerializableClasses) {
+        LOGGER.debug("Creating kryo pool with registration required [{}], objects by reference [{}] and auto-reset [{}]",
+            kryoProperties.isRegistrationRequired(), kryoProperties.isObjectsByReference(), kryoProperties.isAutoReset());
+        return new CasKryoPool(kryoSerializableClasses,
+            kryoProperties.isWarnUnregisteredClasses(),
+            kryoProperties.isRegistrationRequired(),
+            kryoProperties.isObjectsByReference(),
+            kryoProperties.isAutoReset());
+    }
+}
@@ -0,0 +1,19 @@
+package org.apereo.cas.kryo;
+
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.platform.suite.api.SelectClasses;
+import org.junit.runner.RunWith;
+
+/**
+ * This is {@link KryoCoreTestsSuite}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@SelectClasses({
+    KryoUtilsTests.class,
+    ZonedDateTimeSerializerTests.class
+})
+@RunWith(JUnitPlatform.class)
+public class KryoCoreTestsSuite {
+}
@@ -0,0 +1,29 @@
+package org.apereo.cas.kryo;
+
+import org.apereo.cas.configuration.model.support.kryo.KryoSerializationProperties;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link KryoUtilsTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class KryoUtilsTests {
+
+    @Test
+    public void verifyPoolHonorsRegistrationSettings() {
+        val props = new KryoSerializationProperties();
+        try (val kryo = KryoUtils.newKryoPool(props).borrow()) {
+            assertFalse(kryo.isRegistrationRequired());
+        }
+        props.setRegistrationRequired(true);
+        try (val kryo = KryoUtils.newKryoPool(props).borrow()) {
+            assertTrue(kryo.isRegistrationRequired());
+        }
+    }
+}
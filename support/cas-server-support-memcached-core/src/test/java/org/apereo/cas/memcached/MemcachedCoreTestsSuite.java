@@ -1,7 +1,6 @@
 package org.apereo.cas.memcached;
 
 import org.apereo.cas.memcached.kryo.CasKryoTranscoderTests;
-import org.apereo.cas.memcached.kryo.ZonedDateTimeSerializerTests;
 
 import org.junit.platform.runner.JUnitPlatform;
 import org.junit.platform.suite.api.SelectClasses;
@@ -14,8 +13,7 @@ import org.junit.runner.RunWith;
  * @since 6.0.0
  */
 @SelectClasses({
-    CasKryoTranscoderTests.class,
-    ZonedDateTimeSerializerTests.class
+    CasKryoTranscoderTests.class
 })
 @RunWith(JUnitPlatform.class)
 public class MemcachedCoreTestsSuite {
@@ -85,13 +85,13 @@ public class MemcachedTicketRegistry extends AbstractTicketRegistry implements D
         val clientFromPool = getClientFromPool();
         val ticketId = encodeTicketId(ticketIdToDelete);
         try {
-            clientFromPool.delete(ticketId);
+            return Boolean.TRUE.equals(clientFromPool.delete(ticketId).get());
         } catch (final Exception e) {
             LOGGER.error("Ticket not found or is already removed. Failed deleting [{}]", ticketId, e);
         } finally {
             returnClientToPool(clientFromPool);
         }
-        return true;
+        return false;
     }
 
     @Override
@@ -58,10 +58,12 @@ public class MongoDbTicketRegistryConfiguration {
     public TicketRegistryCleaner ticketRegistryCleaner(@Qualifier("lockingStrategy") final LockingStrategy lockingStrategy,
                                                        @Qualifier("logoutManager") final LogoutManager logoutManager,
                                                        @Qualifier("ticketRegistry") final TicketRegistry ticketRegistry) {
-        val isCleanerEnabled = casProperties.getTicket().getRegistry().getCleaner().getSchedule().isEnabled();
+        val cleaner = casProperties.getTicket().getRegistry().getCleaner();
+        val isCleanerEnabled = cleaner.getSchedule().isEnabled();
         if (isCleanerEnabled) {
             LOGGER.debug("Ticket registry cleaner for MongoDb is enabled.");
-            return new DefaultTicketRegistryCleaner(lockingStrategy, logoutManager, ticketRegistry);
+            return new DefaultTicketRegistryCleaner(lockingStrategy, logoutManager, ticketRegistry,
+                cleaner.getParallelism(), cleaner.getBatchSize());
         }
         LOGGER.debug("Ticket registry cleaner for MongoDb is not enabled. "
             + "Expired tickets are not forcefully collected and cleaned by CAS. It is up to the ticket registry itself to "
@@ -29,6 +29,7 @@ import org.springframework.data.util.StreamUtils;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -44,6 +45,8 @@ import java.util.stream.Stream;
 public class MongoDbTicketRegistry extends AbstractTicketRegistry {
     private static final ImmutableSet<String> MONGO_INDEX_KEYS = ImmutableSet.of("v", "key", "name", "ns");
 
+    private static final int MAX_CONSUME_ATTEMPTS = 5;
+
     private final TicketCatalog ticketCatalog;
     private final MongoOperations mongoTemplate;
     private final boolean dropCollection;
@@ -79,7 +82,8 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
                 return null;
             }
             val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId()));
-            val update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson());
+            val update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson())
+                .set(TicketHolder.FIELD_NAME_PRINCIPAL, holder.getPrincipal());
             this.mongoTemplate.upsert(query, update, collectionName);
             LOGGER.debug("Updated ticket [{}]", ticket);
         } catch (final Exception e) {
@@ -164,13 +168,80 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(ticketId));
             val res = this.mongoTemplate.remove(query, collectionName);
             LOGGER.debug("Deleted ticket [{}] with result [{}]", ticketIdToDelete, res);
-            return true;
+            return res.getDeletedCount() > 0;
         } catch (final Exception e) {
             LOGGER.error("Failed deleting [{}]: [{}]", ticketId, e);
         }
         return false;
     }
 
+    /**
+     * Consume the ticket by replacing, or removing, the stored document only if it still holds
+     * the state of the ticket that was used; otherwise, the ticket was changed by another consumer
+     * in the meantime and is examined again.
+     *
+     * @param ticket the ticket
+     * @return true/false
+     */
+    @Override
+    public boolean consumeTicket(final Ticket ticket) {
+        try {
+            val encTicketId = encodeTicketId(ticket.getId());
+            val metadata = this.ticketCatalog.find(ticket);
+            val collectionName = getTicketCollectionInstanceByMetadata(metadata);
+            for (var attempt = 0; attempt < MAX_CONSUME_ATTEMPTS; attempt++) {
+                val stored = this.mongoTemplate.findOne(new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(encTicketId)),
+                    TicketHolder.class, collectionName);
+                val current = stored != null ? decodeTicket(deserializeTicketFromMongoDocument(stored)) : null;
+                if (!(current instanceof TicketState) || current.isExpired()) {
+                    LOGGER.debug("Ticket [{}] could not be consumed; it may have been used up or removed", ticket.getId());
+                    return false;
+                }
+                ((TicketState) current).update();
+                val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(encTicketId)
+                    .and(TicketHolder.FIELD_NAME_JSON).is(stored.getJson()));
+                if (current.isExpired()) {
+                    if (this.mongoTemplate.remove(query, collectionName).getDeletedCount() > 0) {
+                        return true;
+                    }
+                } else {
+                    val holder = buildTicketAsDocument(current);
+                    val update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson())
+                        .set(TicketHolder.FIELD_NAME_EXPIRE_AT, holder.getExpireAt());
+                    if (this.mongoTemplate.updateFirst(query, update, collectionName).getModifiedCount() > 0) {
+                        return true;
+                    }
+                }
+                LOGGER.debug("Ticket [{}] was modified while it was being consumed; trying again", ticket.getId());
+            }
+        } catch (final Exception e) {
+            LOGGER.error("Failed consuming [{}]", ticket.getId(), e);
+        }
+        return false;
+    }
+
+    @Override
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        val ticketIdsByCollection = ticketIds.stream()
+            .filter(ticketId -> this.ticketCatalog.find(ticketId) != null)
+            .collect(Collectors.groupingBy(ticketId -> getTicketCollectionInstanceByMetadata(this.ticketCatalog.find(ticketId)),
+                Collectors.mapping(this::encodeTicketId, Collectors.toList())));
+        return ticketIdsByCollection.entrySet()
+            .stream()
+            .mapToInt(entry -> {
+                try {
+                    val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).in(entry.getValue()));
+                    val res = this.mongoTemplate.remove(query, entry.getKey());
+                    LOGGER.debug("Deleted [{}] ticket(s) from [{}] with result [{}]", entry.getValue().size(), entry.getKey(), res);
+                    return (int) res.getDeletedCount();
+                } catch (final Exception e) {
+                    LOGGER.error("Failed deleting [{}] from [{}]: [{}]", entry.getValue(), entry.getKey(), e);
+                }
+                return 0;
+            })
+            .sum();
+    }
+
     @Override
     public long deleteAll() {
         val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).exists(true));
@@ -194,6 +265,35 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             .map(ticket -> decodeTicket(deserializeTicketFromMongoDocument(ticket)));
     }
 
+    /**
+     * Gets sessions for the principal by querying the indexed principal field.
+     * Documents written before the principal field was introduced do not carry it,
+     * and are scanned and matched by the principal of the ticket they hold instead.
+     * Such documents are given the principal field once they are updated, and otherwise
+     * disappear as they expire.
+     *
+     * @param principalId the principal id
+     * @return the sessions
+     */
+    @Override
+    public Stream<? extends TicketGrantingTicket> getSessionsFor(final String principalId) {
+        if (StringUtils.isBlank(principalId)) {
+            return Stream.empty();
+        }
+        val normalizedPrincipalId = principalId.toLowerCase(Locale.ROOT);
+        val query = new Query(new Criteria().orOperator(
+            Criteria.where(TicketHolder.FIELD_NAME_PRINCIPAL).is(encodeTicketId(normalizedPrincipalId)),
+            Criteria.where(TicketHolder.FIELD_NAME_PRINCIPAL).exists(false)));
+        return ticketCatalog.find(TicketGrantingTicket.class).stream()
+            .map(this::getTicketCollectionInstanceByMetadata)
+            .map(map -> mongoTemplate.stream(query, TicketHolder.class, map))
+            .flatMap(StreamUtils::createStreamFromIterator)
+            .map(ticket -> decodeTicket(deserializeTicketFromMongoDocument(ticket)))
+            .filter(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired())
+            .map(TicketGrantingTicket.class::cast)
+            .filter(ticket -> isSessionOwnedBy(ticket, normalizedPrincipalId));
+    }
+
     @Override
     public long serviceTicketCount() {
         return countTicketsByTicketType(ServiceTicket.class);
@@ -218,11 +318,20 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         if (StringUtils.isNotBlank(json)) {
             LOGGER.trace("Serialized ticket into a JSON document as \n [{}]", JsonValue.readJSON(json).toString(Stringify.FORMATTED));
             val expireAt = getExpireAt(ticket);
-            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt);
+            val principal = ticket instanceof TicketGrantingTicket
+                ? encodeTicketId(((TicketGrantingTicket) ticket).getAuthentication().getPrincipal().getId().toLowerCase(Locale.ROOT))
+                : null;
+            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt, principal);
         }
         throw new IllegalArgumentException("Ticket " + ticket.getId() + " cannot be serialized to JSON");
     }
 
+    private static boolean isSessionOwnedBy(final TicketGrantingTicket ticket, final String principalId) {
+        val authentication = ticket.getAuthentication();
+        return authentication != null && authentication.getPrincipal() != null
+            && principalId.equals(authentication.getPrincipal().getId().toLowerCase(Locale.ROOT));
+    }
+
     private String getTicketCollectionInstanceByMetadata(final TicketDefinition metadata) {
         val mapName = metadata.getProperties().getStorageName();
         LOGGER.debug("Locating collection name [{}] for ticket definition [{}]", mapName, metadata);
@@ -284,6 +393,9 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         val index = new Index().on(TicketHolder.FIELD_NAME_EXPIRE_AT, Sort.Direction.ASC).expire(ticket.getProperties().getStorageTimeout());
         removeDifferingIndexIfAny(collection, index);
         mongoTemplate.indexOps(collectionName).ensureIndex(index);
+
+        LOGGER.trace("Creating indices on collection [{}] to look up sessions by principal...", collectionName);
+        mongoTemplate.indexOps(collectionName).ensureIndex(new Index().on(TicketHolder.FIELD_NAME_PRINCIPAL, Sort.Direction.ASC));
         return collection;
     }
 
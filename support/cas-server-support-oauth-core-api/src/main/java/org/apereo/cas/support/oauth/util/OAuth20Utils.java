@@ -14,7 +14,6 @@ import org.apereo.cas.util.CollectionUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import lombok.NonNull;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
@@ -38,7 +37,6 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -56,6 +54,8 @@ public class OAuth20Utils {
         .findAndRegisterModules()
         .configure(SerializationFeature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED, true);
 
+    private static final String CLIENT_ID_INDEX_NAME = OAuthRegisteredService.class.getName() + ".clientId";
+
     /**
      * Write to the output this error.
      *
@@ -83,7 +83,8 @@ public class OAuth20Utils {
         if (StringUtils.isBlank(clientId)) {
             return null;
         }
-        return getRegisteredOAuthServiceByPredicate(servicesManager, s -> s.getClientId().equals(clientId));
+        return servicesManager.findServiceByKey(clientId, OAuthRegisteredService.class,
+            CLIENT_ID_INDEX_NAME, OAuthRegisteredService::getClientId);
     }
 
     /**
@@ -98,17 +99,9 @@ public class OAuth20Utils {
         if (StringUtils.isBlank(redirectUri)) {
             return null;
         }
-        return getRegisteredOAuthServiceByPredicate(servicesManager, s -> s.matches(redirectUri));
-    }
-
-    @SuppressFBWarnings("PRMC_POSSIBLY_REDUNDANT_METHOD_CALLS")
-    private static OAuthRegisteredService getRegisteredOAuthServiceByPredicate(final ServicesManager servicesManager,
-                                                                               final Predicate<OAuthRegisteredService> predicate) {
-        val services = servicesManager.getAllServices();
-        return services.stream()
-            .filter(OAuthRegisteredService.class::isInstance)
-            .map(OAuthRegisteredService.class::cast)
-            .filter(predicate)
+        return servicesManager.getAllServicesOfType(OAuthRegisteredService.class)
+            .stream()
+            .filter(s -> s.matches(redirectUri))
             .findFirst()
             .orElse(null);
     }
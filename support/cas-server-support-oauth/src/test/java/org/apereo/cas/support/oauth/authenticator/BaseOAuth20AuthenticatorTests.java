@@ -77,6 +77,8 @@ public abstract class BaseOAuth20AuthenticatorTests {
 
         servicesManager = mock(ServicesManager.class);
         when(servicesManager.getAllServices()).thenReturn(CollectionUtils.wrapList(service));
+        when(servicesManager.getAllServicesOfType(any())).thenCallRealMethod();
+        when(servicesManager.findServiceByKey(anyString(), any(), anyString(), any())).thenCallRealMethod();
 
         serviceFactory = mock(ServiceFactory.class);
         when(serviceFactory.createService(anyString())).thenReturn(RegisteredServiceTestUtils.getService());
@@ -40,6 +40,8 @@ public class OAuth20AuthorizationCodeResponseTypeAuthorizationRequestValidatorTe
         service.setServiceId("https://callback.example.org");
 
         when(serviceManager.getAllServices()).thenReturn((Collection) CollectionUtils.toCollection(service));
+        when(serviceManager.getAllServicesOfType(any())).thenCallRealMethod();
+        when(serviceManager.findServiceByKey(anyString(), any(), anyString(), any())).thenCallRealMethod();
         val v = new OAuth20AuthorizationCodeResponseTypeAuthorizationRequestValidator(serviceManager, new WebApplicationServiceFactory(),
             new RegisteredServiceAccessStrategyAuditableEnforcer());
 
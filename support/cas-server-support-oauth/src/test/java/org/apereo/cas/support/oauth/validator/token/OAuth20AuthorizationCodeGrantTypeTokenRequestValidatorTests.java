@@ -116,6 +116,8 @@ public class OAuth20AuthorizationCodeGrantTypeTokenRequestValidatorTests {
                 supportingService,
                 nonSupportingService,
                 promiscuousService));
+        when(serviceManager.getAllServicesOfType(any())).thenCallRealMethod();
+        when(serviceManager.findServiceByKey(anyString(), any(), anyString(), any())).thenCallRealMethod();
 
         val context = OAuth20ConfigurationContext.builder()
             .servicesManager(serviceManager)
@@ -60,6 +60,8 @@ public class OAuth20PasswordGrantTypeTokenRequestValidatorTests {
 
         when(serviceManager.getAllServices()).thenReturn(CollectionUtils.wrapList(
                 supportingService, nonSupportingService, promiscuousService));
+        when(serviceManager.getAllServicesOfType(any())).thenCallRealMethod();
+        when(serviceManager.findServiceByKey(anyString(), any(), anyString(), any())).thenCallRealMethod();
 
         val context = OAuth20ConfigurationContext.builder()
             .servicesManager(serviceManager)
@@ -71,6 +71,8 @@ public class OAuth20RefreshTokenGrantTypeTokenRequestValidatorTests {
             RequestValidatorTestUtils.SHARED_SECRET);
         when(servicesManager.getAllServices()).thenReturn(CollectionUtils.wrapList(supportingService,
             nonSupportingService, promiscuousService));
+        when(servicesManager.getAllServicesOfType(any())).thenCallRealMethod();
+        when(servicesManager.findServiceByKey(anyString(), any(), anyString(), any())).thenCallRealMethod();
 
         this.ticketRegistry = mock(TicketRegistry.class);
 
@@ -127,7 +127,8 @@ public class PasswordManagementWebflowConfiguration {
     public Action passwordChangeAction() {
         return new PasswordChangeAction(passwordManagementService.getIfAvailable(),
             passwordValidationService.getIfAvailable(),
-            communicationsManager.getIfAvailable());
+            communicationsManager.getIfAvailable(),
+            applicationContext);
     }
 
     @ConditionalOnMissingBean(name = "sendPasswordResetInstructionsAction")
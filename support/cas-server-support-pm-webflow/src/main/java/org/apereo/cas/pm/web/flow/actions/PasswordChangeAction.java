@@ -6,6 +6,7 @@ import org.apereo.cas.pm.PasswordChangeRequest;
 import org.apereo.cas.pm.PasswordManagementService;
 import org.apereo.cas.pm.PasswordValidationService;
 import org.apereo.cas.pm.web.flow.PasswordManagementWebflowConfigurer;
+import org.apereo.cas.support.events.authentication.CasAuthenticationPasswordChangedEvent;
 import org.apereo.cas.util.io.CommunicationsManager;
 import org.apereo.cas.web.support.WebUtils;
 
@@ -14,6 +15,7 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.binding.message.MessageBuilder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.webflow.action.AbstractAction;
 import org.springframework.webflow.action.EventFactorySupport;
 import org.springframework.webflow.execution.Event;
@@ -40,6 +42,7 @@ public class PasswordChangeAction extends AbstractAction {
     private final PasswordManagementService passwordManagementService;
     private final PasswordValidationService passwordValidationService;
     private final CommunicationsManager communicationsManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     protected Event doExecute(final RequestContext requestContext) {
@@ -58,6 +61,7 @@ public class PasswordChangeAction extends AbstractAction {
                 return getErrorEvent(requestContext, PASSWORD_VALIDATION_FAILURE_CODE, DEFAULT_MESSAGE);
             }
             if (passwordManagementService.change(c, bean)) {
+                eventPublisher.publishEvent(new CasAuthenticationPasswordChangedEvent(this, c.getUsername()));
                 WebUtils.putCredential(requestContext, new UsernamePasswordCredential(c.getUsername(), bean.getPassword()));
                 return new EventFactorySupport().event(this, PASSWORD_UPDATE_SUCCESS);
             }
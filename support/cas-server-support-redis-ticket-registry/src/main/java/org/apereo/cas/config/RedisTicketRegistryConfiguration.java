@@ -1,14 +1,19 @@
 package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.kryo.KryoUtils;
 import org.apereo.cas.redis.core.RedisObjectFactory;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.registry.KryoRedisSerializer;
+import org.apereo.cas.ticket.registry.RedisIndexedTicketRegistry;
 import org.apereo.cas.ticket.registry.RedisTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.CoreTicketUtils;
 
 import lombok.val;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -39,14 +44,25 @@ public class RedisTicketRegistryConfiguration {
     @Bean
     @ConditionalOnMissingBean(name = "ticketRedisTemplate")
     public RedisTemplate<String, Ticket> ticketRedisTemplate() {
-        return RedisObjectFactory.newRedisTemplate(redisTicketConnectionFactory());
+        val redis = casProperties.getTicket().getRegistry().getRedis();
+        final RedisTemplate<String, Ticket> template = RedisObjectFactory.newRedisTemplate(redisTicketConnectionFactory());
+        if ("KRYO".equalsIgnoreCase(redis.getSerializer())) {
+            val serializer = new KryoRedisSerializer(KryoUtils.newKryoPool(redis.getKryo()));
+            template.setValueSerializer(serializer);
+            template.setHashValueSerializer(serializer);
+        }
+        return template;
     }
 
     @Bean
-    public TicketRegistry ticketRegistry() {
+    @Autowired
+    public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
         val redis = casProperties.getTicket().getRegistry().getRedis();
-        val r = new RedisTicketRegistry(ticketRedisTemplate());
+        val r = "INDEXED".equalsIgnoreCase(redis.getLayout())
+            ? new RedisIndexedTicketRegistry(ticketCatalog, ticketRedisTemplate(), redis.getBatchSize())
+            : new RedisTicketRegistry(ticketRedisTemplate(), redis.getBatchSize());
         r.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(redis.getCrypto(), "redis"));
+        r.setDecodedTicketCache(CoreTicketUtils.newDecodedTicketCache(casProperties.getTicket().getRegistry().getCore()));
         return r;
     }
 }
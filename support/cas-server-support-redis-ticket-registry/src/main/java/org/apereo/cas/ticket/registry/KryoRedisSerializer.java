@@ -0,0 +1,53 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.kryo.CasKryoPool;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * This is {@link KryoRedisSerializer}, which serializes redis values using Kryo.
+ * Classes are registered with Kryo in the same deterministic order used by the memcached transcoder,
+ * which allows for a compact binary form that embeds class ids rather than class names.
+ * All CAS nodes sharing the same redis instance must be running the same CAS version.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiredArgsConstructor
+public class KryoRedisSerializer implements RedisSerializer<Object> {
+    private static final int BUFFER_SIZE = 4096;
+
+    private final CasKryoPool kryoPool;
+
+    @Override
+    public byte[] serialize(final Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        try (val kryo = this.kryoPool.borrow();
+             val output = new Output(BUFFER_SIZE, -1)) {
+            kryo.writeClassAndObject(output, value);
+            return output.toBytes();
+        } catch (final Exception e) {
+            throw new SerializationException("Unable to serialize " + value.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(final byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try (val kryo = this.kryoPool.borrow();
+             val input = new Input(bytes)) {
+            return kryo.readClassAndObject(input);
+        } catch (final Exception e) {
+            throw new SerializationException("Unable to deserialize value", e);
+        }
+    }
+}
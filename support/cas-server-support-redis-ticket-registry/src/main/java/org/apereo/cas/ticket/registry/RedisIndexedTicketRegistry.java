@@ -0,0 +1,676 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Ticket registry implementation that stores tickets in redis using a separate keyspace
+ * for each ticket storage name defined in the {@link TicketCatalog}. Each keyspace is accompanied by
+ * sorted-set indexes that are maintained atomically with the tickets themselves:
+ * <ul>
+ * <li>An index of ticket keys scored by the instant at which redis expires the key,
+ * which allows tickets to be counted and iterated without scanning the keyspace.</li>
+ * <li>An index of ticket keys scored by the earliest instant at which the ticket could expire,
+ * which allows the registry cleaner to only examine tickets that are due for expiration.</li>
+ * </ul>
+ * Ticket-granting tickets are additionally indexed by principal, so that sessions
+ * of a given user can be found without examining any other tickets.
+ * Index entries of tickets that are no longer found are removed as they are encountered.
+ * <p>
+ * Every key carries the same hash tag, since tickets and their indexes are always modified together
+ * by scripts. When redis runs as a cluster, all tickets of the registry are therefore kept in a single hash slot;
+ * the cluster still provides replication and failover, yet tickets are not sharded across nodes.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RedisIndexedTicketRegistry extends AbstractTicketRegistry {
+    private static final String HASH_TAG = "{cas}";
+
+    private static final String CAS_TICKET_PREFIX = "CAS_TICKET:" + HASH_TAG + ':';
+
+    private static final String CAS_TICKET_INDEX_PREFIX = "CAS_TICKET_INDEX:" + HASH_TAG + ':';
+
+    private static final String CAS_PRINCIPAL_INDEX_PREFIX = "CAS_TICKET_PRINCIPAL:" + HASH_TAG + ':';
+
+    private static final int KEYS_PER_TICKET = 4;
+
+    private static final int MAX_CONSUME_ATTEMPTS = 5;
+
+    /**
+     * Stores tickets and updates their index entries in one atomic step.
+     * Each ticket is given by four keys (ticket, expiration indexes and principal index) and
+     * five arguments (value, time to live, removal instant, projected expiration and whether the principal is indexed).
+     * The principal index, if any, is kept around for as long as its longest-living ticket.
+     */
+    private static final RedisScript<Long> STORE_TICKETS_SCRIPT = RedisScript.of(
+        "for i = 0, #KEYS / 4 - 1 do "
+            + "  local k = i * 4 "
+            + "  local a = i * 5 "
+            + "  redis.call('SET', KEYS[k + 1], ARGV[a + 1], 'PX', ARGV[a + 2]) "
+            + "  redis.call('ZADD', KEYS[k + 2], ARGV[a + 3], KEYS[k + 1]) "
+            + "  redis.call('ZADD', KEYS[k + 3], ARGV[a + 4], KEYS[k + 1]) "
+            + "  if ARGV[a + 5] == '1' then "
+            + "    redis.call('ZADD', KEYS[k + 4], ARGV[a + 3], KEYS[k + 1]) "
+            + "    if redis.call('PTTL', KEYS[k + 4]) < tonumber(ARGV[a + 2]) then "
+            + "      redis.call('PEXPIRE', KEYS[k + 4], ARGV[a + 2]) "
+            + "    end "
+            + "  end "
+            + "end "
+            + "return #KEYS / 4", Long.class);
+
+    /**
+     * Consumes a ticket only if its stored value is still the one that was examined, by either removing the ticket
+     * along with its index entries or storing its updated value. The keys are those of {@link #STORE_TICKETS_SCRIPT}
+     * for one ticket; the arguments are the examined value, whether the ticket is to be stored again,
+     * followed by the arguments of {@link #STORE_TICKETS_SCRIPT} for the updated ticket.
+     */
+    private static final RedisScript<Long> CONSUME_TICKET_SCRIPT = RedisScript.of(
+        "if redis.call('GET', KEYS[1]) ~= ARGV[1] then "
+            + "  return 0 "
+            + "end "
+            + "if ARGV[2] == '0' then "
+            + "  redis.call('DEL', KEYS[1]) "
+            + "  redis.call('ZREM', KEYS[2], KEYS[1]) "
+            + "  redis.call('ZREM', KEYS[3], KEYS[1]) "
+            + "  if ARGV[7] == '1' then "
+            + "    redis.call('ZREM', KEYS[4], KEYS[1]) "
+            + "  end "
+            + "  return 1 "
+            + "end "
+            + "redis.call('SET', KEYS[1], ARGV[3], 'PX', ARGV[4]) "
+            + "redis.call('ZADD', KEYS[2], ARGV[5], KEYS[1]) "
+            + "redis.call('ZADD', KEYS[3], ARGV[6], KEYS[1]) "
+            + "if ARGV[7] == '1' then "
+            + "  redis.call('ZADD', KEYS[4], ARGV[5], KEYS[1]) "
+            + "end "
+            + "return 1", Long.class);
+
+    /**
+     * Deletes tickets along with their index entries. The keys are the two expiration indexes of the keyspace,
+     * followed by the key and the principal index of each ticket; the principal index of a ticket
+     * that is not indexed by principal is a placeholder key that does not exist.
+     */
+    private static final RedisScript<Long> DELETE_TICKETS_SCRIPT = RedisScript.of(
+        "local count = 0 "
+            + "for i = 3, #KEYS, 2 do "
+            + "  count = count + redis.call('DEL', KEYS[i]) "
+            + "  redis.call('ZREM', KEYS[1], KEYS[i]) "
+            + "  redis.call('ZREM', KEYS[2], KEYS[i]) "
+            + "  redis.call('ZREM', KEYS[i + 1], KEYS[i]) "
+            + "end "
+            + "return count", Long.class);
+
+    private final TicketCatalog ticketCatalog;
+
+    private final RedisTemplate<String, Ticket> client;
+
+    private final int batchSize;
+
+    private static String getTicketRedisKey(final String storageName, final String ticketId) {
+        return CAS_TICKET_PREFIX + storageName + ':' + ticketId;
+    }
+
+    private static String getTimeToLiveIndexKey(final String storageName) {
+        return CAS_TICKET_INDEX_PREFIX + storageName + ":ttl";
+    }
+
+    private static String getExpirationIndexKey(final String storageName) {
+        return CAS_TICKET_INDEX_PREFIX + storageName + ":expiry";
+    }
+
+    private static String getStorageName(final TicketDefinition metadata) {
+        return metadata.getProperties().getStorageName();
+    }
+
+    private static boolean isIndexedByPrincipal(final TicketDefinition metadata) {
+        return TicketGrantingTicket.class.isAssignableFrom(metadata.getImplementationClass());
+    }
+
+    private static boolean isNoScriptError(final Throwable e) {
+        return ExceptionUtils.getThrowableList(e)
+            .stream()
+            .anyMatch(t -> StringUtils.contains(t.getMessage(), "NOSCRIPT"));
+    }
+
+    private static void closeCursor(final Closeable cursor) {
+        try {
+            cursor.close();
+        } catch (final IOException e) {
+            LOGGER.error("Could not close Redis connection", e);
+        }
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) {
+        try {
+            LOGGER.debug("Adding ticket [{}]", ticket);
+            storeTickets(List.of(ticket));
+        } catch (final Exception e) {
+            LOGGER.error("Failed to add [{}]", ticket, e);
+        }
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) {
+        try {
+            LOGGER.debug("Updating ticket [{}]", ticket);
+            storeTickets(List.of(ticket));
+            return ticket;
+        } catch (final Exception e) {
+            LOGGER.error("Failed to update [{}]", ticket, e);
+        }
+        return null;
+    }
+
+    /**
+     * Store the updated and the new tickets along with their index entries using a single script,
+     * so that tickets are written atomically in one round-trip.
+     *
+     * @param ticketsToUpdate the tickets to update
+     * @param ticketsToAdd    the tickets to add
+     */
+    @Override
+    public void updateAndAddTickets(final Collection<? extends Ticket> ticketsToUpdate,
+                                    final Collection<? extends Ticket> ticketsToAdd) {
+        val tickets = new ArrayList<Ticket>(ticketsToUpdate.size() + ticketsToAdd.size());
+        tickets.addAll(ticketsToUpdate);
+        tickets.addAll(ticketsToAdd);
+        try {
+            LOGGER.debug("Storing tickets [{}]", tickets);
+            storeTickets(tickets);
+        } catch (final Exception e) {
+            LOGGER.error("Failed to store [{}]", tickets, e);
+        }
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
+        try {
+            val metadata = this.ticketCatalog.find(ticketId);
+            if (metadata == null) {
+                LOGGER.warn("No ticket definition could be found in the catalog to match [{}]", ticketId);
+                return null;
+            }
+            val redisKey = getTicketRedisKey(getStorageName(metadata), encodeTicketId(ticketId));
+            val value = this.client.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(serializeKey(redisKey)));
+            if (value != null) {
+                val result = decodeTicket(deserializeTicket(value));
+                if (predicate.test(result)) {
+                    return result;
+                }
+                LOGGER.debug("The condition enforced by the predicate [{}] cannot successfully accept/test the ticket id [{}]", ticketId,
+                    predicate.getClass().getSimpleName());
+                return null;
+            }
+        } catch (final Exception e) {
+            LOGGER.error("Failed fetching [{}] ", ticketId, e);
+        }
+        return null;
+    }
+
+    /**
+     * Consume the ticket with a script that only applies the change if the stored ticket
+     * has not been changed or removed by another consumer in the meantime, in which case the ticket is examined again.
+     * A ticket that expires once consumed is removed along with its index entries.
+     *
+     * @param ticket the ticket
+     * @return true/false
+     */
+    @Override
+    public boolean consumeTicket(final Ticket ticket) {
+        try {
+            val metadata = this.ticketCatalog.find(ticket.getId());
+            if (metadata == null) {
+                LOGGER.warn("No ticket definition could be found in the catalog to match [{}]", ticket.getId());
+                return false;
+            }
+            val redisKey = serializeKey(getTicketRedisKey(getStorageName(metadata), encodeTicketId(ticket.getId())));
+            for (var attempt = 0; attempt < MAX_CONSUME_ATTEMPTS; attempt++) {
+                val stored = this.client.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(redisKey));
+                if (stored == null) {
+                    return false;
+                }
+                val current = decodeTicket(deserializeTicket(stored));
+                if (!(current instanceof TicketState) || current.isExpired()) {
+                    return false;
+                }
+                ((TicketState) current).update();
+
+                val keys = new ArrayList<byte[]>(KEYS_PER_TICKET);
+                val args = new ArrayList<byte[]>();
+                args.add(stored);
+                args.add(serializeKey(current.isExpired() ? "0" : "1"));
+                addTicketKeysAndArguments(current, encodeTicket(current), keys, args);
+                val keysAndArgs = new ArrayList<byte[]>(keys);
+                keysAndArgs.addAll(args);
+                val result = this.client.execute((RedisCallback<Object>) connection ->
+                    executeScript(connection, CONSUME_TICKET_SCRIPT, keys.size(), keysAndArgs));
+                if (result != null && ((Number) result).longValue() > 0) {
+                    return true;
+                }
+                LOGGER.debug("Ticket [{}] was modified while it was being consumed; trying again", ticket.getId());
+            }
+        } catch (final Exception e) {
+            LOGGER.error("Failed to consume [{}]", ticket.getId(), e);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean deleteSingleTicket(final String ticketId) {
+        return deleteSingleTickets(List.of(ticketId)) > 0;
+    }
+
+    @Override
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        try {
+            val keysByStorageName = new LinkedHashMap<String, List<String>>();
+            val principalIndexedStorageNames = new HashSet<String>();
+            ticketIds.forEach(ticketId -> {
+                val metadata = this.ticketCatalog.find(ticketId);
+                if (metadata != null) {
+                    val storageName = getStorageName(metadata);
+                    keysByStorageName.computeIfAbsent(storageName, k -> new ArrayList<>())
+                        .add(getTicketRedisKey(storageName, encodeTicketId(ticketId)));
+                    if (isIndexedByPrincipal(metadata)) {
+                        principalIndexedStorageNames.add(storageName);
+                    }
+                }
+            });
+            return (int) keysByStorageName.entrySet()
+                .stream()
+                .mapToLong(entry -> deleteKeys(entry.getKey(), entry.getValue(), principalIndexedStorageNames.contains(entry.getKey())))
+                .sum();
+        } catch (final Exception e) {
+            LOGGER.error("Failed deleting tickets [{}]", ticketIds, e);
+        }
+        return 0;
+    }
+
+    @Override
+    public long deleteAll() {
+        val count = getStorageNames(this.ticketCatalog.findAll())
+            .mapToLong(storageName -> {
+                try (val keys = getIndexedKeysStream(storageName)) {
+                    val deleted = RedisTicketRegistry.getBatchStream(keys, this.batchSize)
+                        .mapToLong(batch -> deleteKeys(storageName, batch, false))
+                        .sum();
+                    this.client.delete(List.of(getTimeToLiveIndexKey(storageName), getExpirationIndexKey(storageName)));
+                    return deleted;
+                }
+            })
+            .sum();
+        try (val principalIndexKeys = getKeysStream(CAS_PRINCIPAL_INDEX_PREFIX + '*')) {
+            RedisTicketRegistry.getBatchStream(principalIndexKeys, this.batchSize).forEach(this.client::delete);
+        }
+        return count;
+    }
+
+    @Override
+    public Collection<? extends Ticket> getTickets() {
+        try (val ticketsStream = getTicketsStream()) {
+            return ticketsStream.collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * Stream tickets by iterating the index of each ticket keyspace and fetching tickets in batches,
+     * one {@code MGET} per batch.
+     *
+     * @return the tickets stream
+     */
+    @Override
+    public Stream<? extends Ticket> getTicketsStream() {
+        return getStorageNames(this.ticketCatalog.findAll())
+            .flatMap(storageName -> {
+                val keys = getIndexedKeysStream(storageName);
+                return RedisTicketRegistry.getBatchStream(keys, this.batchSize)
+                    .flatMap(batch -> getTickets(batch, getTimeToLiveIndexKey(storageName), getExpirationIndexKey(storageName)))
+                    .onClose(keys::close);
+            });
+    }
+
+    /**
+     * Gets expired tickets by examining only the tickets whose projected expiration has passed.
+     * Index entries of tickets already expired by redis itself are removed, and tickets
+     * found to be still valid are indexed again based on their current expiration policy.
+     *
+     * @return the expired tickets
+     */
+    @Override
+    public Stream<? extends Ticket> getExpiredTickets() {
+        val now = System.currentTimeMillis();
+        val examined = new LongAdder();
+        val expiredTickets = getStorageNames(this.ticketCatalog.findAll())
+            .flatMap(storageName -> {
+                val ttlIndexKey = getTimeToLiveIndexKey(storageName);
+                val expiryIndexKey = getExpirationIndexKey(storageName);
+                val dueKeys = this.client.execute((RedisCallback<Set<byte[]>>) connection -> {
+                    connection.zSetCommands().zRemRangeByScore(serializeKey(ttlIndexKey), RedisZSetCommands.Range.range().lte(now));
+                    return connection.zSetCommands().zRangeByScore(serializeKey(expiryIndexKey), RedisZSetCommands.Range.range().lte(now));
+                });
+                if (dueKeys == null || dueKeys.isEmpty()) {
+                    return Stream.empty();
+                }
+                val redisKeys = dueKeys.stream().map(this::deserializeKey);
+                return RedisTicketRegistry.getBatchStream(redisKeys, this.batchSize)
+                    .flatMap(batch -> getTickets(batch, ttlIndexKey, expiryIndexKey))
+                    .peek(ticket -> examined.increment())
+                    .filter(ticket -> {
+                        if (ticket.isExpired()) {
+                            return true;
+                        }
+                        reindexExpiration(storageName, ticket);
+                        return false;
+                    });
+            })
+            .collect(Collectors.toList());
+        LOGGER.debug("Examined [{}] ticket(s) due for expiration and found [{}] expired ticket(s)", examined.sum(), expiredTickets.size());
+        return expiredTickets.stream();
+    }
+
+    /**
+     * Gets sessions for the principal from the principal index.
+     *
+     * @param principalId the principal id
+     * @return the sessions
+     */
+    @Override
+    public Stream<? extends TicketGrantingTicket> getSessionsFor(final String principalId) {
+        if (StringUtils.isBlank(principalId)) {
+            return Stream.empty();
+        }
+        val indexKey = getPrincipalIndexKey(principalId);
+        val now = System.currentTimeMillis();
+        val members = this.client.execute((RedisCallback<Set<byte[]>>) connection -> {
+            connection.zSetCommands().zRemRangeByScore(serializeKey(indexKey), RedisZSetCommands.Range.range().lte(now));
+            return connection.zSetCommands().zRange(serializeKey(indexKey), 0, -1);
+        });
+        if (members == null || members.isEmpty()) {
+            return Stream.empty();
+        }
+        val redisKeys = members.stream().map(this::deserializeKey);
+        return RedisTicketRegistry.getBatchStream(redisKeys, this.batchSize)
+            .flatMap(batch -> getTickets(batch, indexKey))
+            .filter(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired())
+            .map(TicketGrantingTicket.class::cast);
+    }
+
+    /**
+     * Count ticket-granting tickets from the index of each keyspace, without fetching any of the tickets.
+     *
+     * @return the count
+     */
+    @Override
+    public long sessionCount() {
+        return countTickets(TicketGrantingTicket.class);
+    }
+
+    /**
+     * Count service tickets from the index of each keyspace, without fetching any of the tickets.
+     *
+     * @return the count
+     */
+    @Override
+    public long serviceTicketCount() {
+        return countTickets(ServiceTicket.class);
+    }
+
+    private void storeTickets(final Collection<? extends Ticket> tickets) {
+        val keys = new ArrayList<byte[]>(tickets.size() * KEYS_PER_TICKET);
+        val args = new ArrayList<byte[]>();
+        tickets.forEach(ticket -> addTicketKeysAndArguments(ticket, encodeTicket(ticket), keys, args));
+        val keysAndArgs = new ArrayList<byte[]>(keys);
+        keysAndArgs.addAll(args);
+        this.client.execute((RedisCallback<Object>) connection -> executeScript(connection, STORE_TICKETS_SCRIPT, keys.size(), keysAndArgs));
+    }
+
+    /**
+     * Collect the keys and the arguments with which the ticket and its index entries are stored.
+     *
+     * @param ticket        the ticket
+     * @param encodedTicket the encoded ticket to store
+     * @param keys          the keys
+     * @param args          the arguments
+     */
+    private void addTicketKeysAndArguments(final Ticket ticket, final Ticket encodedTicket,
+                                           final List<byte[]> keys, final List<byte[]> args) {
+        val metadata = this.ticketCatalog.find(ticket);
+        if (metadata == null) {
+            throw new IllegalArgumentException("No ticket definition could be found in the catalog to match " + ticket.getId());
+        }
+        val storageName = getStorageName(metadata);
+        val now = System.currentTimeMillis();
+        val timeToLive = TimeUnit.SECONDS.toMillis(RedisTicketRegistry.getTimeout(ticket));
+        val removedAt = now + timeToLive;
+        val projectedExpiration = Math.min(TicketExpirationIndex.getProjectedExpiration(ticket, now), removedAt);
+        val principalIndexKey = getPrincipalIndexKey(ticket);
+
+        keys.add(serializeKey(getTicketRedisKey(storageName, encodeTicketId(ticket.getId()))));
+        keys.add(serializeKey(getTimeToLiveIndexKey(storageName)));
+        keys.add(serializeKey(getExpirationIndexKey(storageName)));
+        keys.add(serializeKey(StringUtils.defaultString(principalIndexKey, CAS_PRINCIPAL_INDEX_PREFIX)));
+        args.add(serializeTicket(encodedTicket));
+        args.add(serializeKey(String.valueOf(timeToLive)));
+        args.add(serializeKey(String.valueOf(removedAt)));
+        args.add(serializeKey(String.valueOf(projectedExpiration)));
+        args.add(serializeKey(principalIndexKey != null ? "1" : "0"));
+    }
+
+    private void reindexExpiration(final String storageName, final Ticket ticket) {
+        val redisKey = getTicketRedisKey(storageName, encodeTicketId(ticket.getId()));
+        val projectedExpiration = TicketExpirationIndex.getProjectedExpiration(ticket, System.currentTimeMillis());
+        this.client.execute((RedisCallback<Boolean>) connection ->
+            connection.zSetCommands().zAdd(serializeKey(getExpirationIndexKey(storageName)), projectedExpiration, serializeKey(redisKey)));
+    }
+
+    /**
+     * Delete tickets of the given keyspace along with their index entries, in one script.
+     * Tickets that may be indexed by principal are fetched first, in one {@code MGET},
+     * to find the principal index they are to be removed from.
+     *
+     * @param storageName              the storage name
+     * @param redisKeys                the redis keys
+     * @param removeFromPrincipalIndex whether the tickets are to be removed from their principal index
+     * @return the number of tickets deleted
+     */
+    private long deleteKeys(final String storageName, final List<String> redisKeys, final boolean removeFromPrincipalIndex) {
+        if (redisKeys.isEmpty()) {
+            return 0;
+        }
+        val principalIndexKeys = removeFromPrincipalIndex ? getPrincipalIndexKeys(redisKeys) : List.<String>of();
+        val keys = new ArrayList<byte[]>(redisKeys.size() * 2 + 2);
+        keys.add(serializeKey(getTimeToLiveIndexKey(storageName)));
+        keys.add(serializeKey(getExpirationIndexKey(storageName)));
+        IntStream.range(0, redisKeys.size()).forEach(i -> {
+            keys.add(serializeKey(redisKeys.get(i)));
+            val principalIndexKey = i < principalIndexKeys.size() ? principalIndexKeys.get(i) : null;
+            keys.add(serializeKey(StringUtils.defaultString(principalIndexKey, CAS_PRINCIPAL_INDEX_PREFIX)));
+        });
+        val result = this.client.execute((RedisCallback<Object>) connection -> executeScript(connection, DELETE_TICKETS_SCRIPT, keys.size(), keys));
+        return result == null ? 0 : ((Number) result).longValue();
+    }
+
+    /**
+     * Fetch tickets in one {@code MGET}, removing keys that are no longer found from the given indexes.
+     *
+     * @param redisKeys the redis keys
+     * @param indexKeys the index keys
+     * @return the tickets
+     */
+    private Stream<Ticket> getTickets(final List<String> redisKeys, final String... indexKeys) {
+        val values = this.client.execute((RedisCallback<List<byte[]>>) connection ->
+            connection.stringCommands().mGet(redisKeys.stream().map(this::serializeKey).toArray(byte[][]::new)));
+        if (values == null) {
+            return Stream.empty();
+        }
+        val missingKeys = IntStream.range(0, redisKeys.size())
+            .filter(i -> values.get(i) == null)
+            .mapToObj(i -> serializeKey(redisKeys.get(i)))
+            .toArray(byte[][]::new);
+        if (missingKeys.length > 0) {
+            LOGGER.trace("Removing [{}] index entries of tickets that are no longer found", missingKeys.length);
+            this.client.execute((RedisCallback<Object>) connection -> {
+                for (val indexKey : indexKeys) {
+                    connection.zSetCommands().zRem(serializeKey(indexKey), missingKeys);
+                }
+                return null;
+            });
+        }
+        return values.stream()
+            .filter(Objects::nonNull)
+            .map(value -> decodeTicket(deserializeTicket(value)));
+    }
+
+    /**
+     * Find the principal index of each ticket, in one {@code MGET}.
+     *
+     * @param redisKeys the redis keys
+     * @return the principal index keys, with a null entry for each ticket that is not found or not indexed by principal
+     */
+    private List<String> getPrincipalIndexKeys(final List<String> redisKeys) {
+        val values = this.client.execute((RedisCallback<List<byte[]>>) connection ->
+            connection.stringCommands().mGet(redisKeys.stream().map(this::serializeKey).toArray(byte[][]::new)));
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream()
+            .map(value -> value != null ? getPrincipalIndexKey(decodeTicket(deserializeTicket(value))) : null)
+            .collect(Collectors.toList());
+    }
+
+    private long countTickets(final Class<? extends Ticket> ticketType) {
+        val now = System.currentTimeMillis();
+        return getStorageNames(this.ticketCatalog.find(ticketType))
+            .mapToLong(storageName -> {
+                val count = this.client.execute((RedisCallback<Long>) connection ->
+                    connection.zSetCommands().zCount(serializeKey(getTimeToLiveIndexKey(storageName)), RedisZSetCommands.Range.range().gt(now)));
+                return count == null ? 0 : count;
+            })
+            .sum();
+    }
+
+    private Stream<String> getStorageNames(final Collection<TicketDefinition> definitions) {
+        return definitions.stream()
+            .map(RedisIndexedTicketRegistry::getStorageName)
+            .filter(StringUtils::isNotBlank)
+            .distinct();
+    }
+
+    private String getPrincipalIndexKey(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            val authentication = ((TicketGrantingTicket) ticket).getAuthentication();
+            if (authentication != null && authentication.getPrincipal() != null) {
+                return getPrincipalIndexKey(authentication.getPrincipal().getId());
+            }
+        }
+        return null;
+    }
+
+    private String getPrincipalIndexKey(final String principalId) {
+        return CAS_PRINCIPAL_INDEX_PREFIX + encodeTicketId(principalId.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Get a stream of ticket keys from the index of the keyspace, iterated lazily
+     * on a dedicated connection that is released once the stream is closed.
+     *
+     * @param storageName the storage name
+     * @return the keys stream
+     */
+    private Stream<String> getIndexedKeysStream(final String storageName) {
+        val indexKey = serializeKey(getTimeToLiveIndexKey(storageName));
+        final Cursor<RedisZSetCommands.Tuple> cursor = this.client.executeWithStickyConnection(connection ->
+            connection.zSetCommands().zScan(indexKey, ScanOptions.scanOptions().count(this.batchSize).build()));
+        return StreamSupport
+            .stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+            .map(tuple -> deserializeKey(tuple.getValue()))
+            .onClose(() -> closeCursor(cursor));
+    }
+
+    private Stream<String> getKeysStream(final String pattern) {
+        final Cursor<byte[]> cursor = this.client.executeWithStickyConnection(connection -> connection.scan(ScanOptions.scanOptions()
+            .match(pattern)
+            .count(this.batchSize)
+            .build()));
+        return StreamSupport
+            .stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+            .map(this::deserializeKey)
+            .onClose(() -> closeCursor(cursor));
+    }
+
+    private Object executeScript(final RedisConnection connection, final RedisScript<?> script,
+                                 final int numKeys, final List<byte[]> keysAndArgs) {
+        val params = keysAndArgs.toArray(new byte[0][]);
+        try {
+            return connection.scriptingCommands().evalSha(script.getSha1(), ReturnType.INTEGER, numKeys, params);
+        } catch (final RuntimeException e) {
+            if (!isNoScriptError(e)) {
+                throw e;
+            }
+            LOGGER.trace("Script is not yet cached by the redis server; evaluating script [{}]", script.getSha1());
+            return connection.scriptingCommands().eval(script.getScriptAsString().getBytes(StandardCharsets.UTF_8),
+                ReturnType.INTEGER, numKeys, params);
+        }
+    }
+
+    private byte[] serializeKey(final String key) {
+        return this.client.getStringSerializer().serialize(key);
+    }
+
+    private String deserializeKey(final byte[] key) {
+        return this.client.getStringSerializer().deserialize(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] serializeTicket(final Ticket ticket) {
+        return ((RedisSerializer<Ticket>) this.client.getValueSerializer()).serialize(ticket);
+    }
+
+    private Ticket deserializeTicket(final byte[] value) {
+        return (Ticket) this.client.getValueSerializer().deserialize(value);
+    }
+}
@@ -1,19 +1,33 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -21,6 +35,8 @@ import java.util.stream.StreamSupport;
 
 /**
  * Key-value ticket registry implementation that stores tickets in redis keyed on the ticket ID.
+ * Ticket-granting and service tickets are also recorded in a sorted set per ticket type, scored by the instant
+ * at which redis expires the ticket, so that tickets of each type can be counted without scanning the keyspace.
  *
  * @author serv
  * @since 5.1.0
@@ -29,17 +45,28 @@ import java.util.stream.StreamSupport;
 @RequiredArgsConstructor
 public class RedisTicketRegistry extends AbstractTicketRegistry {
     private static final String CAS_TICKET_PREFIX = "CAS_TICKET:";
-    private static final long SCAN_COUNT = 100L;
+
+    private static final String CAS_TICKET_COUNT_PREFIX = "CAS_TICKET_COUNT:";
+
+    private static final String SESSION_COUNT_KEY = CAS_TICKET_COUNT_PREFIX + TicketGrantingTicket.PREFIX;
+
+    private static final String SERVICE_TICKET_COUNT_KEY = CAS_TICKET_COUNT_PREFIX + ServiceTicket.PREFIX;
+
+    private static final int MAX_CONSUME_ATTEMPTS = 5;
 
     private final RedisTemplate<String, Ticket> client;
 
+    private final int batchSize;
+
+    private volatile boolean unlinkSupported = true;
+
     /**
      * If not time out value is specified, expire the ticket immediately.
      *
      * @param ticket the ticket
      * @return timeout
      */
-    private static Long getTimeout(final Ticket ticket) {
+    static Long getTimeout(final Ticket ticket) {
         val ttl = ticket.getExpirationPolicy().getTimeToLive();
         if (ttl > Integer.MAX_VALUE) {
             return (long) Integer.MAX_VALUE;
@@ -57,30 +84,55 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return CAS_TICKET_PREFIX + '*';
     }
 
+    private static String getCountKey(final String ticketId) {
+        if (isTicketGrantingTicketId(ticketId)) {
+            return SESSION_COUNT_KEY;
+        }
+        if (isServiceTicketId(ticketId)) {
+            return SERVICE_TICKET_COUNT_KEY;
+        }
+        return null;
+    }
+
     @Override
     public long deleteAll() {
-        val redisKeys = this.client.keys(getPatternTicketRedisKey());
-        if (redisKeys == null) {
-            LOGGER.warn("Unable to locate tickets via redis key");
-            return 0;
+        try (val keys = getKeysStream()) {
+            val count = getBatchStream(keys, this.batchSize)
+                .mapToLong(this::deleteKeys)
+                .sum();
+            this.client.delete(List.of(SESSION_COUNT_KEY, SERVICE_TICKET_COUNT_KEY));
+            return count;
         }
-        val size = redisKeys.size();
-        this.client.delete(redisKeys);
-        return size;
     }
 
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         try {
             val redisKey = getTicketRedisKey(encodeTicketId(ticketId));
-            this.client.delete(redisKey);
-            return true;
+            val deleted = Boolean.TRUE.equals(this.client.delete(redisKey));
+            removeFromTicketCounts(List.of(ticketId));
+            return deleted;
         } catch (final Exception e) {
             LOGGER.error("Ticket not found or is already removed. Failed deleting [{}]", ticketId, e);
         }
         return false;
     }
 
+    @Override
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        try {
+            val redisKeys = ticketIds.stream()
+                .map(ticketId -> getTicketRedisKey(encodeTicketId(ticketId)))
+                .collect(Collectors.toList());
+            val count = (int) deleteKeys(redisKeys);
+            removeFromTicketCounts(ticketIds);
+            return count;
+        } catch (final Exception e) {
+            LOGGER.error("Failed deleting tickets [{}]", ticketIds, e);
+        }
+        return 0;
+    }
+
     @Override
     public void addTicket(final Ticket ticket) {
         try {
@@ -89,6 +141,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
             val encodeTicket = encodeTicket(ticket);
             val timeout = getTimeout(ticket);
             this.client.boundValueOps(redisKey).set(encodeTicket, timeout.longValue(), TimeUnit.SECONDS);
+            addToTicketCounts(List.of(ticket));
         } catch (final Exception e) {
             LOGGER.error("Failed to add [{}]", ticket, e);
         }
@@ -121,20 +174,44 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         }
     }
 
+    /**
+     * Stream tickets by scanning keys and fetching tickets in batches, one {@code MGET} per batch.
+     * Neither the keys nor the tickets of the registry are held in memory all at once.
+     * Since keys are scanned while the registry may be modified, a ticket might be streamed more than once.
+     *
+     * @return the tickets stream
+     */
     @Override
     public Stream<? extends Ticket> getTicketsStream() {
-        return getKeysStream()
-            .map(redisKey -> {
-                val ticket = this.client.boundValueOps(redisKey).get();
-                if (ticket == null) {
-                    this.client.delete(redisKey);
-                    return null;
-                }
-                return ticket;
+        val keys = getKeysStream();
+        return getBatchStream(keys, this.batchSize)
+            .flatMap(batch -> {
+                val tickets = this.client.opsForValue().multiGet(batch);
+                return tickets == null ? Stream.empty() : tickets.stream();
             })
             .filter(Objects::nonNull)
-            .map(this::decodeTicket);
+            .map(this::decodeTicket)
+            .onClose(keys::close);
+    }
 
+    /**
+     * Count ticket-granting tickets from their sorted set, without scanning the keyspace or fetching any of the tickets.
+     *
+     * @return the count
+     */
+    @Override
+    public long sessionCount() {
+        return countTickets(SESSION_COUNT_KEY);
+    }
+
+    /**
+     * Count service tickets from their sorted set, without scanning the keyspace or fetching any of the tickets.
+     *
+     * @return the count
+     */
+    @Override
+    public long serviceTicketCount() {
+        return countTickets(SERVICE_TICKET_COUNT_KEY);
     }
 
     @Override
@@ -147,6 +224,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
 
             val timeout = getTimeout(ticket);
             this.client.boundValueOps(redisKey).set(encodeTicket, timeout.longValue(), TimeUnit.SECONDS);
+            addToTicketCounts(List.of(ticket));
             return encodeTicket;
         } catch (final Exception e) {
             LOGGER.error("Failed to update [{}]", ticket, e);
@@ -154,21 +232,244 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
+    /**
+     * Update and add the tickets in a single transaction that is sent to Redis
+     * as one pipeline, rather than issuing a round-trip for each ticket.
+     *
+     * @param ticketsToUpdate the tickets to update
+     * @param ticketsToAdd    the tickets to add
+     */
+    @Override
+    public void updateAndAddTickets(final Collection<? extends Ticket> ticketsToUpdate,
+                                    final Collection<? extends Ticket> ticketsToAdd) {
+        val tickets = new ArrayList<Ticket>(ticketsToUpdate.size() + ticketsToAdd.size());
+        tickets.addAll(ticketsToUpdate);
+        tickets.addAll(ticketsToAdd);
+        try {
+            LOGGER.debug("Storing tickets [{}]", tickets);
+            this.client.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public <K, V> Object execute(final RedisOperations<K, V> operations) {
+                    storeTickets((RedisOperations<String, Ticket>) operations, tickets);
+                    return null;
+                }
+            });
+            addToTicketCounts(tickets);
+        } catch (final Exception e) {
+            LOGGER.error("Failed to store [{}]", tickets, e);
+        }
+    }
+
+    /**
+     * Consume the ticket in a transaction that watches the key of the ticket, so the transaction
+     * is discarded if the ticket is changed or removed by another consumer in the meantime,
+     * in which case the ticket is examined again.
+     *
+     * @param ticket the ticket
+     * @return true/false
+     */
+    @Override
+    public boolean consumeTicket(final Ticket ticket) {
+        val redisKey = getTicketRedisKey(encodeTicketId(ticket.getId()));
+        try {
+            for (var attempt = 0; attempt < MAX_CONSUME_ATTEMPTS; attempt++) {
+                val consumed = new AtomicReference<Ticket>();
+                val result = this.client.execute(new SessionCallback<Boolean>() {
+                    @Override
+                    public <K, V> Boolean execute(final RedisOperations<K, V> operations) {
+                        return consumeTicket((RedisOperations<String, Ticket>) operations, redisKey, consumed);
+                    }
+                });
+                if (consumed.get() != null) {
+                    if (consumed.get().isExpired()) {
+                        removeFromTicketCounts(List.of(consumed.get().getId()));
+                    } else {
+                        addToTicketCounts(List.of(consumed.get()));
+                    }
+                }
+                if (result != null) {
+                    return result;
+                }
+                LOGGER.debug("Ticket [{}] was modified while it was being consumed; trying again", ticket.getId());
+            }
+        } catch (final Exception e) {
+            LOGGER.error("Failed to consume [{}]", ticket.getId(), e);
+        }
+        return false;
+    }
+
+    /**
+     * Consume the ticket stored under the key within a transaction.
+     *
+     * @param operations the operations
+     * @param redisKey   the redis key
+     * @param consumed   receives the consumed ticket once the transaction is committed
+     * @return true/false, or null if the transaction was discarded
+     */
+    private Boolean consumeTicket(final RedisOperations<String, Ticket> operations, final String redisKey,
+                                  final AtomicReference<Ticket> consumed) {
+        operations.watch(redisKey);
+        val stored = operations.opsForValue().get(redisKey);
+        val current = stored != null ? decodeTicket(stored) : null;
+        if (!(current instanceof TicketState) || current.isExpired()) {
+            operations.unwatch();
+            return Boolean.FALSE;
+        }
+        ((TicketState) current).update();
+        operations.multi();
+        if (current.isExpired()) {
+            operations.delete(redisKey);
+        } else {
+            operations.opsForValue().set(redisKey, encodeTicket(current), getTimeout(current), TimeUnit.SECONDS);
+        }
+        val results = operations.exec();
+        if (results == null || results.isEmpty()) {
+            return null;
+        }
+        consumed.set(current);
+        return Boolean.TRUE;
+    }
+
+    private void storeTickets(final RedisOperations<String, Ticket> operations, final Collection<Ticket> tickets) {
+        operations.multi();
+        tickets.forEach(ticket -> {
+            val redisKey = getTicketRedisKey(encodeTicketId(ticket.getId()));
+            operations.opsForValue().set(redisKey, encodeTicket(ticket), getTimeout(ticket), TimeUnit.SECONDS);
+        });
+        operations.exec();
+    }
+
+    /**
+     * Record the tickets in the sorted set of their type, scored by the instant at which redis expires them.
+     * Entries of tickets already expired by redis are removed from the sorted sets that are written to.
+     *
+     * @param tickets the tickets
+     */
+    private void addToTicketCounts(final Collection<? extends Ticket> tickets) {
+        val now = System.currentTimeMillis();
+        val countKeys = new LinkedHashSet<String>();
+        this.client.executePipelined((RedisCallback<Object>) connection -> {
+            tickets.forEach(ticket -> {
+                val countKey = getCountKey(ticket.getId());
+                if (countKey != null) {
+                    val removedAt = now + TimeUnit.SECONDS.toMillis(getTimeout(ticket));
+                    connection.zSetCommands().zAdd(serializeKey(countKey), removedAt, serializeKey(getTicketRedisKey(encodeTicketId(ticket.getId()))));
+                    countKeys.add(countKey);
+                }
+            });
+            countKeys.forEach(countKey -> connection.zSetCommands().zRemRangeByScore(serializeKey(countKey),
+                RedisZSetCommands.Range.range().lte(now)));
+            return null;
+        });
+    }
+
+    private void removeFromTicketCounts(final Collection<String> ticketIds) {
+        val membersByCountKey = ticketIds.stream()
+            .filter(ticketId -> getCountKey(ticketId) != null)
+            .collect(Collectors.groupingBy(RedisTicketRegistry::getCountKey,
+                Collectors.mapping(ticketId -> serializeKey(getTicketRedisKey(encodeTicketId(ticketId))), Collectors.toList())));
+        if (membersByCountKey.isEmpty()) {
+            return;
+        }
+        this.client.executePipelined((RedisCallback<Object>) connection -> {
+            membersByCountKey.forEach((countKey, members) ->
+                connection.zSetCommands().zRem(serializeKey(countKey), members.toArray(byte[][]::new)));
+            return null;
+        });
+    }
+
+    private long countTickets(final String countKey) {
+        val now = System.currentTimeMillis();
+        val count = this.client.execute((RedisCallback<Long>) connection -> {
+            connection.zSetCommands().zRemRangeByScore(serializeKey(countKey), RedisZSetCommands.Range.range().lte(now));
+            return connection.zSetCommands().zCard(serializeKey(countKey));
+        });
+        return count == null ? 0 : count;
+    }
+
+    private byte[] serializeKey(final String key) {
+        return this.client.getStringSerializer().serialize(key);
+    }
+
+    /**
+     * Delete keys using {@code UNLINK}, which reclaims memory in the background,
+     * falling back to {@code DEL} when the Redis server does not support it.
+     *
+     * @param redisKeys the redis keys
+     * @return the number of keys deleted
+     */
+    private long deleteKeys(final Collection<String> redisKeys) {
+        if (redisKeys.isEmpty()) {
+            return 0;
+        }
+        if (this.unlinkSupported) {
+            try {
+                val count = this.client.unlink(redisKeys);
+                return count == null ? 0 : count;
+            } catch (final Exception e) {
+                LOGGER.debug("Unable to unlink keys; falling back to deleting keys instead", e);
+                this.unlinkSupported = false;
+            }
+        }
+        val count = this.client.delete(redisKeys);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Group the keys into lists of at most the given batch size, consuming the keys lazily.
+     *
+     * @param keys      the keys
+     * @param batchSize the batch size
+     * @return the batches
+     */
+    static Stream<List<String>> getBatchStream(final Stream<String> keys, final int batchSize) {
+        val iterator = keys.iterator();
+        val batches = new Iterator<List<String>>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public List<String> next() {
+                if (!iterator.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                val batch = new ArrayList<String>(batchSize);
+                while (iterator.hasNext() && batch.size() < batchSize) {
+                    batch.add(iterator.next());
+                }
+                return batch;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false);
+    }
+
     /**
      * Get a stream of all CAS-related keys from Redis DB.
      *
      * @return stream of all CAS-related keys from Redis DB
      */
     private Stream<String> getKeysStream() {
-        val cursor = client.getConnectionFactory().getConnection()
-                .scan(ScanOptions.scanOptions().match(getPatternTicketRedisKey())
-                .count(SCAN_COUNT)
-                .build());
+        return getKeysStream(getPatternTicketRedisKey());
+    }
+
+    /**
+     * Get a stream of keys matching the pattern, scanned lazily on a dedicated connection
+     * that is released once the stream is closed. A key might be returned more than once
+     * if the keyspace is rehashed while scanning.
+     *
+     * @param pattern the pattern
+     * @return the keys stream
+     */
+    private Stream<String> getKeysStream(final String pattern) {
+        final Cursor<byte[]> cursor = this.client.executeWithStickyConnection(connection -> connection.scan(ScanOptions.scanOptions()
+            .match(pattern)
+            .count(this.batchSize)
+            .build()));
         return StreamSupport
             .stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
-            .map(key -> (String) client.getKeySerializer().deserialize(key))
-            .collect(Collectors.toSet())
-            .stream()
+            .map(key -> (String) this.client.getKeySerializer().deserialize(key))
             .onClose(() -> {
                 try {
                     cursor.close();
@@ -12,9 +12,11 @@ import org.junit.runner.RunWith;
  */
 @SelectClasses({
     RedisEmbeddedTicketRegistryTests.class,
+    RedisIndexedEmbeddedTicketRegistryTests.class,
     SentinelEmbeddedTicketRegistryTests.class,
     RedisServerTicketRegistryTests.class,
-    SentinelServerTicketRegistryTests.class
+    SentinelServerTicketRegistryTests.class,
+    KryoRedisSerializerTests.class
 })
 @RunWith(JUnitPlatform.class)
 public class AllRedisTicketRegistryTestsSuite {
@@ -0,0 +1,49 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.model.support.kryo.KryoSerializationProperties;
+import org.apereo.cas.kryo.KryoUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link KryoRedisSerializerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class KryoRedisSerializerTests {
+    private final KryoRedisSerializer serializer = new KryoRedisSerializer(KryoUtils.newKryoPool(new KryoSerializationProperties()));
+
+    @Test
+    public void verifyTicketsAreSerializedCompactly() {
+        val tgt = new TicketGrantingTicketImpl("TGT-1234567890",
+            CoreAuthenticationTestUtils.getAuthentication("casuser"),
+            NeverExpiresExpirationPolicy.INSTANCE);
+        val st = tgt.grantServiceTicket("ST-1234567890", RegisteredServiceTestUtils.getService(),
+            NeverExpiresExpirationPolicy.INSTANCE, false, true);
+
+        val jdk = new JdkSerializationRedisSerializer();
+        val encodedTgt = serializer.serialize(tgt);
+        assertEquals(tgt, serializer.deserialize(encodedTgt));
+        assertTrue(encodedTgt.length < jdk.serialize(tgt).length);
+
+        val encodedSt = serializer.serialize(st);
+        assertEquals(st, serializer.deserialize(encodedSt));
+        assertTrue(encodedSt.length < jdk.serialize(st).length);
+    }
+
+    @Test
+    public void verifyNullValues() {
+        assertEquals(0, serializer.serialize(null).length);
+        assertNull(serializer.deserialize(new byte[0]));
+        assertNull(serializer.deserialize(null));
+    }
+}
@@ -16,7 +16,8 @@ import redis.embedded.RedisServer;
 @TestPropertySource(properties = {
     "cas.ticket.registry.redis.host=localhost",
     "cas.ticket.registry.redis.port=6378",
-    "cas.ticket.registry.redis.pool.max-active=20"
+    "cas.ticket.registry.redis.pool.max-active=20",
+    "cas.ticket.registry.redis.batchSize=3"
 })
 @DisabledIfContinuousIntegration
 public class RedisEmbeddedTicketRegistryTests extends BaseRedisSentinelTicketRegistryTests {
@@ -0,0 +1,109 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.expiration.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.junit.DisabledIfContinuousIntegration;
+
+import lombok.val;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.RepeatedTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.TestPropertySource;
+import redis.embedded.RedisServer;
+
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link RedisIndexedTicketRegistry}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@TestPropertySource(properties = {
+    "cas.ticket.registry.redis.host=localhost",
+    "cas.ticket.registry.redis.port=6377",
+    "cas.ticket.registry.redis.pool.max-active=20",
+    "cas.ticket.registry.redis.batchSize=3",
+    "cas.ticket.registry.redis.layout=INDEXED"
+})
+@DisabledIfContinuousIntegration
+public class RedisIndexedEmbeddedTicketRegistryTests extends BaseRedisSentinelTicketRegistryTests {
+
+    private static RedisServer REDIS_SERVER;
+
+    @Autowired
+    @Qualifier("ticketRedisTemplate")
+    private RedisTemplate<String, Ticket> ticketRedisTemplate;
+
+    @BeforeAll
+    public static void startRedis() throws Exception {
+        REDIS_SERVER = new RedisServer(6377);
+        REDIS_SERVER.start();
+    }
+
+    @AfterAll
+    public static void stopRedis() {
+        REDIS_SERVER.stop();
+    }
+
+    @RepeatedTest(2)
+    public void verifyExpiredTicketsFromIndex() {
+        val registry = getNewTicketRegistry();
+        registry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId + "-expired",
+            CoreAuthenticationTestUtils.getAuthentication(), new AlwaysExpiresExpirationPolicy()));
+        registry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId + "-valid",
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE));
+
+        assertEquals(2, registry.sessionCount());
+        try (val expiredTickets = registry.getExpiredTickets()) {
+            val tickets = expiredTickets.collect(Collectors.toList());
+            assertEquals(1, tickets.size());
+            assertEquals(ticketGrantingTicketId + "-expired", tickets.get(0).getId());
+            assertEquals(1, registry.deleteTicket(tickets.get(0)));
+        }
+        assertEquals(1, registry.sessionCount());
+        assertEquals(1, registry.countSessionsFor(CoreAuthenticationTestUtils.CONST_USERNAME));
+    }
+
+    @RepeatedTest(2)
+    public void verifyConsumedTicketIsRemovedFromIndex() {
+        val registry = getNewTicketRegistry();
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        registry.addTicket(tgt);
+        val st = tgt.grantServiceTicket(serviceTicketId, RegisteredServiceTestUtils.getService(),
+            new MultiTimeUseOrTimeoutExpirationPolicy(1, 60), false, true);
+        registry.addTicket(st);
+        assertEquals(1, registry.serviceTicketCount());
+
+        assertTrue(registry.consumeTicket(registry.getTicket(serviceTicketId, ServiceTicket.class)));
+        assertNull(registry.getTicket(serviceTicketId, ServiceTicket.class));
+        assertEquals(0, registry.serviceTicketCount());
+        assertFalse(registry.consumeTicket(st));
+    }
+
+    @RepeatedTest(2)
+    public void verifyDeletedTicketIsRemovedFromPrincipalIndex() {
+        val registry = getNewTicketRegistry();
+        val principal = "casuser-" + ticketGrantingTicketId;
+        registry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(principal), NeverExpiresExpirationPolicy.INSTANCE));
+        val principalIndexes = ticketRedisTemplate.keys("CAS_TICKET_PRINCIPAL:*").size();
+        assertEquals(1, registry.countSessionsFor(principal));
+
+        assertEquals(1, registry.deleteTicket(ticketGrantingTicketId));
+        assertEquals(principalIndexes - 1, ticketRedisTemplate.keys("CAS_TICKET_PRINCIPAL:*").size());
+        assertEquals(0, registry.countSessionsFor(principal));
+    }
+}
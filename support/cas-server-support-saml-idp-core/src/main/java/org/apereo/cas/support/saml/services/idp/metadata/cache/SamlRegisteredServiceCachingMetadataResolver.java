@@ -5,6 +5,8 @@ import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
 
+import java.util.Map;
+
 /**
  * This is {@link SamlRegisteredServiceCachingMetadataResolver}
  * that defines how metadata is to be resolved and cached for a given saml
@@ -42,4 +44,14 @@ public interface SamlRegisteredServiceCachingMetadataResolver {
      * @param criteriaSet the criteria set
      */
     void invalidate(SamlRegisteredService service, CriteriaSet criteriaSet);
+
+    /**
+     * Gets the statistics of metadata loads, keyed by the name of the metadata resolver
+     * that loaded the metadata.
+     *
+     * @return the metadata resolver statistics
+     */
+    default Map<String, SamlRegisteredServiceMetadataResolverStatistics> getMetadataResolverStatistics() {
+        return Map.of();
+    }
 }
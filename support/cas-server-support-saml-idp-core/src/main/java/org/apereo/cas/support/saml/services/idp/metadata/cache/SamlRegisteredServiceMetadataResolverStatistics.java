@@ -0,0 +1,94 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import lombok.val;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link SamlRegisteredServiceMetadataResolverStatistics}, which keeps track of
+ * how often and how quickly a metadata resolver has loaded metadata for SAML services.
+ * Statistics are updated concurrently as metadata is loaded for different services.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class SamlRegisteredServiceMetadataResolverStatistics implements Serializable {
+    private static final long serialVersionUID = 2870612958262150378L;
+
+    private final LongAdder loadCount = new LongAdder();
+
+    private final LongAdder failureCount = new LongAdder();
+
+    private final LongAdder totalLoadTime = new LongAdder();
+
+    private final AtomicLong maximumLoadTime = new AtomicLong();
+
+    private final AtomicLong lastLoadTime = new AtomicLong();
+
+    /**
+     * Record a metadata load.
+     *
+     * @param elapsedNanos the time it took to load metadata, in nanoseconds
+     * @param successful   whether metadata was loaded successfully
+     */
+    public void record(final long elapsedNanos, final boolean successful) {
+        this.loadCount.increment();
+        if (!successful) {
+            this.failureCount.increment();
+        }
+        this.totalLoadTime.add(elapsedNanos);
+        this.maximumLoadTime.accumulateAndGet(elapsedNanos, Math::max);
+        this.lastLoadTime.set(elapsedNanos);
+    }
+
+    public long getLoadCount() {
+        return this.loadCount.sum();
+    }
+
+    public long getFailureCount() {
+        return this.failureCount.sum();
+    }
+
+    public long getTotalLoadTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.totalLoadTime.sum());
+    }
+
+    public long getMaximumLoadTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.maximumLoadTime.get());
+    }
+
+    public long getLastLoadTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.lastLoadTime.get());
+    }
+
+    /**
+     * Gets the average time it took to load metadata.
+     *
+     * @return the average load time in milliseconds, or zero if nothing was loaded
+     */
+    public long getAverageLoadTimeMillis() {
+        val count = getLoadCount();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(this.totalLoadTime.sum() / count);
+    }
+
+    /**
+     * Summarize the statistics as a map.
+     *
+     * @return the map
+     */
+    public Map<String, Object> toMap() {
+        val map = new LinkedHashMap<String, Object>();
+        map.put("loadCount", getLoadCount());
+        map.put("failureCount", getFailureCount());
+        map.put("averageLoadTimeMillis", getAverageLoadTimeMillis());
+        map.put("maximumLoadTimeMillis", getMaximumLoadTimeMillis());
+        map.put("lastLoadTimeMillis", getLastLoadTimeMillis());
+        map.put("totalLoadTimeMillis", getTotalLoadTimeMillis());
+        return map;
+    }
+}
@@ -2,6 +2,7 @@ package org.apereo.cas.support.saml.services.idp.metadata;
 
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.plan.SamlRegisteredServiceMetadataResolutionPlan;
 
 import lombok.RequiredArgsConstructor;
@@ -25,6 +26,7 @@ import java.util.Objects;
 public class SamlRegisteredServiceMetadataHealthIndicator extends AbstractHealthIndicator {
     private final SamlRegisteredServiceMetadataResolutionPlan metadataResolutionPlan;
     private final ServicesManager servicesManager;
+    private final SamlRegisteredServiceCachingMetadataResolver cachingMetadataResolver;
 
     /**
      * Check for availability of metadata sources.
@@ -41,6 +43,10 @@ public class SamlRegisteredServiceMetadataHealthIndicator extends AbstractHealth
         builder.up();
         builder.withDetail("name", getClass().getSimpleName());
 
+        val statistics = new LinkedHashMap<String, Object>();
+        this.cachingMetadataResolver.getMetadataResolverStatistics().forEach((name, stats) -> statistics.put(name, stats.toMap()));
+        builder.withDetail("metadataResolverStatistics", statistics);
+
         samlServices
             .stream()
             .map(SamlRegisteredService.class::cast)
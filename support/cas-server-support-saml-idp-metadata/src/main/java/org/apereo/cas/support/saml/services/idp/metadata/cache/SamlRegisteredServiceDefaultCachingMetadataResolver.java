@@ -4,15 +4,28 @@ import org.apereo.cas.support.saml.services.SamlRegisteredService;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import net.shibboleth.utilities.java.support.component.DestructableComponent;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import org.opensaml.saml.metadata.resolver.ChainingMetadataResolver;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
 
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 /**
  * An adaptation of metadata resolver which handles the resolution of metadata resources
  * inside a cache. It basically is a fancy wrapper around a cache, and constructs the cache
  * semantics before processing the resolution of metadata for a SAML service.
+ * <p>
+ * Metadata for different services is loaded concurrently, while concurrent requests for the
+ * same service wait for a single load. When a refresh interval is specified, entries that are older than
+ * the interval are reloaded in the background upon access, and the existing metadata continues to be
+ * served until the reload completes; if the reload fails, the existing metadata is kept until it expires.
+ * Metadata resolvers that are replaced by a reload or otherwise removed from the cache are destroyed,
+ * which stops their background refresh timers and releases the metadata they hold.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -27,11 +40,53 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
 
     public SamlRegisteredServiceDefaultCachingMetadataResolver(final long metadataCacheExpirationMinutes,
                                                                final SamlRegisteredServiceMetadataResolverCacheLoader loader) {
+        this(metadataCacheExpirationMinutes, 0, loader);
+    }
+
+    public SamlRegisteredServiceDefaultCachingMetadataResolver(final long metadataCacheExpirationMinutes,
+                                                               final long metadataCacheRefreshMinutes,
+                                                               final SamlRegisteredServiceMetadataResolverCacheLoader loader) {
         this.chainingMetadataResolverCacheLoader = loader;
-        this.cache = Caffeine.newBuilder()
+        val builder = Caffeine.newBuilder()
             .maximumSize(MAX_CACHE_SIZE)
             .expireAfter(new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpirationMinutes))
-            .build(this.chainingMetadataResolverCacheLoader);
+            .<SamlRegisteredServiceCacheKey, MetadataResolver>removalListener(this::destroyMetadataResolver);
+        if (metadataCacheRefreshMinutes > 0) {
+            LOGGER.debug("Cached metadata resolvers will be refreshed in the background after [{}] minute(s)", metadataCacheRefreshMinutes);
+            builder.refreshAfterWrite(metadataCacheRefreshMinutes, TimeUnit.MINUTES);
+        }
+        this.cache = builder.build(this.chainingMetadataResolverCacheLoader);
+    }
+
+    /**
+     * Destroy the metadata resolver once it has left the cache, unless the same resolver
+     * is still cached, which is the case when a reload shares the load of the resolver it replaces.
+     *
+     * @param cacheKey the cache key
+     * @param resolver the resolver
+     * @param cause    the removal cause
+     */
+    protected void destroyMetadataResolver(final SamlRegisteredServiceCacheKey cacheKey, final MetadataResolver resolver,
+                                           final RemovalCause cause) {
+        if (resolver == null || (cacheKey != null && this.cache.asMap().get(cacheKey) == resolver)) {
+            return;
+        }
+        LOGGER.debug("Destroying metadata resolver [{}] removed from the cache due to [{}]", resolver.getId(), cause);
+        if (resolver instanceof ChainingMetadataResolver) {
+            ((ChainingMetadataResolver) resolver).getResolvers().forEach(SamlRegisteredServiceDefaultCachingMetadataResolver::destroy);
+        }
+        destroy(resolver);
+    }
+
+    private static void destroy(final MetadataResolver resolver) {
+        if (resolver instanceof DestructableComponent) {
+            try {
+                ((DestructableComponent) resolver).destroy();
+            } catch (final Exception e) {
+                LOGGER.warn("Unable to destroy metadata resolver [{}]: [{}]", resolver.getId(), e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+        }
     }
 
     @Override
@@ -47,6 +102,11 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
         return resolver;
     }
 
+    @Override
+    public Map<String, SamlRegisteredServiceMetadataResolverStatistics> getMetadataResolverStatistics() {
+        return this.chainingMetadataResolverCacheLoader.getMetadataResolverStatistics();
+    }
+
     @Override
     public void invalidate() {
         LOGGER.trace("Invalidating cache, removing all metadata resolvers");
@@ -49,12 +49,23 @@ public class SamlRegisteredServiceMetadataExpirationPolicy implements Expiry<Sam
     }
 
 
+    /**
+     * Calculate the expiration of metadata that has been reloaded, which is
+     * determined the same way as for newly cached metadata.
+     *
+     * @param cacheKey                 the cache key
+     * @param chainingMetadataResolver the reloaded metadata resolver
+     * @param currentTime              the current time
+     * @param currentDuration          the remaining duration of the previous metadata
+     * @return the expiration duration
+     */
     @Override
     public long expireAfterUpdate(@Nonnull final SamlRegisteredServiceCacheKey cacheKey,
                                   @Nonnull final MetadataResolver chainingMetadataResolver,
                                   final long currentTime, final long currentDuration) {
-        LOGGER.trace("Cache expiration duration after updates is set to [{}]", currentDuration);
-        return currentDuration;
+        val duration = expireAfterCreate(cacheKey, chainingMetadataResolver, currentTime);
+        LOGGER.trace("Cache expiration duration after updates is set to [{}]", duration);
+        return duration;
     }
 
     @Override
@@ -2,26 +2,39 @@ package org.apereo.cas.support.saml.services.idp.metadata.cache;
 
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.SamlException;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.SamlRegisteredServiceMetadataResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.plan.SamlRegisteredServiceMetadataResolutionPlan;
 import org.apereo.cas.util.http.HttpClient;
 
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
-import lombok.Synchronized;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.opensaml.saml.metadata.resolver.ChainingMetadataResolver;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link SamlRegisteredServiceMetadataResolverCacheLoader} that uses Guava's cache loading strategy
  * to keep track of metadata resources and resolvers. The cache loader here supports loading
  * metadata resources from SAML services, supports dynamic metadata queries and is able
  * to run various validation filters on the metadata before finally caching the resolver.
+ * <p>
+ * Metadata for different metadata locations is loaded concurrently. Concurrent loads of the same metadata location,
+ * such as a background refresh racing with a load after invalidation, share a single load whose result is handed
+ * to all callers. The time spent by each metadata resolver loading metadata is recorded,
+ * and is available via {@link #getMetadataResolverStatistics()}.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -42,11 +55,47 @@ public class SamlRegisteredServiceMetadataResolverCacheLoader implements CacheLo
 
     private final SamlRegisteredServiceMetadataResolutionPlan metadataResolutionPlan;
 
+    private final Map<String, SamlRegisteredServiceMetadataResolverStatistics> metadataResolverStatistics = new ConcurrentHashMap<>();
+
+    private final Map<String, CompletableFuture<ChainingMetadataResolver>> metadataLoadsInProgress = new ConcurrentHashMap<>();
+
     @Override
-    @Synchronized
     @SneakyThrows
     public ChainingMetadataResolver load(final SamlRegisteredServiceCacheKey cacheKey) {
+        val metadataLocation = StringUtils.defaultString(cacheKey.getRegisteredService().getMetadataLocation());
+        val metadataLoad = new CompletableFuture<ChainingMetadataResolver>();
+        val loadInProgress = this.metadataLoadsInProgress.putIfAbsent(metadataLocation, metadataLoad);
+        if (loadInProgress != null) {
+            LOGGER.debug("Metadata from [{}] is already being loaded; waiting for the load to complete", metadataLocation);
+            try {
+                return loadInProgress.join();
+            } catch (final CompletionException e) {
+                throw e.getCause();
+            }
+        }
+        try {
+            val resolver = loadMetadataResolver(cacheKey);
+            metadataLoad.complete(resolver);
+            return resolver;
+        } catch (final Throwable e) {
+            metadataLoad.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.metadataLoadsInProgress.remove(metadataLocation, metadataLoad);
+        }
+    }
+
+    /**
+     * Gets the statistics of metadata loads, keyed by the name of the metadata resolver.
+     *
+     * @return the metadata resolver statistics
+     */
+    public Map<String, SamlRegisteredServiceMetadataResolverStatistics> getMetadataResolverStatistics() {
+        return Collections.unmodifiableMap(this.metadataResolverStatistics);
+    }
 
+    @SneakyThrows
+    private ChainingMetadataResolver loadMetadataResolver(final SamlRegisteredServiceCacheKey cacheKey) {
         val metadataResolver = new ChainingMetadataResolver();
         val metadataResolvers = new ArrayList<MetadataResolver>();
 
@@ -62,7 +111,7 @@ public class SamlRegisteredServiceMetadataResolverCacheLoader implements CacheLo
             })
             .map(r -> {
                 LOGGER.trace("Metadata resolver [{}] has started to process metadata for [{}]", r.getName(), service.getName());
-                return r.resolve(service, cacheKey.getCriteriaSet());
+                return resolve(r, cacheKey);
             })
             .forEach(metadataResolvers::addAll);
 
@@ -77,7 +126,24 @@ public class SamlRegisteredServiceMetadataResolverCacheLoader implements CacheLo
 
         LOGGER.debug("Metadata resolvers active for this request are [{}]", metadataResolver);
         return metadataResolver;
+    }
 
+    private Collection<? extends MetadataResolver> resolve(final SamlRegisteredServiceMetadataResolver resolver,
+                                                           final SamlRegisteredServiceCacheKey cacheKey) {
+        val statistics = this.metadataResolverStatistics.computeIfAbsent(resolver.getName(),
+            k -> new SamlRegisteredServiceMetadataResolverStatistics());
+        val start = System.nanoTime();
+        var successful = false;
+        try {
+            val resolvers = resolver.resolve(cacheKey.getRegisteredService(), cacheKey.getCriteriaSet());
+            successful = true;
+            return resolvers;
+        } finally {
+            val elapsed = System.nanoTime() - start;
+            statistics.record(elapsed, successful);
+            LOGGER.debug("Metadata resolver [{}] processed metadata for [{}] in [{}] ms", resolver.getName(),
+                cacheKey.getRegisteredService().getName(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
     }
 }
 
@@ -9,10 +9,14 @@ import org.apereo.cas.support.saml.services.idp.metadata.SamlMetadataDocument;
 import org.apereo.cas.util.RegexUtils;
 import org.apereo.cas.util.ResourceUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
 import org.opensaml.saml.metadata.resolver.filter.MetadataFilter;
 import org.opensaml.saml.metadata.resolver.filter.MetadataFilterChain;
 import org.opensaml.saml.metadata.resolver.filter.impl.EntityRoleFilter;
@@ -25,9 +29,12 @@ import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
 import org.springframework.core.io.Resource;
 
 import javax.xml.namespace.QName;
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -48,6 +55,12 @@ public abstract class BaseSamlRegisteredServiceMetadataResolver implements SamlR
      */
     protected final OpenSamlConfigBean configBean;
 
+    /**
+     * Indexes are only weakly held, so that an index is kept only as long as the resolvers
+     * built from it are cached, and is released once the services that use it are removed.
+     */
+    private final Cache<String, SamlMetadataAggregateIndex> metadataAggregateIndexes = Caffeine.newBuilder().weakValues().build();
+
     private static void buildEntityRoleFilterIfNeeded(final SamlRegisteredService service, final List<MetadataFilter> metadataFilterList) {
         if (StringUtils.isNotBlank(service.getMetadataCriteriaRoles())) {
             val roles = new ArrayList<QName>();
@@ -116,6 +129,42 @@ public abstract class BaseSamlRegisteredServiceMetadataResolver implements SamlR
         return null;
     }
 
+    /**
+     * Build a metadata resolver that looks up entities from the index of a large metadata aggregate.
+     * The aggregate is indexed once per file and the index is shared by all services whose metadata
+     * is found in the same file, until the file is changed. Metadata that carries fewer entities than
+     * the configured threshold, or whose validity and signature must be verified over the aggregate
+     * as a whole, is not indexed and should be loaded in full.
+     *
+     * @param service      the service
+     * @param metadataFile the metadata file
+     * @return the metadata resolver, or empty if the metadata is not to be indexed
+     * @throws Exception the exception
+     */
+    protected Optional<MetadataResolver> buildMetadataAggregateResolverIfNeeded(final SamlRegisteredService service,
+                                                                               final File metadataFile) throws Exception {
+        val threshold = samlIdPProperties.getMetadata().getAggregateIndexThreshold();
+        if (threshold <= 0 || !metadataFile.isFile()) {
+            return Optional.empty();
+        }
+        if (StringUtils.isNotBlank(service.getMetadataSignatureLocation()) || service.getMetadataMaxValidity() > 0) {
+            LOGGER.debug("Metadata [{}] is verified as a whole and will not be indexed", service.getMetadataLocation());
+            return Optional.empty();
+        }
+        if (!isMetadataAggregateIndexCurrent(metadataFile) && !SamlMetadataAggregateIndex.hasEntities(metadataFile, threshold)) {
+            LOGGER.trace("Metadata [{}] has fewer than [{}] entities and will not be indexed", service.getMetadataLocation(), threshold);
+            this.metadataAggregateIndexes.invalidate(metadataFile.getCanonicalPath());
+            return Optional.empty();
+        }
+        val index = getMetadataAggregateIndex(metadataFile);
+        val resolver = new SamlMetadataAggregateMetadataResolver(index, entity -> buildEntityMetadataResolver(service, entity));
+        resolver.setId(resolver.getClass().getCanonicalName());
+        resolver.setRequireValidMetadata(samlIdPProperties.getMetadata().isRequireValidMetadata());
+        resolver.initialize();
+        LOGGER.info("Resolving [{}] entities from metadata aggregate index for [{}]", index.size(), service.getMetadataLocation());
+        return Optional.of(resolver);
+    }
+
     /**
      * Build single metadata resolver metadata resolver.
      *
@@ -140,6 +189,34 @@ public abstract class BaseSamlRegisteredServiceMetadataResolver implements SamlR
         LOGGER.info("Initialized metadata resolver from [{}]", service.getMetadataLocation());
     }
 
+    @SneakyThrows
+    private boolean isMetadataAggregateIndexCurrent(final File metadataFile) {
+        val index = this.metadataAggregateIndexes.getIfPresent(metadataFile.getCanonicalPath());
+        return index != null && index.isCurrentFor(metadataFile);
+    }
+
+    @SneakyThrows
+    private SamlMetadataAggregateIndex getMetadataAggregateIndex(final File metadataFile) {
+        return this.metadataAggregateIndexes.asMap().compute(metadataFile.getCanonicalPath(), (path, index) -> {
+            if (index != null && index.isCurrentFor(metadataFile)) {
+                return index;
+            }
+            return buildMetadataAggregateIndex(metadataFile);
+        });
+    }
+
+    @SneakyThrows
+    private static SamlMetadataAggregateIndex buildMetadataAggregateIndex(final File metadataFile) {
+        return SamlMetadataAggregateIndex.from(metadataFile);
+    }
+
+    @SneakyThrows
+    private MetadataResolver buildEntityMetadataResolver(final SamlRegisteredService service, final byte[] entity) {
+        val metadataResolver = new InMemoryResourceMetadataResolver(new ByteArrayInputStream(entity), configBean);
+        configureAndInitializeSingleMetadataResolver(metadataResolver, service);
+        return metadataResolver;
+    }
+
     /**
      * Configure and initialize single metadata resolver.
      *
@@ -43,6 +43,10 @@ public class FileSystemResourceMetadataResolver extends BaseSamlRegisteredServic
             val metadataResource = ResourceUtils.getResourceFrom(metadataLocation);
 
             val metadataFile = metadataResource.getFile();
+            val aggregateResolver = buildMetadataAggregateResolverIfNeeded(service, metadataFile);
+            if (aggregateResolver.isPresent()) {
+                return CollectionUtils.wrap(aggregateResolver.get());
+            }
             val metadataResolver = getMetadataResolver(metadataResource, metadataFile);
             configureAndInitializeSingleMetadataResolver(metadataResolver, service);
             return CollectionUtils.wrap(metadataResolver);
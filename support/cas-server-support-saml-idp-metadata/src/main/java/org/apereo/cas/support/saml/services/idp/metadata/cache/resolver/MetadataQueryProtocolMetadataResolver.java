@@ -22,6 +22,7 @@ import org.apache.http.util.EntityUtils;
 import org.opensaml.core.criterion.EntityIdCriterion;
 import org.opensaml.core.xml.XMLObject;
 import org.opensaml.core.xml.util.XMLObjectSource;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
 import org.opensaml.saml.metadata.resolver.impl.AbstractMetadataResolver;
 import org.springframework.http.HttpStatus;
 
@@ -105,6 +106,14 @@ public class MetadataQueryProtocolMetadataResolver extends UrlResourceMetadataRe
         return new StaticXmlObjectMetadataResolver(xmlObject);
     }
 
+    @Override
+    protected MetadataResolver getMetadataResolverFromResponse(final HttpResponse response, final File backupFile,
+                                                               final SamlRegisteredService service) throws Exception {
+        val metadataProvider = getMetadataResolverFromResponse(response, backupFile);
+        configureAndInitializeSingleMetadataResolver(metadataProvider, service);
+        return metadataProvider;
+    }
+
     @Override
     public boolean isAvailable(final SamlRegisteredService service) {
         if (supports(service)) {
@@ -0,0 +1,250 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.opensaml.saml.common.xml.SAMLConstants;
+
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.events.Namespace;
+import javax.xml.stream.events.StartElement;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * This is {@link SamlMetadataAggregateIndex}, which indexes the entity descriptors of a metadata aggregate
+ * by their entity id. The aggregate is read once using a streaming parser and each entity descriptor
+ * is kept as a standalone XML fragment that carries the namespace declarations in scope for it,
+ * so that it may be parsed and unmarshalled on its own only when it is requested.
+ * Since entity descriptors are taken out of the aggregate, the {@code validUntil} of the root element
+ * of the aggregate is recorded by the index so that its validity may still be enforced.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Getter
+public class SamlMetadataAggregateIndex {
+    private static final QName ENTITY_DESCRIPTOR = new QName(SAMLConstants.SAML20MD_NS, "EntityDescriptor");
+
+    private static final QName ENTITY_ID = new QName("entityID");
+
+    private static final QName VALID_UNTIL = new QName("validUntil");
+
+    private final long lastModified;
+
+    private final long length;
+
+    private final Map<String, byte[]> entities;
+
+    private final Instant validUntil;
+
+    /**
+     * Build the index from the given metadata file.
+     *
+     * @param metadataFile the metadata file
+     * @return the index
+     * @throws Exception the exception
+     */
+    public static SamlMetadataAggregateIndex from(final File metadataFile) throws Exception {
+        val lastModified = metadataFile.lastModified();
+        val length = metadataFile.length();
+        try (val input = Files.newInputStream(metadataFile.toPath())) {
+            val validUntil = new AtomicReference<Instant>();
+            val entities = readEntities(input, root -> validUntil.set(getValidUntil(root)));
+            LOGGER.debug("Indexed [{}] entities from metadata aggregate [{}] valid until [{}]", entities.size(), metadataFile, validUntil.get());
+            return new SamlMetadataAggregateIndex(lastModified, length, entities, validUntil.get());
+        }
+    }
+
+    /**
+     * Whether the metadata file carries at least the given number of entity descriptors.
+     * Entity descriptors are counted using a streaming parser that stops as soon as the count is reached,
+     * without keeping any of the entities.
+     *
+     * @param metadataFile the metadata file
+     * @param count        the count
+     * @return true/false
+     * @throws Exception the exception
+     */
+    public static boolean hasEntities(final File metadataFile, final int count) throws Exception {
+        try (val input = Files.newInputStream(metadataFile.toPath())) {
+            val reader = newXMLInputFactory().createXMLStreamReader(input);
+            try {
+                var found = 0;
+                while (found < count && reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && ENTITY_DESCRIPTOR.equals(reader.getName())) {
+                        found++;
+                    }
+                }
+                return found >= count;
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Read entity descriptors from the metadata stream, keyed by entity id.
+     *
+     * @param input the input
+     * @return the entity descriptors
+     * @throws Exception the exception
+     */
+    public static Map<String, byte[]> readEntities(final InputStream input) throws Exception {
+        return readEntities(input, root -> LOGGER.trace("Reading entities from metadata aggregate [{}]", root.getName()));
+    }
+
+    private static Map<String, byte[]> readEntities(final InputStream input, final Consumer<StartElement> rootElementConsumer) throws Exception {
+        val inputFactory = newXMLInputFactory();
+        val outputFactory = XMLOutputFactory.newFactory();
+        val eventFactory = XMLEventFactory.newFactory();
+
+        val entities = new LinkedHashMap<String, byte[]>();
+        val scopes = new ArrayDeque<Map<String, Namespace>>();
+        val reader = inputFactory.createXMLEventReader(input);
+        try {
+            var depth = 0;
+            String entityId = null;
+            ByteArrayOutputStream buffer = null;
+            XMLEventWriter writer = null;
+            while (reader.hasNext()) {
+                val event = reader.nextEvent();
+                if (depth > 0) {
+                    writer.add(event);
+                    if (event.isStartElement()) {
+                        depth++;
+                    } else if (event.isEndElement()) {
+                        depth--;
+                        if (depth == 0) {
+                            writer.add(eventFactory.createEndDocument());
+                            writer.close();
+                            if (entityId == null) {
+                                LOGGER.warn("Entity descriptor without an entity id is found in metadata aggregate and will be ignored");
+                            } else if (entities.putIfAbsent(entityId, buffer.toByteArray()) != null) {
+                                LOGGER.warn("Duplicate entity [{}] is found in metadata aggregate and will be ignored", entityId);
+                            }
+                        }
+                    }
+                } else if (event.isStartElement()) {
+                    val element = event.asStartElement();
+                    val namespaces = new HashMap<String, Namespace>(scopes.isEmpty() ? Map.of() : scopes.peek());
+                    element.getNamespaces().forEachRemaining(ns -> namespaces.put(ns.getPrefix(), ns));
+                    if (scopes.isEmpty()) {
+                        rootElementConsumer.accept(element);
+                    }
+                    if (ENTITY_DESCRIPTOR.equals(element.getName())) {
+                        entityId = getEntityId(element);
+                        buffer = new ByteArrayOutputStream();
+                        writer = outputFactory.createXMLEventWriter(buffer, StandardCharsets.UTF_8.name());
+                        writer.add(eventFactory.createStartDocument(StandardCharsets.UTF_8.name()));
+                        val name = element.getName();
+                        writer.add(eventFactory.createStartElement(name.getPrefix(), name.getNamespaceURI(),
+                            name.getLocalPart(), element.getAttributes(), namespaces.values().iterator()));
+                        depth = 1;
+                    } else {
+                        scopes.push(namespaces);
+                    }
+                } else if (event.isEndElement() && !scopes.isEmpty()) {
+                    scopes.pop();
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return Collections.unmodifiableMap(entities);
+    }
+
+    private static XMLInputFactory newXMLInputFactory() {
+        val inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        return inputFactory;
+    }
+
+    private static String getEntityId(final StartElement element) {
+        val attribute = element.getAttributeByName(ENTITY_ID);
+        return attribute != null ? attribute.getValue() : null;
+    }
+
+    @SneakyThrows
+    private static Instant getValidUntil(final StartElement element) {
+        val attribute = element.getAttributeByName(VALID_UNTIL);
+        if (attribute == null || StringUtils.isBlank(attribute.getValue())) {
+            return null;
+        }
+        return DatatypeFactory.newInstance().newXMLGregorianCalendar(attribute.getValue().trim()).toGregorianCalendar().toInstant();
+    }
+
+    /**
+     * Whether the aggregate is valid at the given instant, according to the {@code validUntil} of its root element.
+     *
+     * @param instant the instant
+     * @return true if the aggregate carries no validUntil or has not expired
+     */
+    public boolean isValidAt(final Instant instant) {
+        return this.validUntil == null || instant.isBefore(this.validUntil);
+    }
+
+    /**
+     * Whether the index reflects the current state of the given metadata file.
+     *
+     * @param metadataFile the metadata file
+     * @return true/false
+     */
+    public boolean isCurrentFor(final File metadataFile) {
+        return this.lastModified == metadataFile.lastModified() && this.length == metadataFile.length();
+    }
+
+    /**
+     * Gets the standalone entity descriptor for the entity id.
+     *
+     * @param entityId the entity id
+     * @return the entity descriptor
+     */
+    public Optional<byte[]> getEntityDescriptor(final String entityId) {
+        return Optional.ofNullable(this.entities.get(entityId));
+    }
+
+    /**
+     * Gets entity ids.
+     *
+     * @return the entity ids
+     */
+    public Set<String> getEntityIds() {
+        return this.entities.keySet();
+    }
+
+    /**
+     * Number of indexed entities.
+     *
+     * @return the count
+     */
+    public int size() {
+        return this.entities.size();
+    }
+}
@@ -0,0 +1,114 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import net.shibboleth.utilities.java.support.component.AbstractIdentifiableInitializableComponent;
+import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import org.opensaml.core.criterion.EntityIdCriterion;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.opensaml.saml.metadata.resolver.filter.MetadataFilter;
+import org.opensaml.saml.saml2.metadata.EntityDescriptor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * This is {@link SamlMetadataAggregateMetadataResolver}, which resolves entities from a
+ * {@link SamlMetadataAggregateIndex}. Entities are looked up by their entity id and
+ * an entity descriptor is only parsed, filtered and unmarshalled when it is first requested,
+ * after which a bounded number of entity descriptors are kept in memory.
+ * Since entities are only found by their entity id, criteria that do not carry an
+ * {@link EntityIdCriterion} produce no results. When valid metadata is required, no entities are
+ * resolved once the aggregate has expired, and cached entity descriptors are checked for validity on every lookup.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class SamlMetadataAggregateMetadataResolver extends AbstractIdentifiableInitializableComponent implements MetadataResolver {
+    private static final long MAXIMUM_CACHED_ENTITIES = 1_000;
+
+    @Getter
+    private final SamlMetadataAggregateIndex index;
+
+    private final Function<byte[], MetadataResolver> entityMetadataResolverFactory;
+
+    private final LoadingCache<String, Optional<EntityDescriptor>> entityDescriptors;
+
+    @Getter
+    @Setter
+    private boolean requireValidMetadata;
+
+    @Getter
+    @Setter
+    private MetadataFilter metadataFilter;
+
+    public SamlMetadataAggregateMetadataResolver(final SamlMetadataAggregateIndex index,
+                                                 final Function<byte[], MetadataResolver> entityMetadataResolverFactory) {
+        this.index = index;
+        this.entityMetadataResolverFactory = entityMetadataResolverFactory;
+        this.entityDescriptors = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_CACHED_ENTITIES)
+            .build(this::resolveEntityDescriptor);
+    }
+
+    @Override
+    public Iterable<EntityDescriptor> resolve(final CriteriaSet criteria) {
+        val result = new ArrayList<EntityDescriptor>(1);
+        val entityDescriptor = resolveSingle(criteria);
+        if (entityDescriptor != null) {
+            result.add(entityDescriptor);
+        }
+        return result;
+    }
+
+    @Override
+    public EntityDescriptor resolveSingle(final CriteriaSet criteria) {
+        val criterion = criteria != null ? criteria.get(EntityIdCriterion.class) : null;
+        if (criterion == null) {
+            LOGGER.debug("No entity id is specified to resolve entities from metadata aggregate [{}]", getId());
+            return null;
+        }
+        if (this.requireValidMetadata && !this.index.isValidAt(Instant.now())) {
+            LOGGER.warn("Metadata aggregate [{}] has expired as of [{}]; entity [{}] will not be resolved",
+                getId(), this.index.getValidUntil(), criterion.getEntityId());
+            return null;
+        }
+        val entityDescriptor = this.entityDescriptors.get(criterion.getEntityId()).orElse(null);
+        if (entityDescriptor != null && this.requireValidMetadata && !entityDescriptor.isValid()) {
+            LOGGER.warn("Entity [{}] from metadata aggregate [{}] has expired", criterion.getEntityId(), getId());
+            this.entityDescriptors.invalidate(criterion.getEntityId());
+            return null;
+        }
+        return entityDescriptor;
+    }
+
+    /**
+     * Gets the number of entities in the aggregate.
+     *
+     * @return the count
+     */
+    public int getEntityCount() {
+        return this.index.size();
+    }
+
+    @SneakyThrows
+    private Optional<EntityDescriptor> resolveEntityDescriptor(final String entityId) {
+        val entity = this.index.getEntityDescriptor(entityId);
+        if (entity.isEmpty()) {
+            LOGGER.trace("Entity [{}] is not found in metadata aggregate [{}]", entityId, getId());
+            return Optional.empty();
+        }
+        LOGGER.debug("Loading entity [{}] from metadata aggregate [{}]", entityId, getId());
+        val resolver = this.entityMetadataResolverFactory.apply(entity.get());
+        val descriptor = resolver.resolveSingle(new CriteriaSet(new EntityIdCriterion(entityId)));
+        return Optional.ofNullable(descriptor);
+    }
+}
@@ -17,7 +17,6 @@ import lombok.val;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOCase;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.filefilter.AndFileFilter;
 import org.apache.commons.io.filefilter.CanReadFileFilter;
 import org.apache.commons.io.filefilter.CanWriteFileFilter;
@@ -36,8 +35,8 @@ import org.springframework.http.HttpStatus;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
@@ -90,8 +89,7 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
             response = fetchMetadata(metadataLocation, criteriaSet);
             val status = HttpStatus.valueOf(response.getStatusLine().getStatusCode());
             if (shouldHttpResponseStatusBeProcessed(status)) {
-                val metadataProvider = getMetadataResolverFromResponse(response, backupFile);
-                configureAndInitializeSingleMetadataResolver(metadataProvider, service);
+                val metadataProvider = getMetadataResolverFromResponse(response, backupFile, service);
                 return CollectionUtils.wrap(metadataProvider);
             }
         } catch (final UnauthorizedServiceException e) {
@@ -124,16 +122,56 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
      * @throws Exception the exception
      */
     protected AbstractMetadataResolver getMetadataResolverFromResponse(final HttpResponse response, final File backupFile) throws Exception {
+        writeMetadataResponseToFile(response, backupFile);
+        return new InMemoryResourceMetadataResolver(backupFile, configBean);
+    }
+
+    /**
+     * Gets an initialized metadata resolver from response for the service.
+     * Large metadata aggregates are resolved through their entity index
+     * instead of being loaded as a whole.
+     *
+     * @param response   the response
+     * @param backupFile the backup file
+     * @param service    the service
+     * @return the metadata resolver from response
+     * @throws Exception the exception
+     */
+    protected MetadataResolver getMetadataResolverFromResponse(final HttpResponse response, final File backupFile,
+                                                               final SamlRegisteredService service) throws Exception {
+        writeMetadataResponseToFile(response, backupFile);
+        val aggregateResolver = buildMetadataAggregateResolverIfNeeded(service, backupFile);
+        if (aggregateResolver.isPresent()) {
+            return aggregateResolver.get();
+        }
+        val metadataProvider = new InMemoryResourceMetadataResolver(backupFile, configBean);
+        configureAndInitializeSingleMetadataResolver(metadataProvider, service);
+        return metadataProvider;
+    }
+
+    /**
+     * Write metadata response to file. The response is first written to a temporary file
+     * in the same directory, which then atomically replaces the backup file, so that
+     * concurrent readers of the backup file never observe partially written metadata.
+     *
+     * @param response   the response
+     * @param backupFile the backup file
+     * @throws Exception the exception
+     */
+    protected void writeMetadataResponseToFile(final HttpResponse response, final File backupFile) throws Exception {
         val entity = response.getEntity();
-        val result = IOUtils.toString(entity.getContent(), StandardCharsets.UTF_8);
         val path = backupFile.toPath();
         LOGGER.trace("Writing metadata to file at [{}]", path);
-        try (val output = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
-            IOUtils.write(result, output);
-            output.flush();
+        val tempFile = Files.createTempFile(path.toAbsolutePath().getParent(), backupFile.getName(), ".tmp");
+        try {
+            try (val input = entity.getContent()) {
+                Files.copy(input, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
         }
         EntityUtils.consume(entity);
-        return new InMemoryResourceMetadataResolver(backupFile, configBean);
     }
 
     /**
@@ -0,0 +1,69 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
+import org.apereo.cas.support.saml.services.BaseSamlIdPServicesTests;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.ClasspathResourceMetadataResolver;
+import org.apereo.cas.support.saml.services.idp.metadata.plan.DefaultSamlRegisteredServiceMetadataResolutionPlan;
+
+import lombok.val;
+import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.FileSystemResource;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link SamlRegisteredServiceDefaultCachingMetadataResolverTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Tag("SAML")
+public class SamlRegisteredServiceDefaultCachingMetadataResolverTests extends BaseSamlIdPServicesTests {
+
+    private static SamlRegisteredService getSamlRegisteredService(final int id) {
+        val service = new SamlRegisteredService();
+        service.setName("SAML-" + id);
+        service.setId(id);
+        service.setServiceId("https://sp.example.org/" + id);
+        service.setMetadataLocation("classpath:sample-sp.xml");
+        return service;
+    }
+
+    @Test
+    public void verifyMetadataLoadedOncePerKey() throws Exception {
+        val props = new SamlIdPProperties();
+        props.getMetadata().setLocation(new FileSystemResource(FileUtils.getTempDirectory()));
+        val resolver = new ClasspathResourceMetadataResolver(props, openSamlConfigBean);
+        val plan = new DefaultSamlRegisteredServiceMetadataResolutionPlan();
+        plan.registerMetadataResolver(resolver);
+        val loader = new SamlRegisteredServiceMetadataResolverCacheLoader(openSamlConfigBean, null, plan);
+        val cachingResolver = new SamlRegisteredServiceDefaultCachingMetadataResolver(30, 10, loader);
+
+        val executor = Executors.newFixedThreadPool(4);
+        try {
+            val tasks = IntStream.range(0, 8)
+                .mapToObj(i -> (Callable<Object>) () -> cachingResolver.resolve(getSamlRegisteredService(i), new CriteriaSet()))
+                .collect(Collectors.toList());
+            for (val result : executor.invokeAll(tasks)) {
+                assertNotNull(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        val statistics = cachingResolver.getMetadataResolverStatistics().get(resolver.getName());
+        assertNotNull(statistics);
+        assertEquals(1, statistics.getLoadCount());
+        assertEquals(0, statistics.getFailureCount());
+        assertTrue(statistics.getMaximumLoadTimeMillis() >= statistics.getAverageLoadTimeMillis());
+    }
+}
@@ -0,0 +1,108 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
+
+import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
+import org.apereo.cas.support.saml.services.BaseSamlIdPServicesTests;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+
+import lombok.val;
+import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.opensaml.core.criterion.EntityIdCriterion;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link FileSystemResourceMetadataResolverTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Tag("SAML")
+public class FileSystemResourceMetadataResolverTests extends BaseSamlIdPServicesTests {
+
+    private static SamlRegisteredService getSamlRegisteredService() throws Exception {
+        val service = new SamlRegisteredService();
+        service.setName("Federation");
+        service.setId(1000);
+        service.setServiceId("https://.+");
+        service.setMetadataLocation("file:" + new ClassPathResource("sample-aggregate.xml").getFile().getCanonicalPath());
+        return service;
+    }
+
+    @Test
+    public void verifyAggregateResolvedByEntityId() throws Exception {
+        val props = new SamlIdPProperties();
+        props.getMetadata().setLocation(new FileSystemResource(FileUtils.getTempDirectory()));
+        props.getMetadata().setAggregateIndexThreshold(2);
+        val resolver = new FileSystemResourceMetadataResolver(props, openSamlConfigBean);
+        val service = getSamlRegisteredService();
+        assertTrue(resolver.supports(service));
+
+        val results = resolver.resolve(service, new CriteriaSet());
+        assertEquals(1, results.size());
+        val metadataResolver = results.iterator().next();
+        assertTrue(metadataResolver instanceof SamlMetadataAggregateMetadataResolver);
+        assertEquals(3, ((SamlMetadataAggregateMetadataResolver) metadataResolver).getEntityCount());
+
+        for (val entityId : new String[]{"https://sp1.example.org/shibboleth", "https://sp2.example.org/shibboleth", "https://sp3.example.org/shibboleth"}) {
+            val entity = metadataResolver.resolveSingle(new CriteriaSet(new EntityIdCriterion(entityId)));
+            assertNotNull(entity);
+            assertEquals(entityId, entity.getEntityID());
+            assertNotNull(entity.getSPSSODescriptor("urn:oasis:names:tc:SAML:2.0:protocol"));
+        }
+        assertNull(metadataResolver.resolveSingle(new CriteriaSet(new EntityIdCriterion("https://unknown.example.org"))));
+        assertNull(metadataResolver.resolveSingle(new CriteriaSet()));
+
+        val another = resolver.resolve(service, new CriteriaSet()).iterator().next();
+        assertSame(((SamlMetadataAggregateMetadataResolver) metadataResolver).getIndex(),
+            ((SamlMetadataAggregateMetadataResolver) another).getIndex());
+    }
+
+    @Test
+    public void verifyExpiredAggregateNotResolved() throws Exception {
+        val metadata = new ClassPathResource("sample-aggregate.xml").getInputStream().readAllBytes();
+        val expired = new String(metadata, StandardCharsets.UTF_8)
+            .replace("Name=\"urn:example:federation\"", "Name=\"urn:example:federation\" validUntil=\"2000-01-01T00:00:00Z\"");
+        val metadataFile = File.createTempFile("expired-aggregate", ".xml");
+        metadataFile.deleteOnExit();
+        FileUtils.writeStringToFile(metadataFile, expired, StandardCharsets.UTF_8);
+
+        val props = new SamlIdPProperties();
+        props.getMetadata().setLocation(new FileSystemResource(FileUtils.getTempDirectory()));
+        props.getMetadata().setAggregateIndexThreshold(2);
+        props.getMetadata().setRequireValidMetadata(true);
+        val resolver = new FileSystemResourceMetadataResolver(props, openSamlConfigBean);
+        val service = getSamlRegisteredService();
+        service.setMetadataLocation("file:" + metadataFile.getCanonicalPath());
+
+        val metadataResolver = resolver.resolve(service, new CriteriaSet()).iterator().next();
+        assertTrue(metadataResolver instanceof SamlMetadataAggregateMetadataResolver);
+        assertNotNull(((SamlMetadataAggregateMetadataResolver) metadataResolver).getIndex().getValidUntil());
+        assertNull(metadataResolver.resolveSingle(new CriteriaSet(new EntityIdCriterion("https://sp1.example.org/shibboleth"))));
+    }
+
+    @Test
+    public void verifySmallMetadataLoadedAsWhole() throws Exception {
+        val props = new SamlIdPProperties();
+        props.getMetadata().setLocation(new FileSystemResource(FileUtils.getTempDirectory()));
+        val resolver = new FileSystemResourceMetadataResolver(props, openSamlConfigBean);
+        val results = resolver.resolve(getSamlRegisteredService(), new CriteriaSet());
+        assertEquals(1, results.size());
+        assertFalse(results.iterator().next() instanceof SamlMetadataAggregateMetadataResolver);
+    }
+
+    @Test
+    public void verifyEntitiesCountedUpToThreshold() throws Exception {
+        val metadataFile = new ClassPathResource("sample-aggregate.xml").getFile();
+        assertTrue(SamlMetadataAggregateIndex.hasEntities(metadataFile, 2));
+        assertTrue(SamlMetadataAggregateIndex.hasEntities(metadataFile, 3));
+        assertFalse(SamlMetadataAggregateIndex.hasEntities(metadataFile, 4));
+    }
+}
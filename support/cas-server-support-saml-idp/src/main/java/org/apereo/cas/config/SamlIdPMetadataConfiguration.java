@@ -205,8 +205,10 @@ public class SamlIdPMetadataConfiguration {
     @Bean
     @RefreshScope
     public SamlRegisteredServiceCachingMetadataResolver defaultSamlRegisteredServiceCachingMetadataResolver() {
+        val metadata = casProperties.getAuthn().getSamlIdp().getMetadata();
         return new SamlRegisteredServiceDefaultCachingMetadataResolver(
-            casProperties.getAuthn().getSamlIdp().getMetadata().getCacheExpirationMinutes(),
+            metadata.getCacheExpirationMinutes(),
+            metadata.getCacheRefreshMinutes(),
             chainingMetadataResolverCacheLoader()
         );
     }
@@ -216,7 +218,7 @@ public class SamlIdPMetadataConfiguration {
     @ConditionalOnEnabledHealthIndicator("samlRegisteredServiceMetadataHealthIndicator")
     public HealthIndicator samlRegisteredServiceMetadataHealthIndicator() {
         return new SamlRegisteredServiceMetadataHealthIndicator(samlRegisteredServiceMetadataResolvers(),
-            servicesManager.getIfAvailable());
+            servicesManager.getIfAvailable(), defaultSamlRegisteredServiceCachingMetadataResolver());
     }
 
     @Bean
@@ -2,6 +2,7 @@ package org.apereo.cas.web.support;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
 
 import javax.servlet.http.HttpServletRequest;
 import java.time.ZoneOffset;
@@ -11,6 +12,10 @@ import java.util.concurrent.ConcurrentMap;
 /**
  * Implementation of a HandlerInterceptorAdapter that keeps track of a mapping
  * of IP Addresses to number of failures to authenticate.
+ * Failures are either tracked as the time of the last failure per key, from which
+ * the submission rate is calculated, or by a {@link SlidingWindowThrottledSubmissionStore}
+ * that counts failures within the configured failure range. When the store is full and refuses a new key,
+ * failures are recorded and checked against the client IP address instead.
  *
  * @author Scott Battaglia
  * @since 3.0.0
@@ -23,11 +28,22 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
 
     private final ConcurrentMap<String, ZonedDateTime> ipMap;
 
+    private final SlidingWindowThrottledSubmissionStore slidingWindowStore;
+
     public AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter(
         final ThrottledSubmissionHandlerConfigurationContext configurationContext,
         final ConcurrentMap<String, ZonedDateTime> ipMap) {
         super(configurationContext);
         this.ipMap = ipMap;
+        this.slidingWindowStore = null;
+    }
+
+    public AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter(
+        final ThrottledSubmissionHandlerConfigurationContext configurationContext,
+        final SlidingWindowThrottledSubmissionStore slidingWindowStore) {
+        super(configurationContext);
+        this.ipMap = null;
+        this.slidingWindowStore = slidingWindowStore;
     }
 
     /**
@@ -43,6 +59,12 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
 
     @Override
     public boolean exceedsThreshold(final HttpServletRequest request) {
+        if (this.slidingWindowStore != null) {
+            val key = constructKey(request);
+            val trackedKey = this.slidingWindowStore.contains(key) ? key : constructFallbackKey(request);
+            val count = this.slidingWindowStore.getCount(trackedKey, System.currentTimeMillis());
+            return count >= getConfigurationContext().getFailureThreshold();
+        }
         val last = this.ipMap.get(constructKey(request));
         return last != null && submissionRate(ZonedDateTime.now(ZoneOffset.UTC), last) > getThresholdRate();
     }
@@ -51,9 +73,28 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
     public void recordSubmissionFailure(final HttpServletRequest request) {
         val key = constructKey(request);
         LOGGER.debug("Recording submission failure [{}]", key);
+        if (this.slidingWindowStore != null) {
+            val now = System.currentTimeMillis();
+            if (!this.slidingWindowStore.record(key, now)) {
+                val fallbackKey = constructFallbackKey(request);
+                LOGGER.debug("Throttling store refused [{}]; recording submission failure for [{}]", key, fallbackKey);
+                this.slidingWindowStore.record(fallbackKey, now);
+            }
+            return;
+        }
         this.ipMap.put(key, ZonedDateTime.now(ZoneOffset.UTC));
     }
 
+    /**
+     * Construct the key used by the sliding window store when it is full and refuses the key of the request.
+     *
+     * @param request the request
+     * @return the client IP address
+     */
+    protected String constructFallbackKey(final HttpServletRequest request) {
+        return ClientInfoHolder.getClientInfo().getClientIpAddress();
+    }
+
     /**
      * This class relies on an external configuration to clean it up.
      * It ignores the threshold data in the parent class.
@@ -61,6 +102,11 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
     @Override
     public void decrement() {
         LOGGER.info("Beginning audit cleanup...");
+        if (this.slidingWindowStore != null) {
+            this.slidingWindowStore.removeExpired(System.currentTimeMillis());
+            LOGGER.debug("Done decrementing count for throttler; [{}] keys remain tracked.", this.slidingWindowStore.size());
+            return;
+        }
         val now = ZonedDateTime.now(ZoneOffset.UTC);
         this.ipMap.entrySet().removeIf(entry -> submissionRate(now, entry.getValue()) < getThresholdRate());
         LOGGER.debug("Done decrementing count for throttler.");
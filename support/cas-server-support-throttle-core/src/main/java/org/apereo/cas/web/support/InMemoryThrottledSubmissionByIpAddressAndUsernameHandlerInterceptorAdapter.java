@@ -23,6 +23,11 @@ public class InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptor
         super(configurationContext, ipMap);
     }
 
+    public InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(final ThrottledSubmissionHandlerConfigurationContext configurationContext,
+                                                                                      final SlidingWindowThrottledSubmissionStore slidingWindowStore) {
+        super(configurationContext, slidingWindowStore);
+    }
+
     @Override
     public String constructKey(final HttpServletRequest request) {
         val username = request.getParameter(getConfigurationContext().getUsernameParameter());
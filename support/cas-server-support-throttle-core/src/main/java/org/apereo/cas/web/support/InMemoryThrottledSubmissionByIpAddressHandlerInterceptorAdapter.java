@@ -20,6 +20,11 @@ public class InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter ext
         super(configurationContext, ipMap);
     }
 
+    public InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter(final ThrottledSubmissionHandlerConfigurationContext configurationContext,
+                                                                           final SlidingWindowThrottledSubmissionStore slidingWindowStore) {
+        super(configurationContext, slidingWindowStore);
+    }
+
     @Override
     public String constructKey(final HttpServletRequest request) {
         return ClientInfoHolder.getClientInfo().getClientIpAddress();
@@ -0,0 +1,211 @@
+package org.apereo.cas.web.support;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link SlidingWindowThrottledSubmissionStore}, which tracks the number of failed
+ * submissions per key using an approximate sliding-window counter. Time is divided into fixed windows,
+ * and the count for the sliding window is estimated from the counts of the current and previous fixed windows,
+ * weighed by how much of the previous window still overlaps the sliding window.
+ * <p>
+ * The state of each key is packed into a single {@code long}, holding the index of the current window
+ * along with the counts for the current and previous windows, and is updated without locks or allocations.
+ * The number of tracked keys is bounded. Keys are only removed once all of their failures have slid out of the window;
+ * once the limit is reached and no such keys remain, new keys are refused rather than evicting keys that still count failures.
+ * A counter is marked as removed before it leaves the store, so that a failure recorded concurrently is never lost.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class SlidingWindowThrottledSubmissionStore {
+    private static final int COUNT_BITS = 16;
+
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private static final int WINDOW_SHIFT = COUNT_BITS * 2;
+
+    private static final long REMOVED = -1L;
+
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final AtomicLong lastRefusedWarning = new AtomicLong();
+
+    private final LongAdder refusedCount = new LongAdder();
+
+    @Getter
+    private final long windowInMillis;
+
+    @Getter
+    private final int maximumSize;
+
+    public SlidingWindowThrottledSubmissionStore(final long windowInMillis, final int maximumSize) {
+        if (windowInMillis <= 0) {
+            throw new IllegalArgumentException("Sliding window length must be a positive value");
+        }
+        this.windowInMillis = windowInMillis;
+        this.maximumSize = maximumSize;
+    }
+
+    private static long pack(final long window, final long previous, final long current) {
+        return (window << WINDOW_SHIFT) | (previous << COUNT_BITS) | current;
+    }
+
+    private static long getWindow(final long state) {
+        return state >>> WINDOW_SHIFT;
+    }
+
+    private static long getPreviousCount(final long state) {
+        return (state >>> COUNT_BITS) & COUNT_MASK;
+    }
+
+    private static long getCurrentCount(final long state) {
+        return state & COUNT_MASK;
+    }
+
+    private static long roll(final long state, final long window) {
+        val stateWindow = getWindow(state);
+        if (stateWindow >= window) {
+            return state;
+        }
+        if (stateWindow == window - 1) {
+            return pack(window, getCurrentCount(state), 0);
+        }
+        return pack(window, 0, 0);
+    }
+
+    /**
+     * Record a failed submission for the key.
+     * Keys that are already tracked are always recorded. A new key is refused
+     * if the store has reached its maximum size and no expired keys can be removed.
+     *
+     * @param key the key
+     * @param now the current time in epoch millis
+     * @return true if the failure was recorded, false if the key was refused
+     */
+    public boolean record(final String key, final long now) {
+        val window = now / this.windowInMillis;
+        while (true) {
+            var counter = this.counters.get(key);
+            if (counter == null) {
+                if (this.counters.size() >= this.maximumSize && !makeRoom(now)) {
+                    refuse(key, now);
+                    return false;
+                }
+                counter = this.counters.computeIfAbsent(key, k -> new AtomicLong());
+            }
+            if (increment(counter, window)) {
+                return true;
+            }
+            this.counters.remove(key, counter);
+        }
+    }
+
+    /**
+     * Whether the key is tracked by the store.
+     *
+     * @param key the key
+     * @return true if the key is tracked
+     */
+    public boolean contains(final String key) {
+        return this.counters.containsKey(key);
+    }
+
+    /**
+     * Estimate the number of failed submissions recorded for the key within the sliding window that ends now.
+     *
+     * @param key the key
+     * @param now the current time in epoch millis
+     * @return the estimated count
+     */
+    public double getCount(final String key, final long now) {
+        val counter = this.counters.get(key);
+        if (counter == null) {
+            return 0;
+        }
+        val state = counter.get();
+        if (state == REMOVED) {
+            return 0;
+        }
+        val rolled = roll(state, now / this.windowInMillis);
+        val overlap = 1 - (double) (now % this.windowInMillis) / this.windowInMillis;
+        return getPreviousCount(rolled) * overlap + getCurrentCount(rolled);
+    }
+
+    /**
+     * Remove keys whose recorded failures have all slid out of the window.
+     *
+     * @param now the current time in epoch millis
+     */
+    public void removeExpired(final long now) {
+        val window = now / this.windowInMillis;
+        this.counters.forEach((key, counter) -> {
+            val state = counter.get();
+            if (state == REMOVED || (getWindow(state) < window - 1 && counter.compareAndSet(state, REMOVED))) {
+                this.counters.remove(key, counter);
+            }
+        });
+    }
+
+    /**
+     * Gets the number of new keys refused because the store was full.
+     *
+     * @return the refused count
+     */
+    public long getRefusedCount() {
+        return this.refusedCount.sum();
+    }
+
+    /**
+     * Count the number of tracked keys.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.counters.size();
+    }
+
+    private static boolean increment(final AtomicLong counter, final long window) {
+        long state;
+        long next;
+        do {
+            state = counter.get();
+            if (state == REMOVED) {
+                return false;
+            }
+            val rolled = roll(state, window);
+            next = pack(getWindow(rolled), getPreviousCount(rolled), Math.min(getCurrentCount(rolled) + 1, COUNT_MASK));
+        } while (!counter.compareAndSet(state, next));
+        return true;
+    }
+
+    private boolean makeRoom(final long now) {
+        if (this.evicting.compareAndSet(false, true)) {
+            try {
+                removeExpired(now);
+            } finally {
+                this.evicting.set(false);
+            }
+        }
+        return this.counters.size() < this.maximumSize;
+    }
+
+    private void refuse(final String key, final long now) {
+        this.refusedCount.increment();
+        val last = this.lastRefusedWarning.get();
+        if (now - last >= this.windowInMillis && this.lastRefusedWarning.compareAndSet(last, now)) {
+            LOGGER.warn("Throttling store reached its maximum size of [{}] keys; refused [{}] new keys so far, including [{}]",
+                this.maximumSize, this.refusedCount.sum(), key);
+        }
+    }
+}
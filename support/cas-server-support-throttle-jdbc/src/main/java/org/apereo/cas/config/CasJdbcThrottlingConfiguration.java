@@ -2,6 +2,7 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.audit.AuditTrailExecutionPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.throttle.ThrottledRequestExecutor;
 import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
@@ -70,7 +71,8 @@ public class CasJdbcThrottlingConfiguration {
             .throttledRequestExecutor(throttledRequestExecutor.getIfAvailable())
             .build();
 
+        val jdbc = throttle.getJdbc();
         return new JdbcThrottledSubmissionHandlerInterceptorAdapter(context, inspektrThrottleDataSource(),
-            throttle.getJdbc().getAuditQuery());
+            jdbc.getAuditQuery(), Beans.newDuration(jdbc.getCacheRefreshInterval()), jdbc.getCacheSize());
     }
 }
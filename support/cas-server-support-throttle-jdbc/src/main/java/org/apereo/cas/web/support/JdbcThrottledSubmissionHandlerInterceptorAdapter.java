@@ -1,5 +1,9 @@
 package org.apereo.cas.web.support;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apereo.inspektr.common.web.ClientInfoHolder;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -7,7 +11,10 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import javax.servlet.http.HttpServletRequest;
 import javax.sql.DataSource;
 import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -18,45 +25,124 @@ import java.util.stream.Collectors;
  * <p>
  * This relies on the default Inspektr table layout and username construction.  The username construction can be overridden
  * in a subclass.
+ * <p>
+ * Only the two most recent failures are ever examined, so at most two rows are fetched from the audit table.
+ * Optionally, recent failures may be kept in a local cache keyed by client address and username. Cached entries
+ * are updated locally as failures are recorded and are reconciled against the audit table in the background
+ * once the refresh interval has passed, so that login requests are not bound by the latency of the audit query.
  *
  * @author Scott Battaglia
  * @since 3.3.5
  */
+@Slf4j
 public class JdbcThrottledSubmissionHandlerInterceptorAdapter extends AbstractInspektrAuditHandlerInterceptorAdapter {
+    private static final int MAX_FAILURES_TO_EXAMINE = 2;
+
     private final String sqlQueryAudit;
+
     private final JdbcTemplate jdbcTemplate;
 
+    private final LoadingCache<FailureKey, RecentFailures> failuresCache;
+
     public JdbcThrottledSubmissionHandlerInterceptorAdapter(final ThrottledSubmissionHandlerConfigurationContext configurationContext,
                                                             final DataSource dataSource,
                                                             final String sqlQueryAudit) {
+        this(configurationContext, dataSource, sqlQueryAudit, null, 0);
+    }
+
+    public JdbcThrottledSubmissionHandlerInterceptorAdapter(final ThrottledSubmissionHandlerConfigurationContext configurationContext,
+                                                            final DataSource dataSource,
+                                                            final String sqlQueryAudit,
+                                                            final Duration cacheRefreshInterval,
+                                                            final long cacheSize) {
         super(configurationContext);
         this.sqlQueryAudit = sqlQueryAudit;
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setMaxRows(MAX_FAILURES_TO_EXAMINE);
+        this.failuresCache = cacheRefreshInterval != null && cacheSize > 0
+            ? Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .refreshAfterWrite(cacheRefreshInterval)
+            .expireAfterAccess(Duration.ofSeconds(Math.max(configurationContext.getFailureRangeInSeconds(), 1)))
+            .build(key -> new RecentFailures(fetchFailures(key)))
+            : null;
     }
 
-
     @Override
     public boolean exceedsThreshold(final HttpServletRequest request) {
+        val key = getFailureKey(request);
+        val failures = this.failuresCache != null
+            ? this.failuresCache.get(key).getFailuresSince(getFailureInRangeCutOffDate())
+            : fetchFailures(key);
+        return calculateFailureThresholdRateAndCompare(failures);
+    }
+
+    @Override
+    public void recordSubmissionFailure(final HttpServletRequest request) {
+        if (this.failuresCache != null) {
+            val failures = this.failuresCache.getIfPresent(getFailureKey(request));
+            if (failures != null) {
+                failures.record(new Date());
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "InspektrIpAddressUsernameThrottle";
+    }
+
+    private FailureKey getFailureKey(final HttpServletRequest request) {
         val clientInfo = ClientInfoHolder.getClientInfo();
-        val remoteAddress = clientInfo.getClientIpAddress();
+        return new FailureKey(clientInfo.getClientIpAddress(), getUsernameParameterFromRequest(request));
+    }
 
+    private List<Date> fetchFailures(final FailureKey key) {
         val failuresInAudits = this.jdbcTemplate.query(
             this.sqlQueryAudit,
             new Object[]{
-                remoteAddress,
-                getUsernameParameterFromRequest(request),
+                key.getRemoteAddress(),
+                key.getUsername(),
                 getConfigurationContext().getAuthenticationFailureCode(),
                 getConfigurationContext().getApplicationCode(),
                 getFailureInRangeCutOffDate()},
             new int[]{Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP},
             (resultSet, i) -> resultSet.getTimestamp(1));
+        LOGGER.trace("Fetched [{}] recent failure(s) from audit records for [{}]", failuresInAudits.size(), key);
+        return failuresInAudits.stream()
+            .limit(MAX_FAILURES_TO_EXAMINE)
+            .map(t -> new Date(t.getTime()))
+            .collect(Collectors.toList());
+    }
 
-        val failures = failuresInAudits.stream().map(t -> new Date(t.getTime())).collect(Collectors.toList());
-        return calculateFailureThresholdRateAndCompare(failures);
+    @Value
+    private static class FailureKey {
+        private final String remoteAddress;
+
+        private final String username;
     }
 
-    @Override
-    public String getName() {
-        return "InspektrIpAddressUsernameThrottle";
+    /**
+     * Most recent failures for a given key, ordered from the latest.
+     */
+    private static class RecentFailures {
+        private final List<Date> failures;
+
+        RecentFailures(final List<Date> failures) {
+            this.failures = new ArrayList<>(failures);
+        }
+
+        synchronized void record(final Date failure) {
+            this.failures.add(0, failure);
+            while (this.failures.size() > MAX_FAILURES_TO_EXAMINE) {
+                this.failures.remove(this.failures.size() - 1);
+            }
+        }
+
+        synchronized List<Date> getFailuresSince(final Date cutoff) {
+            return this.failures.stream()
+                .filter(failure -> !failure.before(cutoff))
+                .collect(Collectors.toList());
+        }
     }
 }
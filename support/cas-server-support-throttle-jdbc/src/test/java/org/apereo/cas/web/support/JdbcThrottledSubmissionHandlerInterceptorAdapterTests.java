@@ -22,15 +22,25 @@ import org.apereo.cas.config.CasPersonDirectoryConfiguration;
 import org.apereo.cas.config.CasRegisteredServicesTestConfiguration;
 import org.apereo.cas.config.CasThrottlingConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
 
 import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.TestPropertySource;
 
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * Unit test for {@link JdbcThrottledSubmissionHandlerInterceptorAdapter}.
  *
@@ -73,4 +83,39 @@ public class JdbcThrottledSubmissionHandlerInterceptorAdapterTests extends BaseT
     @Autowired
     @Qualifier("authenticationThrottle")
     private ThrottledSubmissionHandlerInterceptor throttle;
+
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
+    @Autowired
+    @Qualifier("inspektrThrottleDataSource")
+    private DataSource inspektrThrottleDataSource;
+
+    @Test
+    @SneakyThrows
+    public void verifyCachedFailures() {
+        val context = ThrottledSubmissionHandlerConfigurationContext.builder()
+            .failureThreshold(2)
+            .failureRangeInSeconds(5)
+            .usernameParameter("username")
+            .authenticationFailureCode("AUTHENTICATION_FAILED")
+            .applicationCode("CAS")
+            .build();
+        val adapter = new JdbcThrottledSubmissionHandlerInterceptorAdapter(context, inspektrThrottleDataSource,
+            casProperties.getAuthn().getThrottle().getJdbc().getAuditQuery(), Duration.ofMinutes(1), 100);
+        adapter.afterPropertiesSet();
+
+        val request = new MockHttpServletRequest();
+        request.setParameter("username", "cached-user");
+        assertFalse(adapter.exceedsThreshold(request));
+        adapter.recordSubmissionFailure(request);
+        assertFalse(adapter.exceedsThreshold(request));
+        Thread.sleep(10);
+        adapter.recordSubmissionFailure(request);
+        assertTrue(adapter.exceedsThreshold(request));
+
+        val anotherUser = new MockHttpServletRequest();
+        anotherUser.setParameter("username", "another-user");
+        assertFalse(adapter.exceedsThreshold(anotherUser));
+    }
 }
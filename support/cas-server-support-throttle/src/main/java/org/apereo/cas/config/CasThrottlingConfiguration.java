@@ -11,6 +11,7 @@ import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionCleaner;
+import org.apereo.cas.web.support.SlidingWindowThrottledSubmissionStore;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerConfigurationContext;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 
@@ -32,6 +33,7 @@ import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link CasThrottlingConfiguration}.
@@ -96,6 +98,18 @@ public class CasThrottlingConfiguration {
             .throttledRequestExecutor(throttledRequestExecutor())
             .build();
 
+        val inMemory = throttle.getInMemory();
+        if (inMemory.isSlidingWindow() && throttle.getFailure().getRangeSeconds() > 0 && throttle.getFailure().getThreshold() > 0) {
+            val store = new SlidingWindowThrottledSubmissionStore(
+                TimeUnit.SECONDS.toMillis(throttle.getFailure().getRangeSeconds()), inMemory.getMaximumSize());
+            if (StringUtils.isNotBlank(throttle.getUsernameParameter())) {
+                LOGGER.trace("Activating sliding-window authentication throttling based on IP address and username...");
+                return new InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(context, store);
+            }
+            LOGGER.trace("Activating sliding-window authentication throttling based on IP address...");
+            return new InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter(context, store);
+        }
+
         if (StringUtils.isNotBlank(throttle.getUsernameParameter())) {
             LOGGER.trace("Activating authentication throttling based on IP address and username...");
             return new InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(context, throttleSubmissionMap());
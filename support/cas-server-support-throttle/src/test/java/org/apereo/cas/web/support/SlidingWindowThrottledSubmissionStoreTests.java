@@ -0,0 +1,72 @@
+package org.apereo.cas.web.support;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link SlidingWindowThrottledSubmissionStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class SlidingWindowThrottledSubmissionStoreTests {
+    private static final double DELTA = 0.0001;
+
+    @Test
+    public void verifyCountSlidesAcrossWindows() {
+        val store = new SlidingWindowThrottledSubmissionStore(1000, 100);
+        IntStream.range(0, 4).forEach(i -> store.record("1.2.3.4", 10_000));
+        assertEquals(4, store.getCount("1.2.3.4", 10_500), DELTA);
+        assertEquals(2, store.getCount("1.2.3.4", 11_500), DELTA);
+        assertEquals(0, store.getCount("1.2.3.4", 12_000), DELTA);
+        assertEquals(0, store.getCount("5.6.7.8", 10_500), DELTA);
+
+        store.record("1.2.3.4", 11_250);
+        assertEquals(4, store.getCount("1.2.3.4", 11_250), DELTA);
+    }
+
+    @Test
+    public void verifyExpiredKeysAreRemoved() {
+        val store = new SlidingWindowThrottledSubmissionStore(1000, 100);
+        store.record("1.2.3.4", 10_000);
+        store.removeExpired(11_000);
+        assertEquals(1, store.size());
+        store.removeExpired(12_000);
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void verifySizeIsBounded() {
+        val store = new SlidingWindowThrottledSubmissionStore(1000, 10);
+        IntStream.range(0, 100).forEach(i -> store.record("10.0.0." + i, 10_000));
+        assertTrue(store.size() <= 10);
+    }
+
+    @Test
+    public void verifyAttackedKeySurvivesFlood() {
+        val store = new SlidingWindowThrottledSubmissionStore(60_000, 10);
+        IntStream.range(0, 5).forEach(i -> assertTrue(store.record("1.2.3.4;casuser", 120_000)));
+        IntStream.range(0, 1000).forEach(i -> store.record("1.2.3.4;user" + i, 120_000));
+        assertTrue(store.size() <= 10);
+        assertTrue(store.getRefusedCount() > 0);
+        assertEquals(5, store.getCount("1.2.3.4;casuser", 120_000), DELTA);
+        assertTrue(store.record("1.2.3.4;casuser", 120_000));
+        assertEquals(6, store.getCount("1.2.3.4;casuser", 120_000), DELTA);
+        assertFalse(store.record("1.2.3.4;newuser", 120_000));
+
+        store.removeExpired(240_000);
+        assertEquals(0, store.size());
+        assertTrue(store.record("1.2.3.4;newuser", 240_000));
+    }
+
+    @Test
+    public void verifyConcurrentRecords() {
+        val store = new SlidingWindowThrottledSubmissionStore(60_000, 100);
+        IntStream.range(0, 1000).parallel().forEach(i -> store.record("1.2.3.4", 120_000));
+        assertEquals(1000, store.getCount("1.2.3.4", 120_000), DELTA);
+    }
+}
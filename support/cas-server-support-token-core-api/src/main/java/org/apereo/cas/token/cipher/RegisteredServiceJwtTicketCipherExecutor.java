@@ -4,15 +4,21 @@ import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.RegisteredServiceCipherExecutor;
 import org.apereo.cas.services.RegisteredServiceProperty.RegisteredServiceProperties;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link RegisteredServiceJwtTicketCipherExecutor}.
+ * Cipher executors built from the keys of registered services are cached and keyed
+ * by the keys themselves, so that keys are not parsed again for every token
+ * and changes to the keys of a service are picked up by a new cipher executor.
  *
  * @author Misagh Moayyed
  * @since 5.3.0
@@ -20,6 +26,14 @@ import java.util.Optional;
 @Slf4j
 @NoArgsConstructor
 public class RegisteredServiceJwtTicketCipherExecutor extends JwtTicketCipherExecutor implements RegisteredServiceCipherExecutor {
+    private static final long MAXIMUM_CACHED_CIPHER_EXECUTORS = 1_000;
+
+    private static final long CACHED_CIPHER_EXECUTOR_EXPIRATION_MINUTES = 60;
+
+    private final Cache<String, JwtTicketCipherExecutor> cipherExecutors = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_CACHED_CIPHER_EXECUTORS)
+        .expireAfterAccess(CACHED_CIPHER_EXECUTOR_EXPIRATION_MINUTES, TimeUnit.MINUTES)
+        .build();
 
     @Override
     public String decode(final String data, final Optional<RegisteredService> service) {
@@ -66,8 +80,12 @@ public class RegisteredServiceJwtTicketCipherExecutor extends JwtTicketCipherExe
     public JwtTicketCipherExecutor getTokenTicketCipherExecutorForService(final RegisteredService registeredService) {
         val encryptionKey = getEncryptionKey(registeredService).orElse(StringUtils.EMPTY);
         val signingKey = getSigningKey(registeredService).orElse(StringUtils.EMPTY);
-        return new JwtTicketCipherExecutor(encryptionKey, signingKey,
-            StringUtils.isNotBlank(encryptionKey), StringUtils.isNotBlank(signingKey), 0, 0);
+        val key = encryptionKey + '|' + signingKey;
+        return this.cipherExecutors.get(key, k -> {
+            LOGGER.trace("Building cipher executor for signing and/or encryption keys of [{}]", registeredService.getServiceId());
+            return new JwtTicketCipherExecutor(encryptionKey, signingKey,
+                StringUtils.isNotBlank(encryptionKey), StringUtils.isNotBlank(signingKey), 0, 0);
+        });
     }
 
     /**
@@ -2,6 +2,9 @@ package org.apereo.cas.token;
 
 import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.services.DefaultRegisteredServiceProperty;
+import org.apereo.cas.services.RegisteredServiceProperty;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
 import org.apereo.cas.token.cipher.RegisteredServiceJwtTicketCipherExecutor;
 
 import com.nimbusds.jwt.JWTClaimsSet;
@@ -45,6 +48,27 @@ public class JwtTokenTicketBuilderTests extends BaseJwtTokenTicketBuilderTests {
         assertEquals("casuser", claims.getSubject());
     }
 
+    @Test
+    public void verifyCipherExecutorIsCachedForServiceKeys() {
+        val registeredService = RegisteredServiceTestUtils.getRegisteredService("https://jwt-cached.example.org/cas");
+        val signingKey = new DefaultRegisteredServiceProperty();
+        signingKey.addValue("pR3Vizkn5FSY5xCg84cIS4m-b6jomamZD68C8ash-TlNmgGPcoLgbgquxHPoi24tRmGpqHgM4mEykctcQzZ-Xg");
+        registeredService.getProperties().put(
+            RegisteredServiceProperty.RegisteredServiceProperties.TOKEN_AS_SERVICE_TICKET_SIGNING_KEY.getPropertyName(), signingKey);
+
+        val cipher = new RegisteredServiceJwtTicketCipherExecutor();
+        val executor = cipher.getTokenTicketCipherExecutorForService(registeredService);
+        assertSame(executor, cipher.getTokenTicketCipherExecutorForService(registeredService));
+
+        val encKey = new DefaultRegisteredServiceProperty();
+        encKey.addValue("0KVXaN-nlXafRUwgsr3H_l6hkufY7lzoTy7OVI5pN0E");
+        registeredService.getProperties().put(
+            RegisteredServiceProperty.RegisteredServiceProperties.TOKEN_AS_SERVICE_TICKET_ENCRYPTION_KEY.getPropertyName(), encKey);
+        val updated = cipher.getTokenTicketCipherExecutorForService(registeredService);
+        assertNotSame(executor, updated);
+        assertTrue(updated.isEncryptionEnabled());
+    }
+
     @Test
     public void verifyJwtForTicketGrantingTicket() throws Exception {
         val tgt = new MockTicketGrantingTicket("casuser");
@@ -0,0 +1,123 @@
+package org.apereo.cas.web.view;
+
+import org.apereo.cas.CasProtocolConstants;
+import org.apereo.cas.CasViewConstants;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.principal.Principal;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.StringEscapeUtils;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.View;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * This is {@link CasServiceValidationStreamingView}, which writes CAS v2 and v3 service validation
+ * responses directly to the servlet response, as an alternative to the templates of the protocol views.
+ * Values are escaped as they are written, so the response is produced without building intermediate strings
+ * for each element. The view expects the model that is prepared by {@link Cas20ResponseView} and
+ * {@link Cas30ResponseView}, to which it may be handed as the delegated view, or the error model
+ * in case of validation failures. Attributes are written as formatted by the attributes renderer of the view.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiredArgsConstructor
+@Getter
+public class CasServiceValidationStreamingView implements View {
+    private static final String CONTENT_TYPE = MediaType.APPLICATION_XML_VALUE + ";charset=UTF-8";
+
+    /**
+     * Whether this view produces the success response.
+     */
+    private final boolean successResponse;
+
+    /**
+     * Whether attributes are written into the success response, as per the CAS v3 protocol.
+     */
+    private final boolean attributesRendered;
+
+    private static void writeEscaped(final Writer writer, final Object value) throws IOException {
+        if (value != null) {
+            StringEscapeUtils.ESCAPE_XML10.translate(value.toString(), writer);
+        }
+    }
+
+    private static void writeAuthenticationFailure(final Writer writer, final Map<String, ?> model) throws IOException {
+        writer.write("    <cas:authenticationFailure code=\"");
+        writeEscaped(writer, model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_CODE));
+        writer.write("\">");
+        writeEscaped(writer, model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_DESCRIPTION));
+        writer.write("</cas:authenticationFailure>\n");
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public void render(final Map<String, ?> model, final HttpServletRequest request,
+                       final HttpServletResponse response) throws Exception {
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(CONTENT_TYPE);
+        val writer = response.getWriter();
+        writer.write("<cas:serviceResponse xmlns:cas='http://www.yale.edu/tp/cas'>\n");
+        if (this.successResponse) {
+            writeAuthenticationSuccess(writer, model);
+        } else {
+            writeAuthenticationFailure(writer, model);
+        }
+        writer.write("</cas:serviceResponse>\n");
+        writer.flush();
+    }
+
+    private void writeAuthenticationSuccess(final Writer writer, final Map<String, ?> model) throws IOException {
+        writer.write("    <cas:authenticationSuccess>\n        <cas:user>");
+        val principal = (Principal) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL);
+        writeEscaped(writer, principal.getId());
+        writer.write("</cas:user>\n");
+
+        val proxyGrantingTicketIou = (String) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_PROXY_GRANTING_TICKET_IOU);
+        if (StringUtils.isNotBlank(proxyGrantingTicketIou)) {
+            writer.write("        <cas:proxyGrantingTicket>");
+            writeEscaped(writer, proxyGrantingTicketIou);
+            writer.write("</cas:proxyGrantingTicket>\n");
+        }
+
+        val chainedAuthentications = (Collection<Authentication>) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS);
+        if (chainedAuthentications != null && !chainedAuthentications.isEmpty()) {
+            writer.write("        <cas:proxies>\n");
+            for (val authentication : chainedAuthentications) {
+                writer.write("            <cas:proxy>");
+                writeEscaped(writer, authentication.getPrincipal().getId());
+                writer.write("</cas:proxy>\n");
+            }
+            writer.write("        </cas:proxies>\n");
+        }
+
+        if (this.attributesRendered) {
+            val formattedAttributes = (Collection<String>) model.get(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_FORMATTED_ATTRIBUTES);
+            if (formattedAttributes != null && !formattedAttributes.isEmpty()) {
+                writer.write("        <cas:attributes>\n");
+                for (val attribute : formattedAttributes) {
+                    writer.write("            ");
+                    writer.write(attribute);
+                    writer.write('\n');
+                }
+                writer.write("        </cas:attributes>\n");
+            }
+        }
+        writer.write("    </cas:authenticationSuccess>\n");
+    }
+}
@@ -43,10 +43,11 @@ public class DefaultCas30ProtocolAttributesRenderer implements CasProtocolAttrib
      * @return the string
      */
     protected String buildSingleAttributeDefinitionLine(final String attributeName, final Object value) {
-        return new StringBuilder()
-            .append("<cas:".concat(attributeName).concat(">"))
-            .append(encodeAttributeValue(value))
-            .append("</cas:".concat(attributeName).concat(">"))
+        val encodedValue = encodeAttributeValue(value);
+        return new StringBuilder(2 * attributeName.length() + encodedValue.length() + "<cas:></cas:>".length())
+            .append("<cas:").append(attributeName).append('>')
+            .append(encodedValue)
+            .append("</cas:").append(attributeName).append('>')
             .toString();
     }
 
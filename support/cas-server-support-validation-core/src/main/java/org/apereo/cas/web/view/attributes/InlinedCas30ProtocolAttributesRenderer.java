@@ -13,8 +13,10 @@ public class InlinedCas30ProtocolAttributesRenderer extends DefaultCas30Protocol
     @Override
     protected String buildSingleAttributeDefinitionLine(final String attributeName, final Object value) {
         val encodedValue = encodeAttributeValue(value);
-        return new StringBuilder()
-            .append("<cas:attribute name=\"".concat(attributeName).concat("\" value=\"".concat(encodedValue)).concat("\"></cas:attribute>"))
+        return new StringBuilder(attributeName.length() + encodedValue.length() + "<cas:attribute name=\"\" value=\"\"></cas:attribute>".length())
+            .append("<cas:attribute name=\"").append(attributeName)
+            .append("\" value=\"").append(encodedValue)
+            .append("\"></cas:attribute>")
             .toString();
     }
 }
@@ -61,13 +61,20 @@ public class Cas30JsonResponseView extends Cas30ResponseView {
                                  final AuthenticationServiceSelectionPlan serviceSelectionStrategy,
                                  final CasProtocolAttributesRenderer attributesRenderer) {
         this(successResponse, protocolAttributeEncoder, servicesManager,
-            createDelegatedView(), authenticationAttributeReleasePolicy,
+            createDelegatedView(true), authenticationAttributeReleasePolicy,
             serviceSelectionStrategy, attributesRenderer);
     }
 
-    private static MappingJackson2JsonView createDelegatedView() {
+    /**
+     * Create the view that renders the JSON response, which serializes the model
+     * straight to the output stream of the response.
+     *
+     * @param prettyPrint whether the output should be formatted for readability
+     * @return the view
+     */
+    public static MappingJackson2JsonView createDelegatedView(final boolean prettyPrint) {
         val view = new MappingJackson2JsonView();
-        view.setPrettyPrint(true);
+        view.setPrettyPrint(prettyPrint);
         view.getObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL).findAndRegisterModules();
         return view;
     }
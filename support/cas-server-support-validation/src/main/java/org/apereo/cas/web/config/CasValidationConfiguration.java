@@ -30,6 +30,7 @@ import org.apereo.cas.web.v3.V3ServiceValidateController;
 import org.apereo.cas.web.view.Cas10ResponseView;
 import org.apereo.cas.web.view.Cas20ResponseView;
 import org.apereo.cas.web.view.Cas30ResponseView;
+import org.apereo.cas.web.view.CasServiceValidationStreamingView;
 import org.apereo.cas.web.view.attributes.AttributeValuesPerLineProtocolAttributesRenderer;
 import org.apereo.cas.web.view.attributes.DefaultCas30ProtocolAttributesRenderer;
 import org.apereo.cas.web.view.attributes.InlinedCas30ProtocolAttributesRenderer;
@@ -180,7 +181,7 @@ public class CasValidationConfiguration {
         return new Cas20ResponseView(true,
             protocolAttributeEncoder.getIfAvailable(),
             servicesManager.getIfAvailable(),
-            cas2SuccessView.getIfAvailable(),
+            isValidationResponseStreamed() ? new CasServiceValidationStreamingView(true, false) : cas2SuccessView.getIfAvailable(),
             authenticationAttributeReleasePolicy.getIfAvailable(),
             authenticationServiceSelectionPlan.getIfAvailable(),
             NoOpProtocolAttributesRenderer.INSTANCE);
@@ -192,6 +193,7 @@ public class CasValidationConfiguration {
         return new Cas30JsonResponseView(true,
             protocolAttributeEncoder.getIfAvailable(),
             servicesManager.getIfAvailable(),
+            Cas30JsonResponseView.createDelegatedView(!isValidationResponseStreamed()),
             authenticationAttributeReleasePolicy.getIfAvailable(),
             authenticationServiceSelectionPlan.getIfAvailable(),
             cas3ProtocolAttributesRenderer());
@@ -227,7 +229,7 @@ public class CasValidationConfiguration {
         return new Cas30ResponseView(true,
             protocolAttributeEncoder.getIfAvailable(),
             servicesManager.getIfAvailable(),
-            cas3SuccessView.getIfAvailable(),
+            isValidationResponseStreamed() ? new CasServiceValidationStreamingView(true, true) : cas3SuccessView.getIfAvailable(),
             authenticationAttributeReleasePolicy.getIfAvailable(),
             authenticationServiceSelectionPlan.getIfAvailable(),
             cas3ProtocolAttributesRenderer());
@@ -252,16 +254,18 @@ public class CasValidationConfiguration {
         viewFactory.registerView(ServiceValidationViewTypes.JSON, cas3ServiceJsonView());
 
         val successViewV3 = cas3ServiceSuccessView();
-        viewFactory.registerView(V3ServiceValidateController.class, Pair.of(successViewV3, cas3ServiceFailureView.getIfAvailable()));
-        viewFactory.registerView(V3ProxyValidateController.class, Pair.of(successViewV3, cas3ServiceFailureView.getIfAvailable()));
+        val failureViewV3 = isValidationResponseStreamed() ? new CasServiceValidationStreamingView(false, true) : cas3ServiceFailureView.getIfAvailable();
+        viewFactory.registerView(V3ServiceValidateController.class, Pair.of(successViewV3, failureViewV3));
+        viewFactory.registerView(V3ProxyValidateController.class, Pair.of(successViewV3, failureViewV3));
 
         if (casProperties.getView().getCas2().isV3ForwardCompatible()) {
-            viewFactory.registerView(ProxyValidateController.class, Pair.of(successViewV3, cas3ServiceFailureView.getIfAvailable()));
-            viewFactory.registerView(ServiceValidateController.class, Pair.of(successViewV3, cas3ServiceFailureView.getIfAvailable()));
+            viewFactory.registerView(ProxyValidateController.class, Pair.of(successViewV3, failureViewV3));
+            viewFactory.registerView(ServiceValidateController.class, Pair.of(successViewV3, failureViewV3));
         } else {
             val successViewV2 = cas2ServiceSuccessView();
-            viewFactory.registerView(ProxyValidateController.class, Pair.of(successViewV2, cas2ServiceFailureView.getIfAvailable()));
-            viewFactory.registerView(ServiceValidateController.class, Pair.of(successViewV2, cas2ServiceFailureView.getIfAvailable()));
+            val failureViewV2 = isValidationResponseStreamed() ? new CasServiceValidationStreamingView(false, false) : cas2ServiceFailureView.getIfAvailable();
+            viewFactory.registerView(ProxyValidateController.class, Pair.of(successViewV2, failureViewV2));
+            viewFactory.registerView(ServiceValidateController.class, Pair.of(successViewV2, failureViewV2));
         }
 
         viewFactory.registerView(LegacyValidateController.class, Pair.of(cas1ServiceSuccessView(), cas1ServiceFailureView()));
@@ -377,4 +381,8 @@ public class CasValidationConfiguration {
             .renewEnabled(casProperties.getSso().isRenewAuthnEnabled())
             .validationViewFactory(serviceValidationViewFactory());
     }
+
+    private boolean isValidationResponseStreamed() {
+        return casProperties.getView().isStreamValidationResponses();
+    }
 }
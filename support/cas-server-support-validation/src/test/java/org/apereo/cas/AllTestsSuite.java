@@ -5,6 +5,7 @@ import org.apereo.cas.web.view.Cas10ResponseViewTests;
 import org.apereo.cas.web.view.Cas20ResponseViewTests;
 import org.apereo.cas.web.view.Cas30JsonResponseViewTests;
 import org.apereo.cas.web.view.Cas30ResponseViewTests;
+import org.apereo.cas.web.view.CasServiceValidationStreamingViewTests;
 import org.apereo.cas.web.view.attributes.AttributeValuesPerLineProtocolAttributesRendererTests;
 import org.apereo.cas.web.view.attributes.DefaultCas30ProtocolAttributesRendererTests;
 import org.apereo.cas.web.view.attributes.InlinedCas30ProtocolAttributesRendererTests;
@@ -26,6 +27,7 @@ import org.junit.runner.RunWith;
     Cas30ResponseViewTests.class,
     ProxyControllerTests.class,
     Cas30JsonResponseViewTests.class,
+    CasServiceValidationStreamingViewTests.class,
     DefaultCas30ProtocolAttributesRendererTests.class,
     InlinedCas30ProtocolAttributesRendererTests.class,
     AttributeValuesPerLineProtocolAttributesRendererTests.class
@@ -0,0 +1,87 @@
+package org.apereo.cas.web.view;
+
+import org.apereo.cas.CasProtocolConstants;
+import org.apereo.cas.CasViewConstants;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.web.view.attributes.DefaultCas30ProtocolAttributesRenderer;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link CasServiceValidationStreamingViewTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class CasServiceValidationStreamingViewTests {
+    private static final String CAS_NAMESPACE = "http://www.yale.edu/tp/cas";
+
+    private static MockHttpServletResponse render(final CasServiceValidationStreamingView view,
+                                                  final Map<String, Object> model) throws Exception {
+        val response = new MockHttpServletResponse();
+        view.render(model, new MockHttpServletRequest(), response);
+        assertTrue(response.getContentType().startsWith(MediaType.APPLICATION_XML_VALUE));
+        return response;
+    }
+
+    private static String getElementText(final MockHttpServletResponse response, final String name) throws Exception {
+        val factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        val document = factory.newDocumentBuilder().parse(new ByteArrayInputStream(response.getContentAsByteArray()));
+        val elements = document.getElementsByTagNameNS(CAS_NAMESPACE, name);
+        return elements.getLength() > 0 ? elements.item(0).getTextContent() : null;
+    }
+
+    @Test
+    public void verifySuccessResponse() throws Exception {
+        val model = new HashMap<String, Object>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL, CoreAuthenticationTestUtils.getPrincipal("cas<user>"));
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PROXY_GRANTING_TICKET_IOU, "PGTIOU-1");
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS,
+            List.of(CoreAuthenticationTestUtils.getAuthentication("proxy&user")));
+        model.put(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_FORMATTED_ATTRIBUTES,
+            new DefaultCas30ProtocolAttributesRenderer().render(Map.of("department", "R&D")));
+
+        val response = render(new CasServiceValidationStreamingView(true, true), model);
+        assertEquals("cas<user>", getElementText(response, "user"));
+        assertEquals("PGTIOU-1", getElementText(response, "proxyGrantingTicket"));
+        assertEquals("proxy&user", getElementText(response, "proxy"));
+        assertEquals("R&D", getElementText(response, "department"));
+    }
+
+    @Test
+    public void verifySuccessResponseWithoutAttributes() throws Exception {
+        val model = new HashMap<String, Object>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL, CoreAuthenticationTestUtils.getPrincipal("casuser"));
+        model.put(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_FORMATTED_ATTRIBUTES,
+            new DefaultCas30ProtocolAttributesRenderer().render(Map.of("department", "R&D")));
+
+        val response = render(new CasServiceValidationStreamingView(true, false), model);
+        assertEquals("casuser", getElementText(response, "user"));
+        assertNull(getElementText(response, "proxyGrantingTicket"));
+        assertNull(getElementText(response, "attributes"));
+    }
+
+    @Test
+    public void verifyFailureResponse() throws Exception {
+        val model = new HashMap<String, Object>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_CODE, "INVALID_TICKET");
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_DESCRIPTION, "Ticket <ST-1> not recognized");
+
+        val response = render(new CasServiceValidationStreamingView(false, true), model);
+        assertEquals("Ticket <ST-1> not recognized", getElementText(response, "authenticationFailure"));
+        assertTrue(response.getContentAsString().contains("code=\"INVALID_TICKET\""));
+    }
+}